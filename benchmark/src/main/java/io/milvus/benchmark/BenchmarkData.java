@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.benchmark;
+
+import io.milvus.grpc.*;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.dml.InsertParam;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the data of benchmarks with a fixed seed, so that the runs are comparable.
+ * The collection has an int64 primary key, an int32 field, a varchar field and a float vector field.
+ */
+final class BenchmarkData {
+    static final String COLLECTION_NAME = "benchmark";
+    static final String ID_FIELD = "id";
+    static final String AGE_FIELD = "age";
+    static final String NAME_FIELD = "name";
+    static final String VECTOR_FIELD = "vector";
+    static final int NAME_LENGTH = 32;
+
+    private BenchmarkData() {
+    }
+
+    static List<FieldType> schema(int dim) {
+        return Arrays.asList(
+                FieldType.newBuilder()
+                        .withName(ID_FIELD)
+                        .withDataType(DataType.Int64)
+                        .withPrimaryKey(true)
+                        .withAutoID(false)
+                        .build(),
+                FieldType.newBuilder()
+                        .withName(AGE_FIELD)
+                        .withDataType(DataType.Int32)
+                        .build(),
+                FieldType.newBuilder()
+                        .withName(NAME_FIELD)
+                        .withDataType(DataType.VarChar)
+                        .withMaxLength(NAME_LENGTH * 2)
+                        .build(),
+                FieldType.newBuilder()
+                        .withName(VECTOR_FIELD)
+                        .withDataType(DataType.FloatVector)
+                        .withDimension(dim)
+                        .build());
+    }
+
+    static InsertParam insertParam(int rows, int dim) {
+        Random random = new Random(rows * 31L + dim);
+        List<Long> ids = new ArrayList<>(rows);
+        List<Integer> ages = new ArrayList<>(rows);
+        List<String> names = new ArrayList<>(rows);
+        for (int i = 0; i < rows; ++i) {
+            ids.add((long) i);
+            ages.add(random.nextInt(100));
+            names.add(randomString(random, NAME_LENGTH));
+        }
+
+        return InsertParam.newBuilder()
+                .withCollectionName(COLLECTION_NAME)
+                .withFields(Arrays.asList(
+                        new InsertParam.Field(ID_FIELD, ids),
+                        new InsertParam.Field(AGE_FIELD, ages),
+                        new InsertParam.Field(NAME_FIELD, names),
+                        new InsertParam.Field(VECTOR_FIELD, vectors(random, rows, dim))))
+                .build();
+    }
+
+    static List<List<Float>> vectors(Random random, int count, int dim) {
+        List<List<Float>> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            List<Float> vector = new ArrayList<>(dim);
+            for (int d = 0; d < dim; ++d) {
+                vector.add(random.nextFloat());
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    static FieldData int64FieldData(int rows) {
+        LongArray.Builder data = LongArray.newBuilder();
+        for (long i = 0; i < rows; ++i) {
+            data.addData(i);
+        }
+        return FieldData.newBuilder()
+                .setFieldName(ID_FIELD)
+                .setType(DataType.Int64)
+                .setScalars(ScalarField.newBuilder().setLongData(data))
+                .build();
+    }
+
+    static FieldData varCharFieldData(int rows) {
+        Random random = new Random(rows);
+        StringArray.Builder data = StringArray.newBuilder();
+        for (int i = 0; i < rows; ++i) {
+            data.addData(randomString(random, NAME_LENGTH));
+        }
+        return FieldData.newBuilder()
+                .setFieldName(NAME_FIELD)
+                .setType(DataType.VarChar)
+                .setScalars(ScalarField.newBuilder().setStringData(data))
+                .build();
+    }
+
+    static FieldData floatVectorFieldData(int rows, int dim) {
+        Random random = new Random(rows * 31L + dim);
+        FloatArray.Builder data = FloatArray.newBuilder();
+        for (long i = 0; i < (long) rows * dim; ++i) {
+            data.addData(random.nextFloat());
+        }
+        return FieldData.newBuilder()
+                .setFieldName(VECTOR_FIELD)
+                .setType(DataType.FloatVector)
+                .setVectors(VectorField.newBuilder().setDim(dim).setFloatVector(data))
+                .build();
+    }
+
+    /**
+     * Builds the results of a search with int64 ids and an int64 and a varchar output field.
+     */
+    static SearchResultData searchResults(int nq, int topK) {
+        int total = nq * topK;
+        Random random = new Random(total);
+        SearchResultData.Builder results = SearchResultData.newBuilder()
+                .setNumQueries(nq)
+                .setTopK(topK);
+        LongArray.Builder ids = LongArray.newBuilder();
+        for (int i = 0; i < total; ++i) {
+            ids.addData(random.nextInt(Integer.MAX_VALUE));
+            results.addScores(random.nextFloat());
+        }
+        for (int i = 0; i < nq; ++i) {
+            results.addTopks(topK);
+        }
+        return results.setIds(IDs.newBuilder().setIntId(ids))
+                .addFieldsData(int64FieldData(total))
+                .addFieldsData(varCharFieldData(total))
+                .build();
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; ++i) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.benchmark;
+
+import io.milvus.grpc.FieldData;
+import io.milvus.response.FieldDataWrapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the field data returned by query and search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FieldDataBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"Int64", "VarChar", "FloatVector128", "FloatVector768"})
+    private String fieldType;
+
+    private FieldData fieldData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (fieldType) {
+            case "Int64":
+                fieldData = BenchmarkData.int64FieldData(rows);
+                break;
+            case "VarChar":
+                fieldData = BenchmarkData.varCharFieldData(rows);
+                break;
+            case "FloatVector128":
+                fieldData = BenchmarkData.floatVectorFieldData(rows, 128);
+                break;
+            case "FloatVector768":
+                fieldData = BenchmarkData.floatVectorFieldData(rows, 768);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown field type: " + fieldType);
+        }
+    }
+
+    @Benchmark
+    public List<?> getFieldData() {
+        return new FieldDataWrapper(fieldData).getFieldData();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.benchmark;
+
+import io.milvus.grpc.InsertRequest;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.dml.InsertParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts an insert request with scalar, varchar and float vector fields,
+ * which covers <code>ParamUtils.genFieldData</code> of each field type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class InsertConvertBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"128", "768", "1536"})
+    private int dim;
+
+    private InsertParam insertParam;
+    private List<FieldType> schema;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        insertParam = BenchmarkData.insertParam(rows, dim);
+        schema = BenchmarkData.schema(dim);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        insertParam = null;
+    }
+
+    @Benchmark
+    public InsertRequest convertInsertParam() {
+        return ParamUtils.convertInsertParam(insertParam, schema);
+    }
+
+    @Benchmark
+    public int convertAndSerialize() {
+        return ParamUtils.convertInsertParam(insertParam, schema).toByteArray().length;
+    }
+}
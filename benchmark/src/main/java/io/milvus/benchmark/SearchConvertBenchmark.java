@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.benchmark;
+
+import io.milvus.grpc.SearchRequest;
+import io.milvus.param.MetricType;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.dml.SearchParam;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts a search request, the cost is dominated by encoding the target vectors into the placeholder group.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchConvertBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    private int nq;
+
+    @Param({"128", "768", "1536"})
+    private int dim;
+
+    @Param({"10", "1000"})
+    private int topK;
+
+    private SearchParam searchParam;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        searchParam = SearchParam.newBuilder()
+                .withCollectionName(BenchmarkData.COLLECTION_NAME)
+                .withVectorFieldName(BenchmarkData.VECTOR_FIELD)
+                .withMetricType(MetricType.L2)
+                .withTopK(topK)
+                .withVectors(BenchmarkData.vectors(new Random(nq * 31L + dim), nq, dim))
+                .withOutFields(Arrays.asList(BenchmarkData.ID_FIELD, BenchmarkData.NAME_FIELD))
+                .withExpr(BenchmarkData.AGE_FIELD + " > 20")
+                .withParams("{\"nprobe\":16}")
+                .build();
+    }
+
+    @Benchmark
+    public SearchRequest convertSearchParam() {
+        return ParamUtils.convertSearchParam(searchParam);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.benchmark;
+
+import io.milvus.grpc.SearchResultData;
+import io.milvus.response.SearchResultsWrapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the results of a search the way applications do: ID-score pairs and output fields of each target.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResultsBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    private int nq;
+
+    @Param({"10", "100", "1000"})
+    private int topK;
+
+    private SearchResultData results;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        results = BenchmarkData.searchResults(nq, topK);
+    }
+
+    @Benchmark
+    public void getIDScore(Blackhole blackhole) {
+        SearchResultsWrapper wrapper = new SearchResultsWrapper(results);
+        for (int i = 0; i < nq; ++i) {
+            blackhole.consume(wrapper.getIDScore(i));
+        }
+    }
+
+    @Benchmark
+    public void getFieldData(Blackhole blackhole) {
+        SearchResultsWrapper wrapper = new SearchResultsWrapper(results);
+        for (int i = 0; i < nq; ++i) {
+            blackhole.consume(wrapper.getFieldData(BenchmarkData.ID_FIELD, i));
+            blackhole.consume(wrapper.getFieldData(BenchmarkData.NAME_FIELD, i));
+        }
+    }
+}
@@ -22,12 +22,16 @@ package io.milvus.client;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
 import com.google.common.util.concurrent.MoreExecutors;
 import io.grpc.StatusRuntimeException;
 import io.milvus.exception.ClientNotConnectedException;
 import io.milvus.exception.IllegalResponseException;
 import io.milvus.exception.ParamException;
 import io.milvus.grpc.*;
+import io.milvus.metrics.RequestStage;
+import io.milvus.metrics.RequestTimer;
+import io.milvus.metrics.RequestTimingListener;
 import io.milvus.param.ParamUtils;
 import io.milvus.param.R;
 import io.milvus.param.RpcStatus;
@@ -50,7 +54,11 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 public abstract class AbstractMilvusGrpcClient implements MilvusClient {
@@ -63,6 +71,20 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 
     protected abstract boolean clientIsReady();
 
+    protected abstract CollectionSchemaCache schemaCache();
+
+    protected abstract Executor asyncExecutor();
+
+    protected abstract long insertChunkBytes();
+
+    protected abstract int maxInsertChunksInFlight();
+
+    protected abstract StateWaiter stateWaiter();
+
+    protected abstract RequestTimingListener requestTimingListener();
+
+    protected abstract SearchResultCache searchCache();
+
     ///////////////////// Internal Functions//////////////////////
     private List<KeyValuePair> assembleKvPair(Map<String, String> sourceMap) {
         List<KeyValuePair> result = new ArrayList<>();
@@ -78,203 +100,426 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
         return result;
     }
 
-    private void waitForLoadingCollection(String collectionName, List<String> partitionNames,
-                                          long waitingInterval, long timeout) throws IllegalResponseException {
-        long tsBegin = System.currentTimeMillis();
+    private ListenableFuture<Boolean> loadingWait(String collectionName, List<String> partitionNames,
+                                                  long waitingInterval, long timeout) {
+        // the state is polled by the state waiter, no thread is blocked for each wait
         if (partitionNames == null || partitionNames.isEmpty()) {
-            ShowCollectionsRequest showCollectionRequest = ShowCollectionsRequest.newBuilder()
-                    .addCollectionNames(collectionName)
-                    .setType(ShowType.InMemory)
-                    .build();
+            return stateWaiter().waitForCollectionLoaded(collectionName, waitingInterval, timeout * 1000);
+        } else {
+            return stateWaiter().waitForPartitionsLoaded(collectionName, partitionNames,
+                    waitingInterval, timeout * 1000);
+        }
+    }
 
-            // Use showCollection() to check loading percentages of the collection.
-            // If the inMemory percentage is 100, that means the collection has finished loading.
-            // Otherwise, this thread will sleep a small interval and check again.
-            // If waiting time exceed timeout, exist the circle
-            while (true) {
-                long tsNow = System.currentTimeMillis();
-                if ((tsNow - tsBegin) >= timeout * 1000) {
-                    logWarning("Waiting load thread is timeout, loading process may not be finished");
-                    break;
-                }
+    private ListenableFuture<Boolean> flushWait(FlushResponse flushResponse, long waitingInterval, long timeout) {
+        // The rpc api flush() return FlushResponse, but the returned segment ids maybe not yet persisted.
+        // The state waiter use getFlushState() to check segment state of each collection.
+        // If all segments state become Flushed, then we say the sync flush action is finished.
+        List<ListenableFuture<Boolean>> waits = new ArrayList<>();
+        flushResponse.getCollSegIDsMap().forEach((collectionName, segmentIDs) ->
+                waits.add(stateWaiter().waitForFlushed(collectionName, segmentIDs.getDataList(),
+                        waitingInterval, timeout * 1000)));
+        return Futures.transform(Futures.allAsList(waits), flushed -> !flushed.contains(Boolean.FALSE),
+                MoreExecutors.directExecutor());
+    }
 
-                ShowCollectionsResponse response = blockingStub().showCollections(showCollectionRequest);
-                int namesCount = response.getCollectionNamesCount();
-                int percentagesCount = response.getInMemoryPercentagesCount();
-                if (namesCount != 1) {
-                    throw new IllegalResponseException("ShowCollectionsResponse is illegal. Collection count: "
-                            + namesCount);
-                }
+    private ListenableFuture<Boolean> indexWait(String collectionName, String indexName,
+                                                long waitingInterval, long timeout) {
+        return stateWaiter().waitForIndex(collectionName, indexName, waitingInterval, timeout * 1000);
+    }
 
-                if (namesCount != percentagesCount) {
-                    String msg = "ShowCollectionsResponse is illegal. Collection count: " + namesCount
-                            + " memory percentages count: " + percentagesCount;
-                    throw new IllegalResponseException(msg);
-                }
+    private void awaitState(ListenableFuture<Boolean> wait, String action) throws Exception {
+        try {
+            if (!wait.get()) {
+                logWarning("Waiting {} is timeout, {} process may not be finished", action, action);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            wait.cancel(false);
+            logWarning("Waiting {} thread is interrupted, {} process may not be finished", action, action);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-                long percentage = response.getInMemoryPercentages(0);
-                String responseCollection = response.getCollectionNames(0);
-                if (responseCollection.compareTo(collectionName) == 0 && percentage >= 100) {
-                    break;
-                }
+    private <T> ListenableFuture<R<T>> afterState(ListenableFuture<Boolean> wait, String action, R<T> result) {
+        return Futures.transform(wait, reached -> {
+            if (!reached) {
+                logWarning("Waiting {} is timeout, {} process may not be finished", action, action);
+            }
+            return result;
+        }, MoreExecutors.directExecutor());
+    }
 
-                try {
-                    logDebug("Waiting load, interval: {} ms, percentage: {}%", waitingInterval, percentage);
-                    TimeUnit.MILLISECONDS.sleep(waitingInterval);
-                } catch (InterruptedException e) {
-                    logWarning("Waiting load thread is interrupted, loading process may not be finished");
-                    break;
-                }
+    private RequestTimer startTimer(String method, String collectionName) {
+        return RequestTimer.start(requestTimingListener(), method, collectionName);
+    }
+
+    private MilvusServiceGrpc.MilvusServiceBlockingStub blockingStub(RequestTimer timer) {
+        // the timer goes with the call so that the interceptor can measure the serialization
+        MilvusServiceGrpc.MilvusServiceBlockingStub stub = blockingStub();
+        return timer.isEnabled() ? stub.withOption(RequestTimer.CALL_OPTION, timer) : stub;
+    }
+
+    private MilvusServiceGrpc.MilvusServiceFutureStub futureStub(RequestTimer timer) {
+        MilvusServiceGrpc.MilvusServiceFutureStub stub = futureStub();
+        return timer.isEnabled() ? stub.withOption(RequestTimer.CALL_OPTION, timer) : stub;
+    }
+
+    private static <T> R<T> finishTimer(RequestTimer timer, R<T> result) {
+        timer.finish(R.Status.Success.getCode() == result.getStatus());
+        return result;
+    }
+
+    private static <T> ListenableFuture<R<T>> finishTimerAsync(RequestTimer timer, ListenableFuture<R<T>> result) {
+        if (!timer.isEnabled()) {
+            return result;
+        }
+
+        // a response is reported before the returned future is done,
+        // a failed or cancelled request is reported as failure, finish() only takes effect once
+        ListenableFuture<R<T>> finished = Futures.transform(result, response -> finishTimer(timer, response),
+                MoreExecutors.directExecutor());
+        finished.addListener(() -> timer.finish(false), MoreExecutors.directExecutor());
+        return finished;
+    }
+
+    private R<List<FieldType>> describeCollectionFields(String collectionName) {
+        R<DescribeCollectionResponse> descResp = describeCollection(DescribeCollectionParam.newBuilder()
+                .withCollectionName(collectionName)
+                .build());
+        if (descResp.getStatus() != R.Status.Success.getCode()) {
+            logError("Failed to describe collection: {}", collectionName);
+            return R.failed(R.Status.valueOf(descResp.getStatus()), descResp.getMessage());
+        }
+
+        DescCollResponseWrapper wrapper = new DescCollResponseWrapper(descResp.getData());
+        List<FieldType> fields = wrapper.getFields();
+        schemaCache().put(collectionName, fields);
+        return R.success(fields);
+    }
+
+    private R<InsertRequest> prepareInsertRequest(InsertParam requestParam, RequestTimer timer)
+            throws ParamException {
+        return convertWithInsertSchema(requestParam, fields -> ParamUtils.convertInsertParam(requestParam, fields),
+                timer);
+    }
+
+    private <T> R<T> convertWithInsertSchema(InsertParam requestParam, Function<List<FieldType>, T> converter,
+                                             RequestTimer timer) throws ParamException {
+        // The schema cache avoids calling describeCollection() for each insert request.
+        // If the input data doesn't match the cached schema, the cached schema might be out of date,
+        // drop it and validate the input data with the latest schema.
+        String collectionName = requestParam.getCollectionName();
+        List<FieldType> cachedFields = schemaCache().get(collectionName);
+        if (cachedFields != null) {
+            long start = timer.now();
+            try {
+                return R.success(converter.apply(cachedFields));
+            } catch (ParamException e) {
+                logDebug("Input data doesn't match cached schema of collection: {}, refresh the schema",
+                        collectionName);
+                schemaCache().invalidate(collectionName);
+            } finally {
+                timer.record(RequestStage.CONVERT, start);
             }
+        }
 
-        } else {
-            ShowPartitionsRequest showPartitionsRequest = ShowPartitionsRequest.newBuilder()
-                    .setCollectionName(collectionName)
-                    .addAllPartitionNames(partitionNames)
-                    .setType(ShowType.InMemory).build();
-
-            // Use showPartitions() to check loading percentages of all the partitions.
-            // If each partition's  inMemory percentage is 100, that means all the partitions have finished loading.
-            // Otherwise, this thread will sleep a small interval and check again.
-            // If waiting time exceed timeout, exist the circle
-            while (true) {
-                long tsNow = System.currentTimeMillis();
-                if ((tsNow - tsBegin) >= timeout * 1000) {
-                    logWarning("Waiting load thread is timeout, loading process may not be finished");
-                    break;
-                }
+        long start = timer.now();
+        R<List<FieldType>> fieldsResp = describeCollectionFields(collectionName);
+        timer.record(RequestStage.SCHEMA_LOOKUP, start);
+        if (fieldsResp.getStatus() != R.Status.Success.getCode()) {
+            return R.failed(R.Status.valueOf(fieldsResp.getStatus()), fieldsResp.getMessage());
+        }
 
-                ShowPartitionsResponse response = blockingStub().showPartitions(showPartitionsRequest);
-                int namesCount = response.getPartitionNamesCount();
-                int percentagesCount = response.getInMemoryPercentagesCount();
-                if (namesCount != percentagesCount) {
-                    String msg = "ShowPartitionsResponse is illegal. Partition count: " + namesCount
-                            + " memory percentages count: " + percentagesCount;
-                    throw new IllegalResponseException(msg);
-                }
+        start = timer.now();
+        try {
+            return R.success(converter.apply(fieldsResp.getData()));
+        } finally {
+            timer.record(RequestStage.CONVERT, start);
+        }
+    }
 
-                // construct a hash map to check each partition's inMemory percentage by name
-                Map<String, Long> percentages = new HashMap<>();
-                for (int i = 0; i < response.getInMemoryPercentagesCount(); ++i) {
-                    percentages.put(response.getPartitionNames(i), response.getInMemoryPercentages(i));
-                }
+    /**
+     * Splits an insert request into chunks by estimated size, each chunk refers to a row range of the input.
+     * Returns the input itself if it is small enough or the chunk size is not set.
+     */
+    private List<InsertParam> splitInsertParam(InsertParam requestParam) {
+        long chunkBytes = insertChunkBytes();
+        int rowCount = requestParam.getRowCount();
+        if (chunkBytes <= 0 || rowCount <= 1) {
+            return Collections.singletonList(requestParam);
+        }
 
-                String partitionNoMemState = "";
-                String partitionNotFullyLoad = "";
-                boolean allLoaded = true;
-                for (String name : partitionNames) {
-                    if (!percentages.containsKey(name)) {
-                        allLoaded = false;
-                        partitionNoMemState = name;
-                        break;
-                    }
-                    if (percentages.get(name) < 100L) {
-                        allLoaded = false;
-                        partitionNotFullyLoad = name;
-                        break;
-                    }
-                }
+        long totalBytes = 0;
+        for (InsertParam.Field field : requestParam.getFields()) {
+            for (Object value : field.getValues()) {
+                totalBytes += ParamUtils.estimateFieldValueSize(value);
+            }
+        }
+        if (totalBytes <= chunkBytes) {
+            return Collections.singletonList(requestParam);
+        }
+
+        int rowsPerChunk = (int) Math.max(1L, chunkBytes * rowCount / totalBytes);
+        List<InsertParam> chunks = new ArrayList<>(rowCount / rowsPerChunk + 1);
+        for (int from = 0; from < rowCount; from += rowsPerChunk) {
+            int to = Math.min(rowCount, from + rowsPerChunk);
+            List<InsertParam.Field> fields = new ArrayList<>(requestParam.getFields().size());
+            for (InsertParam.Field field : requestParam.getFields()) {
+                fields.add(new InsertParam.Field(field.getName(), field.getValues().subList(from, to)));
+            }
+            chunks.add(InsertParam.newBuilder()
+                    .withCollectionName(requestParam.getCollectionName())
+                    .withPartitionName(requestParam.getPartitionName())
+                    .withFields(fields)
+                    .build());
+        }
+        return chunks;
+    }
 
-                if (allLoaded) {
+    /**
+     * Inserts the chunks of a large request. The whole request is validated against the schema before the first
+     * chunk is sent, then the chunks are converted on the async executor and sent concurrently,
+     * at most maxInsertChunksInFlight() chunks are converted or in flight at the same time.
+     * Note that the chunks sent before a failure are not rolled back, the message of the failure tells the row
+     * ranges which are inserted.
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    private R<MutationResult> insertChunks(InsertParam requestParam, List<InsertParam> chunks, RequestTimer timer)
+            throws Exception {
+        String collectionName = requestParam.getCollectionName();
+        R<List<FieldType>> checked = convertWithInsertSchema(requestParam, fields -> {
+            ParamUtils.checkInsertParam(requestParam, fields);
+            return fields;
+        }, timer);
+        if (checked.getStatus() != R.Status.Success.getCode()) {
+            return R.failed(R.Status.valueOf(checked.getStatus()), checked.getMessage());
+        }
+        List<FieldType> fields = checked.getData();
+        logDebug("Insert request of collection: {} is split into {} chunks", collectionName, chunks.size());
+
+        Semaphore window = new Semaphore(maxInsertChunksInFlight());
+        AtomicBoolean failed = new AtomicBoolean(false);
+        List<ListenableFuture<MutationResult>> responses = new ArrayList<>(chunks.size());
+        try {
+            for (int i = 0; i < chunks.size(); ++i) {
+                window.acquire();
+                if (failed.get()) {
+                    // no more chunks are sent once a chunk failed
+                    window.release();
                     break;
                 }
 
-                try {
-                    String msg = "Waiting load, interval: " + waitingInterval + "ms.";
-                    if (!partitionNoMemState.isEmpty()) {
-                        msg += ("Partition " + partitionNoMemState + " has no memory state.");
+                InsertParam chunk = chunks.get(i);
+                ListenableFutureTask<InsertRequest> insertReq = ListenableFutureTask.create(() -> {
+                    long start = timer.now();
+                    try {
+                        return ParamUtils.convertInsertParam(chunk, fields);
+                    } finally {
+                        timer.record(RequestStage.CONVERT, start);
                     }
-                    if (!partitionNotFullyLoad.isEmpty()) {
-                        msg += ("Partition " + partitionNotFullyLoad + " has not fully loaded.");
+                });
+                asyncExecutor().execute(insertReq);
+
+                ListenableFuture<MutationResult> response = Futures.transformAsync(insertReq, req -> {
+                    long start = timer.now();
+                    ListenableFuture<MutationResult> chunkResponse = futureStub(timer).insert(req);
+                    chunkResponse.addListener(() -> timer.record(RequestStage.RPC, start),
+                            MoreExecutors.directExecutor());
+                    return chunkResponse;
+                }, MoreExecutors.directExecutor());
+                Futures.addCallback(response, new FutureCallback<MutationResult>() {
+                    @Override
+                    public void onSuccess(MutationResult result) {
+                        if (result.getStatus().getErrorCode() != ErrorCode.Success) {
+                            failed.set(true);
+                        }
+                        window.release();
                     }
-                    logDebug(msg);
-                    TimeUnit.MILLISECONDS.sleep(waitingInterval);
-                } catch (InterruptedException e) {
-                    logWarning("Waiting load thread is interrupted, load process may not be finished");
-                    break;
+
+                    @Override
+                    public void onFailure(@Nonnull Throwable t) {
+                        failed.set(true);
+                        window.release();
+                    }
+                }, MoreExecutors.directExecutor());
+                responses.add(response);
+            }
+
+            // wait for all the chunks sent, including the ones after a failure, to report the inserted rows
+            Futures.whenAllComplete(responses).call(() -> null, MoreExecutors.directExecutor()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            responses.forEach(response -> response.cancel(true));
+            throw e;
+        }
+
+        List<MutationResult> results = new ArrayList<>(responses.size());
+        List<String> insertedRanges = new ArrayList<>();
+        io.milvus.grpc.Status errorStatus = null;
+        Throwable failure = null;
+        int from = 0;
+        for (int i = 0; i < responses.size(); ++i) {
+            int to = from + chunks.get(i).getRowCount();
+            try {
+                MutationResult result = Futures.getDone(responses.get(i));
+                if (result.getStatus().getErrorCode() == ErrorCode.Success) {
+                    results.add(result);
+                    insertedRanges.add("[" + from + ", " + to + ")");
+                } else if (errorStatus == null) {
+                    errorStatus = result.getStatus();
+                }
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
                 }
             }
+            from = to;
         }
-    }
 
-    private void waitForFlush(FlushResponse flushResponse, long waitingInterval, long timeout) {
-        // The rpc api flush() return FlushResponse, but the returned segment ids maybe not yet persisted.
-        // This method use getFlushState() to check segment state.
-        // If all segments state become Flushed, then we say the sync flush action is finished.
-        // If waiting time exceed timeout, exist the circle
-        long tsBegin = System.currentTimeMillis();
-        Map<String, LongArray> collectionSegIDs = flushResponse.getCollSegIDsMap();
-        collectionSegIDs.forEach((collectionName, segmentIDs) -> {
-            while (segmentIDs.getDataCount() > 0) {
-                long tsNow = System.currentTimeMillis();
-                if ((tsNow - tsBegin) >= timeout * 1000) {
-                    logWarning("Waiting flush thread is timeout, flush process may not be finished");
-                    break;
-                }
+        if (results.size() == chunks.size()) {
+            logDebug("InsertRequest successfully! Collection name:{}", collectionName);
+            long start = timer.now();
+            MutationResult merged = mergeMutationResults(chunks, results);
+            timer.record(RequestStage.RESULT, start);
+            return R.success(merged);
+        }
 
-                GetFlushStateRequest getFlushStateRequest = GetFlushStateRequest.newBuilder()
-                        .addAllSegmentIDs(segmentIDs.getDataList())
-                        .build();
-                GetFlushStateResponse response = blockingStub().getFlushState(getFlushStateRequest);
-                if (response.getFlushed()) {
-                    // if all segment of this collection has been flushed, break this circle and check next collection
-                    String msg = segmentIDs.getDataCount() + " segments of " + collectionName + " has been flushed.";
-                    logDebug(msg);
-                    break;
-                }
+        String inserted = insertedRanges.isEmpty() ? "no rows are inserted" :
+                String.format("rows %s of %d rows are inserted", String.join(", ", insertedRanges),
+                        requestParam.getRowCount());
+        if (errorStatus != null) {
+            // the collection might be dropped or altered, the cached schema is no longer trusted
+            schemaCache().invalidate(collectionName);
+            R<MutationResult> failedResp = failedStatus("InsertRequest", errorStatus);
+            return R.failed(R.Status.valueOf(failedResp.getStatus()), failedResp.getMessage() + ", " + inserted);
+        }
+        String reason = failure != null ? failure.getMessage() : "a chunk failed";
+        logError("InsertRequest failed! Collection name:{}\n{}, {}", collectionName, reason, inserted);
+        return R.failed(R.Status.Unknown, "Insert request failed: " + reason + ", " + inserted);
+    }
 
-                try {
-                    String msg = "Waiting flush for " + collectionName + ", interval: " + waitingInterval + "ms. ";
-                    logDebug(msg);
-                    TimeUnit.MILLISECONDS.sleep(waitingInterval);
-                } catch (InterruptedException e) {
-                    logWarning("Waiting flush thread is interrupted, flush process may not be finished");
-                    break;
-                }
+    private static MutationResult mergeMutationResults(List<InsertParam> chunks, List<MutationResult> results) {
+        MutationResult.Builder merged = MutationResult.newBuilder()
+                .setStatus(results.get(0).getStatus())
+                .setAcknowledged(results.get(0).getAcknowledged());
+        LongArray.Builder longIDs = LongArray.newBuilder();
+        StringArray.Builder strIDs = StringArray.newBuilder();
+        long insertCount = 0;
+        long timestamp = 0;
+        int offset = 0;
+        for (int i = 0; i < results.size(); ++i) {
+            MutationResult result = results.get(i);
+            IDs ids = result.getIDs();
+            if (ids.hasIntId()) {
+                longIDs.addAllData(ids.getIntId().getDataList());
+            } else if (ids.hasStrId()) {
+                strIDs.addAllData(ids.getStrId().getDataList());
             }
-        });
-    }
 
-    private R<Boolean> waitForIndex(String collectionName, String indexName,
-                                    long waitingInterval, long timeout) {
-        // This method use getIndexState() to check index state.
-        // If all index state become Finished, then we say the sync index action is finished.
-        // If waiting time exceed timeout, exist the circle
-        long tsBegin = System.currentTimeMillis();
-        while (true) {
-            long tsNow = System.currentTimeMillis();
-            if ((tsNow - tsBegin) >= timeout * 1000) {
-                String msg = "Waiting index thread is timeout, index process may not be finished";
-                logWarning(msg);
-                return R.failed(R.Status.Success, msg);
+            // indexes are relative to each chunk, shift them to the row index of the whole request
+            for (int index : result.getSuccIndexList()) {
+                merged.addSuccIndex(index + offset);
+            }
+            for (int index : result.getErrIndexList()) {
+                merged.addErrIndex(index + offset);
             }
 
-            GetIndexStateRequest request = GetIndexStateRequest.newBuilder()
-                    .setCollectionName(collectionName)
-                    .setIndexName(indexName)
-                    .build();
+            insertCount += result.getInsertCnt();
+            // the latest timestamp covers all the chunks when used as guarantee timestamp
+            timestamp = Math.max(timestamp, result.getTimestamp());
+            offset += chunks.get(i).getRowCount();
+        }
+
+        IDs.Builder ids = IDs.newBuilder();
+        if (strIDs.getDataCount() > 0) {
+            ids.setStrId(strIDs);
+        } else {
+            ids.setIntId(longIDs);
+        }
+        return merged.setIDs(ids)
+                .setInsertCnt(insertCount)
+                .setTimestamp(timestamp)
+                .build();
+    }
 
-            GetIndexStateResponse response = blockingStub().getIndexState(request);
-            if (response.getState() == IndexState.Finished) {
-                break;
-            } else if (response.getState() == IndexState.Failed) {
-                String msg = "Get index state failed: " + response.toString();
-                logError(msg);
-                return R.failed(R.Status.UnexpectedError, msg);
+    private ListenableFuture<R<List<FieldType>>> describeCollectionFieldsAsync(String collectionName,
+                                                                               RequestTimer timer) {
+        DescribeCollectionRequest describeCollectionRequest = DescribeCollectionRequest.newBuilder()
+                .setCollectionName(collectionName)
+                .build();
+        long start = timer.now();
+        ListenableFuture<DescribeCollectionResponse> response = futureStub().describeCollection(describeCollectionRequest);
+
+        ListenableFuture<R<List<FieldType>>> fieldsFuture = Futures.transform(response, descResp -> {
+            if (descResp.getStatus().getErrorCode() != ErrorCode.Success) {
+                R<List<FieldType>> failed = failedStatus("DescribeCollectionRequest", descResp.getStatus());
+                return failed;
             }
 
-            try {
-                String msg = "Waiting index, interval: " + waitingInterval + "ms. ";
-                logDebug(msg);
-                TimeUnit.MILLISECONDS.sleep(waitingInterval);
-            } catch (InterruptedException e) {
-                String msg = "Waiting index thread is interrupted, index process may not be finished";
-                logWarning(msg);
-                return R.failed(R.Status.Success, msg);
+            List<FieldType> fields = new DescCollResponseWrapper(descResp).getFields();
+            schemaCache().put(collectionName, fields);
+            searchCache().resolve(collectionName, descResp.getSchema().getName());
+            timer.record(RequestStage.SCHEMA_LOOKUP, start);
+            R<List<FieldType>> success = R.success(fields);
+            return success;
+        }, asyncExecutor());
+
+        return Futures.catching(fieldsFuture, Exception.class, e -> {
+            logError("Failed to describe collection: {}\n{}", collectionName, e.getMessage());
+            R<List<FieldType>> failed = R.failed(e);
+            return failed;
+        }, MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<R<InsertRequest>> convertInsertParamAsync(InsertParam requestParam, RequestTimer timer) {
+        ListenableFuture<R<List<FieldType>>> fieldsFuture =
+                describeCollectionFieldsAsync(requestParam.getCollectionName(), timer);
+        return Futures.transform(fieldsFuture, fieldsResp -> {
+            R<InsertRequest> result;
+            if (fieldsResp.getStatus() != R.Status.Success.getCode()) {
+                result = R.failed(R.Status.valueOf(fieldsResp.getStatus()), fieldsResp.getMessage());
+            } else {
+                long start = timer.now();
+                try {
+                    result = R.success(ParamUtils.convertInsertParam(requestParam, fieldsResp.getData()));
+                } catch (ParamException e) {
+                    result = R.failed(e);
+                }
+                timer.record(RequestStage.CONVERT, start);
             }
+            return result;
+        }, asyncExecutor());
+    }
+
+    private ListenableFuture<R<InsertRequest>> prepareInsertRequestAsync(InsertParam requestParam,
+                                                                         RequestTimer timer) {
+        // same as prepareInsertRequest(), but the conversion runs on the async executor
+        // and the schema is fetched by the future stub if it is not cached
+        String collectionName = requestParam.getCollectionName();
+        List<FieldType> cachedFields = schemaCache().get(collectionName);
+        if (cachedFields == null) {
+            return convertInsertParamAsync(requestParam, timer);
         }
 
-        return R.failed(R.Status.Success, "Waiting index thread exist");
+        return Futures.transformAsync(Futures.immediateFuture(cachedFields), fields -> {
+            long start = timer.now();
+            try {
+                R<InsertRequest> result = R.success(ParamUtils.convertInsertParam(requestParam, fields));
+                timer.record(RequestStage.CONVERT, start);
+                return Futures.immediateFuture(result);
+            } catch (ParamException e) {
+                timer.record(RequestStage.CONVERT, start);
+                logDebug("Input data doesn't match cached schema of collection: {}, refresh the schema",
+                        collectionName);
+                schemaCache().invalidate(collectionName);
+                return convertInsertParamAsync(requestParam, timer);
+            }
+        }, asyncExecutor());
     }
 
     private <T> R<T> failedStatus(String requestName, io.milvus.grpc.Status status) {
@@ -293,7 +538,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             HasCollectionRequest hasCollectionRequest = HasCollectionRequest.newBuilder()
@@ -326,7 +571,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             // Construct CollectionSchema Params
@@ -362,6 +607,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
 
             Status response = blockingStub().createCollection(createCollectionRequest);
+            schemaCache().invalidate(requestParam.getCollectionName());
 
             if (response.getErrorCode() == ErrorCode.Success) {
                 logDebug("CreateCollectionRequest successfully! Collection name:{}",
@@ -387,7 +633,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DropCollectionRequest dropCollectionRequest = DropCollectionRequest.newBuilder()
@@ -395,6 +641,9 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
 
             Status response = blockingStub().dropCollection(dropCollectionRequest);
+            schemaCache().invalidate(requestParam.getCollectionName());
+            // results of time travel searches are kept by invalidate(), a dropped collection may be created again
+            searchCache().invalidateAll();
 
             if (response.getErrorCode() == ErrorCode.Success) {
                 logDebug("DropCollectionRequest successfully! Collection name:{}",
@@ -420,7 +669,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             LoadCollectionRequest loadCollectionRequest = LoadCollectionRequest.newBuilder()
@@ -436,8 +685,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 
             // sync load, wait until collection finish loading
             if (requestParam.isSyncLoad()) {
-                waitForLoadingCollection(requestParam.getCollectionName(), null,
-                        requestParam.getSyncLoadWaitingInterval(), requestParam.getSyncLoadWaitingTimeout());
+                awaitState(loadingWait(requestParam.getCollectionName(), null,
+                        requestParam.getSyncLoadWaitingInterval(), requestParam.getSyncLoadWaitingTimeout()), "load");
             }
 
             logDebug("LoadCollectionRequest successfully! Collection name:{}",
@@ -458,13 +707,51 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
         }
     }
 
+    @Override
+    public ListenableFuture<R<RpcStatus>> loadCollectionAsync(@NonNull LoadCollectionParam requestParam) {
+        if (!clientIsReady()) {
+            return Futures.immediateFuture(
+                    R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
+        }
+
+        logInfo("{}", requestParam);
+
+        LoadCollectionRequest loadCollectionRequest = LoadCollectionRequest.newBuilder()
+                .setCollectionName(requestParam.getCollectionName())
+                .setReplicaNumber(requestParam.getReplicaNumber())
+                .build();
+        ListenableFuture<Status> response = futureStub().loadCollection(loadCollectionRequest);
+
+        ListenableFuture<R<RpcStatus>> result = Futures.transformAsync(response, status -> {
+            if (status.getErrorCode() != ErrorCode.Success) {
+                R<RpcStatus> failed = R.failed(R.Status.valueOf(status.getErrorCode().getNumber()), status.getReason());
+                return Futures.immediateFuture(failed);
+            }
+
+            R<RpcStatus> success = R.success(new RpcStatus(RpcStatus.SUCCESS_MSG));
+            if (!requestParam.isSyncLoad()) {
+                return Futures.immediateFuture(success);
+            }
+            // sync load, the future completes when the collection finish loading
+            return afterState(loadingWait(requestParam.getCollectionName(), null,
+                    requestParam.getSyncLoadWaitingInterval(), requestParam.getSyncLoadWaitingTimeout()),
+                    "load", success);
+        }, MoreExecutors.directExecutor());
+
+        return Futures.catching(result, Exception.class, e -> {
+            logError("LoadCollectionRequest failed! Collection name:{}\n{}",
+                    requestParam.getCollectionName(), e.getMessage());
+            return R.failed(e);
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public R<RpcStatus> releaseCollection(@NonNull ReleaseCollectionParam requestParam) {
         if (!clientIsReady()) {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             ReleaseCollectionRequest releaseCollectionRequest = ReleaseCollectionRequest.newBuilder()
@@ -497,7 +784,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DescribeCollectionRequest describeCollectionRequest = DescribeCollectionRequest.newBuilder()
@@ -508,6 +795,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 
             if (response.getStatus().getErrorCode() == ErrorCode.Success) {
                 logDebug("DescribeCollectionRequest successfully!");
+                searchCache().resolve(requestParam.getCollectionName(), response.getSchema().getName());
                 return R.success(response);
             } else {
                 return failedStatus("DescribeCollectionRequest", response.getStatus());
@@ -527,7 +815,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             // flush collection if client command to do it(some times user may want to know the newest row count)
@@ -568,7 +856,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             ShowCollectionsRequest showCollectionsRequest = ShowCollectionsRequest.newBuilder()
@@ -602,7 +890,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             MsgBase msgBase = MsgBase.newBuilder().setMsgType(MsgType.Flush).build();
@@ -613,8 +901,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             FlushResponse response = blockingStub().flush(flushRequest);
 
             if (Objects.equals(requestParam.getSyncFlush(), Boolean.TRUE)) {
-                waitForFlush(response, requestParam.getSyncFlushWaitingInterval(),
-                        requestParam.getSyncFlushWaitingTimeout());
+                awaitState(flushWait(response, requestParam.getSyncFlushWaitingInterval(),
+                        requestParam.getSyncFlushWaitingTimeout()), "flush");
             }
 
             logDebug("FlushRequest successfully! Collection names:{}", requestParam.getCollectionNames());
@@ -630,13 +918,45 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
         }
     }
 
+    @Override
+    public ListenableFuture<R<FlushResponse>> flushAsync(@NonNull FlushParam requestParam) {
+        if (!clientIsReady()) {
+            return Futures.immediateFuture(
+                    R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
+        }
+
+        logInfo("{}", requestParam);
+
+        MsgBase msgBase = MsgBase.newBuilder().setMsgType(MsgType.Flush).build();
+        FlushRequest flushRequest = FlushRequest.newBuilder()
+                .setBase(msgBase)
+                .addAllCollectionNames(requestParam.getCollectionNames())
+                .build();
+        ListenableFuture<FlushResponse> response = futureStub().flush(flushRequest);
+
+        ListenableFuture<R<FlushResponse>> result = Futures.transformAsync(response, flushResponse -> {
+            R<FlushResponse> success = R.success(flushResponse);
+            if (!Objects.equals(requestParam.getSyncFlush(), Boolean.TRUE)) {
+                return Futures.immediateFuture(success);
+            }
+            return afterState(flushWait(flushResponse, requestParam.getSyncFlushWaitingInterval(),
+                    requestParam.getSyncFlushWaitingTimeout()), "flush", success);
+        }, MoreExecutors.directExecutor());
+
+        return Futures.catching(result, Exception.class, e -> {
+            logError("FlushRequest failed! Collection names:{}\n{}",
+                    requestParam.getCollectionNames(), e.getMessage());
+            return R.failed(e);
+        }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public R<RpcStatus> createPartition(@NonNull CreatePartitionParam requestParam) {
         if (!clientIsReady()) {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             CreatePartitionRequest createPartitionRequest = CreatePartitionRequest.newBuilder()
@@ -670,7 +990,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DropPartitionRequest dropPartitionRequest = DropPartitionRequest.newBuilder()
@@ -704,7 +1024,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             HasPartitionRequest hasPartitionRequest = HasPartitionRequest.newBuilder()
@@ -736,7 +1056,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             LoadPartitionsRequest loadPartitionsRequest = LoadPartitionsRequest.newBuilder()
@@ -753,8 +1073,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 
             // sync load, wait until all partitions finish loading
             if (requestParam.isSyncLoad()) {
-                waitForLoadingCollection(requestParam.getCollectionName(), requestParam.getPartitionNames(),
-                        requestParam.getSyncLoadWaitingInterval(), requestParam.getSyncLoadWaitingTimeout());
+                awaitState(loadingWait(requestParam.getCollectionName(), requestParam.getPartitionNames(),
+                        requestParam.getSyncLoadWaitingInterval(), requestParam.getSyncLoadWaitingTimeout()), "load");
             }
 
             logDebug("LoadPartitionsRequest successfully! Collection name:{}, partition names:{}",
@@ -781,7 +1101,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             ReleasePartitionsRequest releasePartitionsRequest = ReleasePartitionsRequest.newBuilder()
@@ -815,7 +1135,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             // flush collection if client command to do it(some times user may want to know the newest row count)
@@ -858,7 +1178,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             ShowPartitionsRequest showPartitionsRequest = ShowPartitionsRequest.newBuilder()
@@ -889,7 +1209,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             CreateAliasRequest createAliasRequest = CreateAliasRequest.newBuilder()
@@ -898,6 +1218,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
 
             Status response = blockingStub().createAlias(createAliasRequest);
+            schemaCache().invalidate(requestParam.getAlias());
+            searchCache().invalidateAll();
 
             if (response.getErrorCode() == ErrorCode.Success) {
                 logDebug("CreateAliasRequest successfully! Collection name:{}, alias name:{}",
@@ -923,7 +1245,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DropAliasRequest dropAliasRequest = DropAliasRequest.newBuilder()
@@ -931,6 +1253,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
 
             Status response = blockingStub().dropAlias(dropAliasRequest);
+            schemaCache().invalidate(requestParam.getAlias());
+            searchCache().invalidateAll();
 
             if (response.getErrorCode() == ErrorCode.Success) {
                 logDebug("DropAliasRequest successfully! Alias name:{}", requestParam.getAlias());
@@ -955,7 +1279,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             AlterAliasRequest alterAliasRequest = AlterAliasRequest.newBuilder()
@@ -964,6 +1288,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
 
             Status response = blockingStub().alterAlias(alterAliasRequest);
+            schemaCache().invalidate(requestParam.getAlias());
+            searchCache().invalidateAll();
 
             if (response.getErrorCode() == ErrorCode.Success) {
                 logDebug("AlterAliasRequest successfully! Collection name:{}, alias name:{}",
@@ -989,19 +1315,10 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
-            CreateIndexRequest.Builder createIndexRequestBuilder = CreateIndexRequest.newBuilder();
-            List<KeyValuePair> extraParamList = assembleKvPair(requestParam.getExtraParam());
-            if (CollectionUtils.isNotEmpty(extraParamList)) {
-                extraParamList.forEach(createIndexRequestBuilder::addExtraParams);
-            }
-
-            // keep consistence behavior with python sdk, if the index type is flat, return succeed with a warning
-            // TODO: call dropIndex if the index type is flat
-            // TODO: call describeCollection to check field name
-            if (requestParam.getIndexName() == "FLAT" || requestParam.getIndexName() == "BIN_FLAT") {
+            if (isFlatIndex(requestParam)) {
                 return R.success(new RpcStatus("Warning: It is not necessary to build index with index_type: FLAT"));
             }
 
@@ -1011,22 +1328,15 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     .build();
             blockingStub().flush(flushRequest);
 
-            CreateIndexRequest createIndexRequest = createIndexRequestBuilder.setCollectionName(requestParam.getCollectionName())
-                    .setFieldName(requestParam.getFieldName())
-                    .setIndexName(requestParam.getIndexName())
-                    .build();
-
-            Status response = blockingStub().createIndex(createIndexRequest);
+            Status response = blockingStub().createIndex(buildCreateIndexRequest(requestParam));
             if (response.getErrorCode() != ErrorCode.Success) {
                 return failedStatus("CreateIndexRequest", response);
             }
 
             if (requestParam.isSyncMode()) {
-                R<Boolean> res = waitForIndex(requestParam.getCollectionName(), requestParam.getIndexName(),
-                        requestParam.getSyncWaitingInterval(), requestParam.getSyncWaitingTimeout());
-                if (res.getStatus() != R.Status.Success.getCode()) {
-                    return failedStatus("CreateIndexRequest in sync mode", response);
-                }
+                // the wait fails with IllegalResponseException if the index build failed
+                awaitState(indexWait(requestParam.getCollectionName(), requestParam.getIndexName(),
+                        requestParam.getSyncWaitingInterval(), requestParam.getSyncWaitingTimeout()), "index");
             }
             logDebug("CreateIndexRequest successfully! Collection name:{} Field name:{}",
                     requestParam.getCollectionName(), requestParam.getFieldName());
@@ -1042,13 +1352,76 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
         }
     }
 
+    @Override
+    public ListenableFuture<R<RpcStatus>> createIndexAsync(@NonNull CreateIndexParam requestParam) {
+        if (!clientIsReady()) {
+            return Futures.immediateFuture(
+                    R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
+        }
+
+        logInfo("{}", requestParam);
+
+        if (isFlatIndex(requestParam)) {
+            return Futures.immediateFuture(
+                    R.success(new RpcStatus("Warning: It is not necessary to build index with index_type: FLAT")));
+        }
+
+        // keep consistence behavior with python sdk, flush before creating index
+        FlushRequest flushRequest = FlushRequest.newBuilder()
+                .addCollectionNames(requestParam.getCollectionName())
+                .build();
+        ListenableFuture<Status> response = Futures.transformAsync(futureStub().flush(flushRequest),
+                flushResponse -> futureStub().createIndex(buildCreateIndexRequest(requestParam)),
+                MoreExecutors.directExecutor());
+
+        ListenableFuture<R<RpcStatus>> result = Futures.transformAsync(response, status -> {
+            if (status.getErrorCode() != ErrorCode.Success) {
+                R<RpcStatus> failed = failedStatus("CreateIndexRequest", status);
+                return Futures.immediateFuture(failed);
+            }
+
+            R<RpcStatus> success = R.success(new RpcStatus(RpcStatus.SUCCESS_MSG));
+            if (!requestParam.isSyncMode()) {
+                return Futures.immediateFuture(success);
+            }
+            return afterState(indexWait(requestParam.getCollectionName(), requestParam.getIndexName(),
+                    requestParam.getSyncWaitingInterval(), requestParam.getSyncWaitingTimeout()), "index", success);
+        }, MoreExecutors.directExecutor());
+
+        return Futures.catching(result, Exception.class, e -> {
+            logError("CreateIndexRequest failed! Collection name:{}\n{}",
+                    requestParam.getCollectionName(), e.getMessage());
+            return R.failed(e);
+        }, MoreExecutors.directExecutor());
+    }
+
+    private boolean isFlatIndex(CreateIndexParam requestParam) {
+        // keep consistence behavior with python sdk, if the index type is flat, return succeed with a warning
+        // TODO: call dropIndex if the index type is flat
+        // TODO: call describeCollection to check field name
+        return requestParam.getIndexName() == "FLAT" || requestParam.getIndexName() == "BIN_FLAT";
+    }
+
+    private CreateIndexRequest buildCreateIndexRequest(CreateIndexParam requestParam) {
+        CreateIndexRequest.Builder createIndexRequestBuilder = CreateIndexRequest.newBuilder();
+        List<KeyValuePair> extraParamList = assembleKvPair(requestParam.getExtraParam());
+        if (CollectionUtils.isNotEmpty(extraParamList)) {
+            extraParamList.forEach(createIndexRequestBuilder::addExtraParams);
+        }
+
+        return createIndexRequestBuilder.setCollectionName(requestParam.getCollectionName())
+                .setFieldName(requestParam.getFieldName())
+                .setIndexName(requestParam.getIndexName())
+                .build();
+    }
+
     @Override
     public R<RpcStatus> dropIndex(@NonNull DropIndexParam requestParam) {
         if (!clientIsReady()) {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DescribeIndexRequest describeIndexRequest = DescribeIndexRequest.newBuilder()
@@ -1094,7 +1467,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DescribeIndexRequest describeIndexRequest = DescribeIndexRequest.newBuilder()
@@ -1125,7 +1498,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetIndexStateRequest getIndexStateRequest = GetIndexStateRequest.newBuilder()
@@ -1156,7 +1529,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetIndexBuildProgressRequest getIndexBuildProgressRequest = GetIndexBuildProgressRequest.newBuilder()
@@ -1187,7 +1560,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
         try {
             DeleteRequest deleteRequest = DeleteRequest.newBuilder()
@@ -1214,16 +1587,72 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             logError("DeleteRequest failed! Collection name:{}\n{}",
                     requestParam.getCollectionName(), e.getMessage());
             return R.failed(e);
+        } finally {
+            searchCache().invalidate(requestParam.getCollectionName());
         }
     }
 
+    @Override
+    public ListenableFuture<R<MutationResult>> deleteAsync(@NonNull DeleteParam requestParam) {
+        if (!clientIsReady()) {
+            return Futures.immediateFuture(
+                    R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
+        }
+
+        logDebug("{}", RequestSummary.of(requestParam));
+
+        DeleteRequest deleteRequest = DeleteRequest.newBuilder()
+                .setBase(MsgBase.newBuilder().setMsgType(MsgType.Delete).build())
+                .setCollectionName(requestParam.getCollectionName())
+                .setPartitionName(requestParam.getPartitionName())
+                .setExpr(requestParam.getExpr())
+                .build();
+
+        ListenableFuture<MutationResult> response = futureStub().delete(deleteRequest);
+        response.addListener(() -> searchCache().invalidate(requestParam.getCollectionName()),
+                MoreExecutors.directExecutor());
+
+        Futures.addCallback(
+                response,
+                new FutureCallback<MutationResult>() {
+                    @Override
+                    public void onSuccess(MutationResult result) {
+                        if (result.getStatus().getErrorCode() == ErrorCode.Success) {
+                            logDebug("deleteAsync successfully! Collection name:{}",
+                                    requestParam.getCollectionName());
+                        } else {
+                            logError("deleteAsync failed! Collection name:{}\n{}",
+                                    requestParam.getCollectionName(), result.getStatus().getReason());
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull Throwable t) {
+                        logError("deleteAsync failed:\n{}", t.getMessage());
+                    }
+                },
+                MoreExecutors.directExecutor());
+
+        Function<MutationResult, R<MutationResult>> transformFunc =
+                results -> {
+                    if (results.getStatus().getErrorCode() == ErrorCode.Success) {
+                        return R.success(results);
+                    } else {
+                        return R.failed(R.Status.valueOf(results.getStatus().getErrorCode().getNumber()),
+                                results.getStatus().getReason());
+                    }
+                };
+
+        return Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor());
+    }
+
 //    @Override
 //    public R<ImportResponse> bulkload(@NonNull BulkloadParam requestParam) {
 //        if (!clientIsReady()) {
 //            return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
 //        }
 //
-//        logInfo(requestParam.toString());
+//        logInfo("{}", requestParam);
 //
 //        try {
 //            ImportRequest.Builder builder = ImportRequest.newBuilder();
@@ -1260,7 +1689,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 //            return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
 //        }
 //
-//        logInfo(requestParam.toString());
+//        logInfo("{}", requestParam);
 //
 //        try {
 //            GetImportStateRequest importRequest = GetImportStateRequest.newBuilder()
@@ -1289,7 +1718,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
 //            return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
 //        }
 //
-//        logInfo(requestParam.toString());
+//        logInfo("{}", requestParam);
 //
 //        try {
 //            ListImportTasksRequest listRequest = ListImportTasksRequest.newBuilder().build();
@@ -1316,36 +1745,47 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
+        RequestTimer timer = startTimer("insert", requestParam.getCollectionName());
         try {
-            R<DescribeCollectionResponse> descResp = describeCollection(DescribeCollectionParam.newBuilder()
-                    .withCollectionName(requestParam.getCollectionName())
-                    .build());
-            if (descResp.getStatus() != R.Status.Success.getCode()) {
-                logError("Failed to describe collection: {}", requestParam.getCollectionName());
-                return R.failed(R.Status.valueOf(descResp.getStatus()), descResp.getMessage());
+            // oversized requests are split by estimated size and sent in chunks
+            long start = timer.now();
+            List<InsertParam> chunks = splitInsertParam(requestParam);
+            timer.record(RequestStage.CONVERT, start);
+            if (chunks.size() > 1) {
+                return finishTimer(timer, insertChunks(requestParam, chunks, timer));
+            }
+
+            R<InsertRequest> insertReq = prepareInsertRequest(requestParam, timer);
+            if (insertReq.getStatus() != R.Status.Success.getCode()) {
+                return finishTimer(timer, R.failed(R.Status.valueOf(insertReq.getStatus()), insertReq.getMessage()));
             }
 
-            DescCollResponseWrapper wrapper = new DescCollResponseWrapper(descResp.getData());
-            InsertRequest insertRequest = ParamUtils.convertInsertParam(requestParam, wrapper.getFields());
-            MutationResult response = blockingStub().insert(insertRequest);
+            start = timer.now();
+            MutationResult response = blockingStub(timer).insert(insertReq.getData());
+            timer.record(RequestStage.RPC, start);
 
             if (response.getStatus().getErrorCode() == ErrorCode.Success) {
                 logDebug("InsertRequest successfully! Collection name:{}",
                         requestParam.getCollectionName());
-                return R.success(response);
+                return finishTimer(timer, R.success(response));
             } else {
-                return failedStatus("InsertRequest", response.getStatus());
+                // the collection might be dropped or altered, the cached schema is no longer trusted
+                schemaCache().invalidate(requestParam.getCollectionName());
+                return finishTimer(timer, failedStatus("InsertRequest", response.getStatus()));
             }
         } catch (StatusRuntimeException e) {
             logError("InsertRequest RPC failed! Collection name:{}\n{}",
                     requestParam.getCollectionName(), e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
         } catch (Exception e) {
             logError("InsertRequest failed! Collection name:{}\n{}",
                     requestParam.getCollectionName(), e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
+        } finally {
+            // a failed or timed out insert may still be applied by the server
+            searchCache().invalidate(requestParam.getCollectionName());
         }
     }
 
@@ -1357,53 +1797,60 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
         }
 
-        logInfo(requestParam.toString());
-
-        R<DescribeCollectionResponse> descResp = describeCollection(DescribeCollectionParam.newBuilder()
-                .withCollectionName(requestParam.getCollectionName())
-                .build());
-        if (descResp.getStatus() != R.Status.Success.getCode()) {
-            logDebug("Failed to describe collection: {}", requestParam.getCollectionName());
-            return Futures.immediateFuture(
-                    R.failed(new ClientNotConnectedException("Failed to describe collection")));
-        }
+        logDebug("{}", RequestSummary.of(requestParam));
 
-        DescCollResponseWrapper wrapper = new DescCollResponseWrapper(descResp.getData());
-        InsertRequest insertRequest = ParamUtils.convertInsertParam(requestParam, wrapper.getFields());
-        ListenableFuture<MutationResult> response = futureStub().insert(insertRequest);
+        // schema lookup, data conversion and the insert call are chained as futures,
+        // the caller thread is never blocked by describeCollection() or the conversion
+        RequestTimer timer = startTimer("insertAsync", requestParam.getCollectionName());
+        ListenableFuture<R<InsertRequest>> insertReqFuture = prepareInsertRequestAsync(requestParam, timer);
+        return finishTimerAsync(timer, Futures.transformAsync(insertReqFuture, insertReq -> {
+            if (insertReq.getStatus() != R.Status.Success.getCode()) {
+                logError("insertAsync failed! Collection name:{}\n{}",
+                        requestParam.getCollectionName(), insertReq.getMessage());
+                R<MutationResult> failed = R.failed(R.Status.valueOf(insertReq.getStatus()), insertReq.getMessage());
+                return Futures.immediateFuture(failed);
+            }
 
-        Futures.addCallback(
-                response,
-                new FutureCallback<MutationResult>() {
-                    @Override
-                    public void onSuccess(MutationResult result) {
-                        if (result.getStatus().getErrorCode() == ErrorCode.Success) {
-                            logDebug("insertAsync successfully! Collection name:{}",
-                                    requestParam.getCollectionName());
-                        } else {
-                            logError("insertAsync failed! Collection name:{}\n{}",
-                                    requestParam.getCollectionName(), result.getStatus().getReason());
+            long start = timer.now();
+            ListenableFuture<MutationResult> response = futureStub(timer).insert(insertReq.getData());
+            response.addListener(() -> timer.record(RequestStage.RPC, start), MoreExecutors.directExecutor());
+            response.addListener(() -> searchCache().invalidate(requestParam.getCollectionName()),
+                    MoreExecutors.directExecutor());
+
+            Futures.addCallback(
+                    response,
+                    new FutureCallback<MutationResult>() {
+                        @Override
+                        public void onSuccess(MutationResult result) {
+                            if (result.getStatus().getErrorCode() == ErrorCode.Success) {
+                                logDebug("insertAsync successfully! Collection name:{}",
+                                        requestParam.getCollectionName());
+                            } else {
+                                schemaCache().invalidate(requestParam.getCollectionName());
+                                logError("insertAsync failed! Collection name:{}\n{}",
+                                        requestParam.getCollectionName(), result.getStatus().getReason());
+                            }
                         }
-                    }
 
-                    @Override
-                    public void onFailure(@Nonnull Throwable t) {
-                        logError("insertAsync failed:\n{}", t.getMessage());
-                    }
-                },
-                MoreExecutors.directExecutor());
+                        @Override
+                        public void onFailure(@Nonnull Throwable t) {
+                            logError("insertAsync failed:\n{}", t.getMessage());
+                        }
+                    },
+                    MoreExecutors.directExecutor());
 
-        Function<MutationResult, R<MutationResult>> transformFunc =
-                results -> {
-                    if (results.getStatus().getErrorCode() == ErrorCode.Success) {
-                        return R.success(results);
-                    } else {
-                        return R.failed(R.Status.valueOf(results.getStatus().getErrorCode().getNumber()),
-                                results.getStatus().getReason());
-                    }
-                };
+            Function<MutationResult, R<MutationResult>> transformFunc =
+                    results -> {
+                        if (results.getStatus().getErrorCode() == ErrorCode.Success) {
+                            return R.success(results);
+                        } else {
+                            return R.failed(R.Status.valueOf(results.getStatus().getErrorCode().getNumber()),
+                                    results.getStatus().getReason());
+                        }
+                    };
 
-        return Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor());
+            return Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor());
+        }, MoreExecutors.directExecutor()));
     }
 
     @Override
@@ -1412,26 +1859,40 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
+        RequestTimer timer = startTimer("search", requestParam.getCollectionName());
         try {
+            long start = timer.now();
             SearchRequest searchRequest = ParamUtils.convertSearchParam(requestParam);
-            SearchResults response = this.blockingStub().search(searchRequest);
+            timer.record(RequestStage.CONVERT, start);
+
+            SearchResultCache.Key cacheKey = searchCache().keyOf(searchRequest, requestParam.getConsistencyLevel());
+            SearchResults cached = searchCache().get(cacheKey);
+            if (cached != null) {
+                logDebug("SearchRequest hits the search cache! Collection name:{}", requestParam.getCollectionName());
+                return finishTimer(timer, R.success(cached));
+            }
+
+            start = timer.now();
+            SearchResults response = this.blockingStub(timer).search(searchRequest);
+            timer.record(RequestStage.RPC, start);
 
             //TODO: truncate distance value by round decimal
 
             if (response.getStatus().getErrorCode() == ErrorCode.Success) {
                 logDebug("SearchRequest successfully!");
-                return R.success(response);
+                searchCache().put(cacheKey, response);
+                return finishTimer(timer, R.success(response));
             } else {
-                return failedStatus("SearchRequest", response.getStatus());
+                return finishTimer(timer, failedStatus("SearchRequest", response.getStatus()));
             }
         } catch (StatusRuntimeException e) {
             logError("SearchRequest RPC failed:{}", e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
         } catch (ParamException e) {
             logError("SearchRequest failed:\n{}", e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
         }
     }
 
@@ -1443,10 +1904,23 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
+        RequestTimer timer = startTimer("searchAsync", requestParam.getCollectionName());
+        long convertStart = timer.now();
         SearchRequest searchRequest = ParamUtils.convertSearchParam(requestParam);
-        ListenableFuture<SearchResults> response = this.futureStub().search(searchRequest);
+        timer.record(RequestStage.CONVERT, convertStart);
+
+        SearchResultCache.Key cacheKey = searchCache().keyOf(searchRequest, requestParam.getConsistencyLevel());
+        SearchResults cached = searchCache().get(cacheKey);
+        if (cached != null) {
+            logDebug("searchAsync hits the search cache! Collection name:{}", requestParam.getCollectionName());
+            return finishTimerAsync(timer, Futures.immediateFuture(R.success(cached)));
+        }
+
+        long rpcStart = timer.now();
+        ListenableFuture<SearchResults> response = this.futureStub(timer).search(searchRequest);
+        response.addListener(() -> timer.record(RequestStage.RPC, rpcStart), MoreExecutors.directExecutor());
 
         Futures.addCallback(
                 response,
@@ -1472,6 +1946,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
         Function<SearchResults, R<SearchResults>> transformFunc =
                 results -> {
                     if (results.getStatus().getErrorCode() == ErrorCode.Success) {
+                        searchCache().put(cacheKey, results);
                         return R.success(results);
                     } else {
                         return R.failed(R.Status.valueOf(results.getStatus().getErrorCode().getNumber()),
@@ -1479,7 +1954,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     }
                 };
 
-        return Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor());
+        return finishTimerAsync(timer,
+                Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor()));
     }
 
     @Override
@@ -1488,31 +1964,38 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
+        RequestTimer timer = startTimer("query", requestParam.getCollectionName());
         try {
+            long start = timer.now();
             QueryRequest queryRequest = ParamUtils.convertQueryParam(requestParam);
-            QueryResults response = this.blockingStub().query(queryRequest);
+            timer.record(RequestStage.CONVERT, start);
+
+            start = timer.now();
+            QueryResults response = this.blockingStub(timer).query(queryRequest);
+            timer.record(RequestStage.RPC, start);
             if (response.getStatus().getErrorCode() == ErrorCode.Success) {
                 logDebug("QueryRequest successfully!");
-                return R.success(response);
+                return finishTimer(timer, R.success(response));
             } else {
                 // Server side behavior: if a query expression could not filter out any result,
                 // or collection is empty, the server return ErrorCode.EmptyCollection.
                 // Here we give a general message for this case.
                 if (response.getStatus().getErrorCode() == ErrorCode.EmptyCollection) {
                     logError("QueryRequest returns nothing: empty collection or improper expression");
-                    return R.failed(ErrorCode.EmptyCollection, "empty collection or improper expression");
+                    return finishTimer(timer,
+                            R.failed(ErrorCode.EmptyCollection, "empty collection or improper expression"));
                 }
-                return failedStatus("QueryRequest", response.getStatus());
+                return finishTimer(timer, failedStatus("QueryRequest", response.getStatus()));
             }
         } catch (StatusRuntimeException e) {
 //            e.printStackTrace();
             logError("QueryRequest RPC failed:{}", e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
         } catch (Exception e) {
             logError("QueryRequest failed:\n{}", e.getMessage());
-            return R.failed(e);
+            return finishTimer(timer, R.failed(e));
         }
     }
 
@@ -1524,10 +2007,16 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     R.failed(new ClientNotConnectedException("Client rpc channel is not ready")));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
+        RequestTimer timer = startTimer("queryAsync", requestParam.getCollectionName());
+        long convertStart = timer.now();
         QueryRequest queryRequest = ParamUtils.convertQueryParam(requestParam);
-        ListenableFuture<QueryResults> response = this.futureStub().query(queryRequest);
+        timer.record(RequestStage.CONVERT, convertStart);
+
+        long rpcStart = timer.now();
+        ListenableFuture<QueryResults> response = this.futureStub(timer).query(queryRequest);
+        response.addListener(() -> timer.record(RequestStage.RPC, rpcStart), MoreExecutors.directExecutor());
 
         Futures.addCallback(
                 response,
@@ -1560,7 +2049,8 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
                     }
                 };
 
-        return Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor());
+        return finishTimerAsync(timer,
+                Futures.transform(response, transformFunc::apply, MoreExecutors.directExecutor()));
     }
 
     @Override
@@ -1569,7 +2059,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logDebug("{}", RequestSummary.of(requestParam));
 
         try {
             List<List<Float>> vectors_left = requestParam.getVectorsLeft();
@@ -1637,7 +2127,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetMetricsRequest getMetricsRequest = GetMetricsRequest.newBuilder()
@@ -1667,7 +2157,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetFlushStateRequest getFlushStateRequest = GetFlushStateRequest.newBuilder()
@@ -1697,7 +2187,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetPersistentSegmentInfoRequest getSegmentInfoRequest = GetPersistentSegmentInfoRequest.newBuilder()
@@ -1727,7 +2217,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetQuerySegmentInfoRequest getSegmentInfoRequest = GetQuerySegmentInfoRequest.newBuilder()
@@ -1757,7 +2247,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             R<DescribeCollectionResponse> descResp = describeCollection(DescribeCollectionParam.newBuilder()
@@ -1796,7 +2286,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             LoadBalanceRequest loadBalanceRequest = LoadBalanceRequest.newBuilder()
@@ -1828,7 +2318,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetCompactionStateRequest getCompactionStateRequest = GetCompactionStateRequest.newBuilder()
@@ -1858,7 +2348,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             R<DescribeCollectionResponse> descResp = describeCollection(DescribeCollectionParam.newBuilder()
@@ -1896,7 +2386,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             GetCompactionPlansRequest getCompactionPlansRequest = GetCompactionPlansRequest.newBuilder()
@@ -1926,7 +2416,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             CreateCredentialRequest createCredentialRequest = CreateCredentialRequest.newBuilder()
@@ -1959,7 +2449,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             UpdateCredentialRequest updateCredentialRequest = UpdateCredentialRequest.newBuilder()
@@ -1992,7 +2482,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             DeleteCredentialRequest deleteCredentialRequest = DeleteCredentialRequest.newBuilder()
@@ -2021,7 +2511,7 @@ public abstract class AbstractMilvusGrpcClient implements MilvusClient {
             return R.failed(new ClientNotConnectedException("Client rpc channel is not ready"));
         }
 
-        logInfo(requestParam.toString());
+        logInfo("{}", requestParam);
 
         try {
             ListCredUsersRequest listCredUsersRequest = ListCredUsersRequest.newBuilder()
@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.milvus.exception.ClientNotConnectedException;
+import io.milvus.exception.IllegalResponseException;
+import io.milvus.exception.ParamException;
+import io.milvus.grpc.MutationResult;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.R;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.response.MutationResultWrapper;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accumulates single rows into column-based {@link InsertParam} batches and sends them by <code>insertAsync</code>.
+ * Rows are grouped by collection and partition, a batch is sent when it reaches the max row count or the max
+ * size in bytes, or when the linger time since its first row is over.
+ * If the count of batches in flight reaches the limit, the thread which sends the next batch is blocked
+ * until a previous batch is done. Batches sent by the linger time wait in a queue instead, so that the
+ * scheduler thread is never blocked, they are sent when previous batches are done. If the count of waiting
+ * batches reaches the limit of batches in flight, <code>add</code> is blocked until a waiting batch is sent.
+ *
+ * Each row gets a future which is completed with its int64 primary key returned by the server.
+ */
+public class BatchingInserter implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingInserter.class);
+
+    private final MilvusClient client;
+    private final int maxBatchRows;
+    private final long maxBatchBytes;
+    private final long lingerMs;
+    private final int maxInFlightBatches;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Semaphore inFlight;
+    private final Map<BatchKey, Batch> batches = new HashMap<>();
+    // batches sent by the linger time which wait for a permit of inFlight
+    private final Deque<Batch> waitingBatches = new ArrayDeque<>();
+    private boolean closed = false;
+
+    private BatchingInserter(@NonNull Builder builder) {
+        this.client = builder.client;
+        this.maxBatchRows = builder.maxBatchRows;
+        this.maxBatchBytes = builder.maxBatchBytes;
+        this.lingerMs = builder.lingerMs;
+        this.maxInFlightBatches = builder.maxInFlightBatches;
+        this.inFlight = new Semaphore(builder.maxInFlightBatches);
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "milvus-batching-inserter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Adds a row to the default partition of a collection.
+     *
+     * @param collectionName collection name
+     * @param row field name to value, the value types are the same as {@link InsertParam.Field}
+     * @return a future completed with the primary key of the row
+     */
+    public ListenableFuture<Long> add(@NonNull String collectionName, @NonNull Map<String, ?> row) {
+        return add(collectionName, "_default", row);
+    }
+
+    /**
+     * Adds a row to a partition of a collection.
+     * The row may be sent in the calling thread if the batch is full, which may block when too many batches are
+     * in flight. The call also blocks while too many batches sent by the linger time are waiting.
+     *
+     * @param collectionName collection name
+     * @param partitionName partition name
+     * @param row field name to value, the value types are the same as {@link InsertParam.Field}
+     * @return a future completed with the primary key of the row
+     */
+    public ListenableFuture<Long> add(@NonNull String collectionName, @NonNull String partitionName,
+                                      @NonNull Map<String, ?> row) {
+        if (row.isEmpty()) {
+            throw new ParamException("Row cannot be empty");
+        }
+
+        try {
+            awaitWaitingBatches();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Futures.immediateFailedFuture(e);
+        }
+
+        SettableFuture<Long> future = SettableFuture.create();
+        List<Batch> readyBatches = new ArrayList<>(2);
+        synchronized (batches) {
+            if (closed) {
+                throw new ClientNotConnectedException("Batching inserter is closed");
+            }
+
+            BatchKey key = new BatchKey(collectionName, partitionName);
+            Batch batch = batches.get(key);
+            if (batch != null && !batch.columns.keySet().equals(row.keySet())) {
+                // rows with different fields cannot be sent in one request
+                batches.remove(key);
+                batch.lingerTask.cancel(false);
+                readyBatches.add(batch);
+                batch = null;
+            }
+
+            if (batch == null) {
+                Batch created = new Batch(collectionName, partitionName, row.keySet());
+                created.lingerTask = scheduler.schedule(() -> flushBatch(key, created), lingerMs, TimeUnit.MILLISECONDS);
+                batches.put(key, created);
+                batch = created;
+            }
+
+            batch.add(row, future);
+            if (batch.futures.size() >= maxBatchRows || batch.bytes >= maxBatchBytes) {
+                batches.remove(key);
+                batch.lingerTask.cancel(false);
+                readyBatches.add(batch);
+            }
+        }
+
+        readyBatches.forEach(this::send);
+        return future;
+    }
+
+    /**
+     * Sends all the pending batches without waiting for the linger time.
+     */
+    public void flush() {
+        List<Batch> readyBatches;
+        synchronized (batches) {
+            readyBatches = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        readyBatches.forEach(batch -> {
+            batch.lingerTask.cancel(false);
+            send(batch);
+        });
+    }
+
+    /** Sends the pending batches and waits for the batches in flight with timeout of 1 minute */
+    @Override
+    public void close() {
+        try {
+            close(TimeUnit.MINUTES.toSeconds(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted during shutdown batching inserter");
+        }
+    }
+
+    /**
+     * Sends the pending batches and waits for the batches in flight with configurable timeout.
+     * Rows cannot be added after this call.
+     *
+     * @param maxWaitSeconds timeout unit: second
+     */
+    public void close(long maxWaitSeconds) throws InterruptedException {
+        synchronized (batches) {
+            closed = true;
+        }
+
+        flush();
+        Batch waiting;
+        while ((waiting = pollWaitingBatch()) != null) {
+            send(waiting);
+        }
+        try {
+            if (inFlight.tryAcquire(maxInFlightBatches, maxWaitSeconds, TimeUnit.SECONDS)) {
+                inFlight.release(maxInFlightBatches);
+            } else {
+                logger.warn("Batching inserter closed with insert requests in flight");
+            }
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void flushBatch(BatchKey key, Batch batch) {
+        synchronized (batches) {
+            // the batch has been sent because it is full
+            if (batches.get(key) != batch) {
+                return;
+            }
+            batches.remove(key);
+        }
+
+        // runs in the scheduler thread, which must not wait for the batches in flight
+        synchronized (waitingBatches) {
+            waitingBatches.add(batch);
+        }
+        sendWaitingBatches();
+    }
+
+    private void sendWaitingBatches() {
+        while (true) {
+            Batch batch;
+            synchronized (waitingBatches) {
+                if (waitingBatches.isEmpty() || !inFlight.tryAcquire()) {
+                    return;
+                }
+                batch = waitingBatches.poll();
+                waitingBatches.notifyAll();
+            }
+            doSend(batch);
+        }
+    }
+
+    private Batch pollWaitingBatch() {
+        synchronized (waitingBatches) {
+            Batch batch = waitingBatches.poll();
+            waitingBatches.notifyAll();
+            return batch;
+        }
+    }
+
+    // the producers are held back while the server can't keep up, the scheduler only queues the batches which
+    // are pending, at most one for each collection and partition, so the queue stays bounded
+    private void awaitWaitingBatches() throws InterruptedException {
+        synchronized (waitingBatches) {
+            while (waitingBatches.size() >= maxInFlightBatches) {
+                waitingBatches.wait();
+            }
+        }
+    }
+
+    private void send(Batch batch) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.fail(e);
+            return;
+        }
+        doSend(batch);
+    }
+
+    // a permit of inFlight must be acquired before the call
+    private void doSend(Batch batch) {
+        ListenableFuture<R<MutationResult>> response;
+        try {
+            response = client.insertAsync(batch.toInsertParam());
+        } catch (Exception e) {
+            release();
+            batch.fail(e);
+            return;
+        }
+
+        Futures.addCallback(response, new FutureCallback<R<MutationResult>>() {
+            @Override
+            public void onSuccess(R<MutationResult> result) {
+                release();
+                batch.complete(result);
+            }
+
+            @Override
+            public void onFailure(@Nonnull Throwable t) {
+                release();
+                batch.fail(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void release() {
+        // the permit is released before the queue is checked, so that a batch queued meanwhile is not missed
+        inFlight.release();
+        sendWaitingBatches();
+    }
+
+    private static final class BatchKey {
+        private final String collectionName;
+        private final String partitionName;
+
+        BatchKey(String collectionName, String partitionName) {
+            this.collectionName = collectionName;
+            this.partitionName = partitionName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey other = (BatchKey) o;
+            return collectionName.equals(other.collectionName) && partitionName.equals(other.partitionName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(collectionName, partitionName);
+        }
+    }
+
+    private static final class Batch {
+        private final String collectionName;
+        private final String partitionName;
+        private final Map<String, List<Object>> columns = new LinkedHashMap<>();
+        private final List<SettableFuture<Long>> futures = new ArrayList<>();
+        private long bytes = 0;
+        private ScheduledFuture<?> lingerTask;
+
+        Batch(String collectionName, String partitionName, Set<String> fieldNames) {
+            this.collectionName = collectionName;
+            this.partitionName = partitionName;
+            fieldNames.forEach(name -> columns.put(name, new ArrayList<>()));
+        }
+
+        void add(Map<String, ?> row, SettableFuture<Long> future) {
+            for (Map.Entry<String, List<Object>> column : columns.entrySet()) {
+                Object value = row.get(column.getKey());
+                column.getValue().add(value);
+                bytes += ParamUtils.estimateFieldValueSize(value);
+            }
+            futures.add(future);
+        }
+
+        InsertParam toInsertParam() {
+            List<InsertParam.Field> fields = new ArrayList<>(columns.size());
+            columns.forEach((name, values) -> fields.add(new InsertParam.Field(name, values)));
+            return InsertParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withPartitionName(partitionName)
+                    .withFields(fields)
+                    .build();
+        }
+
+        void complete(R<MutationResult> result) {
+            if (result.getStatus() != R.Status.Success.getCode()) {
+                fail(result.getException() != null ? result.getException() :
+                        new IllegalResponseException("Insert failed with status " + result.getStatus()));
+                return;
+            }
+
+            List<Long> ids;
+            try {
+                ids = new MutationResultWrapper(result.getData()).getLongIDs();
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+
+            if (ids.size() != futures.size()) {
+                fail(new IllegalResponseException("Returned ids count " + ids.size()
+                        + " doesn't match row count " + futures.size()));
+                return;
+            }
+            for (int i = 0; i < futures.size(); ++i) {
+                futures.get(i).set(ids.get(i));
+            }
+        }
+
+        void fail(Throwable t) {
+            logger.error("Failed to insert {} rows into collection {}", futures.size(), collectionName, t);
+            futures.forEach(future -> future.setException(t));
+        }
+    }
+
+    /**
+     * Builder for {@link BatchingInserter}
+     */
+    public static class Builder {
+        private MilvusClient client;
+        private int maxBatchRows = 1000;
+        private long maxBatchBytes = 4 * 1024 * 1024;
+        private long lingerMs = 50;
+        private int maxInFlightBatches = 4;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the client to send insert requests.
+         *
+         * @param client {@link MilvusClient}
+         * @return <code>Builder</code>
+         */
+        public Builder withClient(@NonNull MilvusClient client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Sets the max row count of a batch. Default value is 1000.
+         *
+         * @param maxBatchRows max row count
+         * @return <code>Builder</code>
+         */
+        public Builder withMaxBatchRows(int maxBatchRows) {
+            this.maxBatchRows = maxBatchRows;
+            return this;
+        }
+
+        /**
+         * Sets the max estimated size of a batch. Default value is 4 MB.
+         *
+         * @param maxBatchBytes max size in bytes
+         * @return <code>Builder</code>
+         */
+        public Builder withMaxBatchBytes(long maxBatchBytes) {
+            this.maxBatchBytes = maxBatchBytes;
+            return this;
+        }
+
+        /**
+         * Sets the max time a row waits in a batch before the batch is sent. Default value is 50 milliseconds.
+         *
+         * @param linger linger time
+         * @param timeUnit time unit
+         * @return <code>Builder</code>
+         */
+        public Builder withLinger(long linger, @NonNull TimeUnit timeUnit) {
+            this.lingerMs = timeUnit.toMillis(linger);
+            return this;
+        }
+
+        /**
+         * Sets the max count of batches in flight, the sender is blocked when it is reached. Default value is 4.
+         *
+         * @param maxInFlightBatches max count of batches in flight
+         * @return <code>Builder</code>
+         */
+        public Builder withMaxInFlightBatches(int maxInFlightBatches) {
+            this.maxInFlightBatches = maxInFlightBatches;
+            return this;
+        }
+
+        /**
+         * Verifies parameters and creates a new {@link BatchingInserter} instance.
+         *
+         * @return {@link BatchingInserter}
+         */
+        public BatchingInserter build() throws ParamException {
+            if (client == null) {
+                throw new ParamException("Client cannot be null");
+            }
+
+            if (maxBatchRows <= 0) {
+                throw new ParamException("Max batch rows must be positive!");
+            }
+
+            if (maxBatchBytes <= 0) {
+                throw new ParamException("Max batch bytes must be positive!");
+            }
+
+            if (lingerMs < 0) {
+                throw new ParamException("Linger time cannot be negative!");
+            }
+
+            if (maxInFlightBatches <= 0) {
+                throw new ParamException("Max in-flight batches must be positive!");
+            }
+
+            return new BatchingInserter(this);
+        }
+    }
+}
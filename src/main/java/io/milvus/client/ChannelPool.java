@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import io.grpc.*;
+import io.milvus.grpc.MilvusServiceGrpc;
+import io.milvus.param.ChannelSelectPolicy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool of channels to the same server, each channel has its own connection.
+ * A channel is chosen for each request by round-robin or by the fewest calls in flight.
+ */
+final class ChannelPool {
+    private final ManagedChannel[] channels;
+    private final MilvusServiceGrpc.MilvusServiceBlockingStub[] blockingStubs;
+    private final MilvusServiceGrpc.MilvusServiceFutureStub[] futureStubs;
+    private final AtomicInteger[] callsInFlight;
+    private final ChannelSelectPolicy selectPolicy;
+    private final AtomicInteger next = new AtomicInteger(0);
+
+    ChannelPool(int size, Supplier<ManagedChannelBuilder<?>> channelBuilder, ChannelSelectPolicy selectPolicy) {
+        this.channels = new ManagedChannel[size];
+        this.blockingStubs = new MilvusServiceGrpc.MilvusServiceBlockingStub[size];
+        this.futureStubs = new MilvusServiceGrpc.MilvusServiceFutureStub[size];
+        this.callsInFlight = new AtomicInteger[size];
+        this.selectPolicy = selectPolicy;
+
+        for (int i = 0; i < size; ++i) {
+            callsInFlight[i] = new AtomicInteger(0);
+            channels[i] = channelBuilder.get().build();
+            Channel channel = ClientInterceptors.intercept(channels[i], new InFlightInterceptor(callsInFlight[i]));
+            blockingStubs[i] = MilvusServiceGrpc.newBlockingStub(channel);
+            futureStubs[i] = MilvusServiceGrpc.newFutureStub(channel);
+        }
+    }
+
+    MilvusServiceGrpc.MilvusServiceBlockingStub blockingStub() {
+        return blockingStubs[select()];
+    }
+
+    MilvusServiceGrpc.MilvusServiceFutureStub futureStub() {
+        return futureStubs[select()];
+    }
+
+    int size() {
+        return channels.length;
+    }
+
+    int callsInFlight(int index) {
+        return callsInFlight[index].get();
+    }
+
+    boolean isShutdown() {
+        // all the channels are shut down together
+        return channels[0].getState(false) == ConnectivityState.SHUTDOWN;
+    }
+
+    void shutdownNow() {
+        for (ManagedChannel channel : channels) {
+            channel.shutdownNow();
+        }
+    }
+
+    void awaitTermination(long maxWaitSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(maxWaitSeconds);
+        for (ManagedChannel channel : channels) {
+            channel.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int select() {
+        if (channels.length == 1) {
+            return 0;
+        }
+
+        int start = Math.floorMod(next.getAndIncrement(), channels.length);
+        if (selectPolicy == ChannelSelectPolicy.ROUND_ROBIN) {
+            return start;
+        }
+
+        // start from the round-robin position so that idle channels are used in turn
+        int selected = start;
+        int fewest = callsInFlight[start].get();
+        for (int i = 1; i < channels.length && fewest > 0; ++i) {
+            int index = (start + i) % channels.length;
+            int calls = callsInFlight[index].get();
+            if (calls < fewest) {
+                selected = index;
+                fewest = calls;
+            }
+        }
+        return selected;
+    }
+
+    private static final class InFlightInterceptor implements ClientInterceptor {
+        private final AtomicInteger callsInFlight;
+
+        InFlightInterceptor(AtomicInteger callsInFlight) {
+            this.callsInFlight = callsInFlight;
+        }
+
+        @Override
+        public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+                MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+            return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(next.newCall(method, callOptions)) {
+                @Override
+                public void start(Listener<RespT> responseListener, Metadata headers) {
+                    callsInFlight.incrementAndGet();
+                    try {
+                        super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                                responseListener) {
+                            @Override
+                            public void onClose(Status status, Metadata trailers) {
+                                callsInFlight.decrementAndGet();
+                                super.onClose(status, trailers);
+                            }
+                        }, headers);
+                    } catch (RuntimeException e) {
+                        callsInFlight.decrementAndGet();
+                        throw e;
+                    }
+                }
+            };
+        }
+    }
+}
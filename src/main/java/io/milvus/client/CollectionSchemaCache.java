@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.milvus.param.collection.FieldType;
+import lombok.NonNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cache of collection schemas, keyed by collection name or alias.
+ * It is used by <code>insert</code> interfaces to avoid calling <code>describeCollection</code> for each request.
+ * Entries expire after a configurable time and the cache is bounded by a maximum entry count.
+ */
+public class CollectionSchemaCache {
+    private final Cache<String, List<FieldType>> cache;
+    private final boolean enabled;
+
+    /**
+     * Creates a schema cache.
+     *
+     * @param maxSize max count of cached collections, zero means the cache is disabled
+     * @param ttlMs time to live of each entry, unit: millisecond
+     */
+    public CollectionSchemaCache(long maxSize, long ttlMs) {
+        this.enabled = maxSize > 0 && ttlMs > 0;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(Math.max(ttlMs, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Gets the cached field schemas of a collection.
+     *
+     * @param collectionName collection name or alias
+     * @return List of FieldType, null if the schema is not cached
+     */
+    public List<FieldType> get(@NonNull String collectionName) {
+        if (!enabled) {
+            return null;
+        }
+        return cache.getIfPresent(collectionName);
+    }
+
+    /**
+     * Caches the field schemas of a collection.
+     *
+     * @param collectionName collection name or alias
+     * @param fields field schemas returned by <code>describeCollection</code>
+     */
+    public void put(@NonNull String collectionName, @NonNull List<FieldType> fields) {
+        if (enabled) {
+            cache.put(collectionName, Collections.unmodifiableList(fields));
+        }
+    }
+
+    /**
+     * Removes the cached schema of a collection.
+     *
+     * @param collectionName collection name or alias
+     */
+    public void invalidate(String collectionName) {
+        if (collectionName != null) {
+            cache.invalidate(collectionName);
+        }
+    }
+
+    /**
+     * Removes all the cached schemas.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -93,6 +93,15 @@ public interface MilvusClient {
      */
     R<RpcStatus> loadCollection(LoadCollectionParam requestParam);
 
+    /**
+     * Loads a collection to memory asynchronously. In sync load mode, the future completes
+     * when the collection finishes loading, no thread is blocked while waiting.
+     *
+     * @param requestParam {@link LoadCollectionParam}
+     * @return a <code>ListenableFuture</code> object which holds the object {status:result code, data:RpcStatus{msg: result message}}
+     */
+    ListenableFuture<R<RpcStatus>> loadCollectionAsync(LoadCollectionParam requestParam);
+
     /**
      * Releases a collection from memory to reduce memory usage. Note that you 
      * cannot search while the corresponding collection is released from memory.
@@ -135,6 +144,15 @@ public interface MilvusClient {
      */
     R<FlushResponse> flush(FlushParam requestParam);
 
+    /**
+     * Flushes collections asynchronously. In sync flush mode, the future completes
+     * when all the segments are flushed, no thread is blocked while waiting.
+     *
+     * @param requestParam {@link FlushParam}
+     * @return a <code>ListenableFuture</code> object which holds the object {status:result code,data: FlushResponse{flush segment ids}}
+     */
+    ListenableFuture<R<FlushResponse>> flushAsync(FlushParam requestParam);
+
     /**
      * Creates a partition in the specified collection.
      *
@@ -226,6 +244,15 @@ public interface MilvusClient {
      */
     R<RpcStatus> createIndex(CreateIndexParam requestParam);
 
+    /**
+     * Creates an index on a vector field asynchronously. In sync mode, the future completes
+     * when the index is built, no thread is blocked while waiting.
+     *
+     * @param requestParam {@link CreateIndexParam}
+     * @return a <code>ListenableFuture</code> object which holds the object {status:result code, data:RpcStatus{msg: result message}}
+     */
+    ListenableFuture<R<RpcStatus>> createIndexAsync(CreateIndexParam requestParam);
+
     /**
      * Drops the index on a vector field in the specified collection.
      *
@@ -286,6 +313,14 @@ public interface MilvusClient {
      */
     R<MutationResult> delete(DeleteParam requestParam);
 
+    /**
+     * Deletes entity(s) based on primary key(s) filtered by boolean expression asynchronously.
+     *
+     * @param requestParam {@link DeleteParam}
+     * @return a <code>ListenableFuture</code> object which holds the object {status:result code, data: MutationResult{delete results}}
+     */
+    ListenableFuture<R<MutationResult>> deleteAsync(DeleteParam requestParam);
+
 //    /**
 //     * Import data from external files, currently support JSON/Numpy format
 //     *
@@ -346,6 +381,7 @@ public interface MilvusClient {
 
     /**
      * Calculates the distance between the specified vectors.
+     * Small calculations can be done without calling the server by {@link io.milvus.distance.DistanceCalculator}.
      *
      * @param requestParam {@link CalcDistanceParam}
      * @return {status:result code, data: CalcDistanceResults{distances}}
@@ -19,8 +19,13 @@
 
 package io.milvus.client;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 import io.milvus.connection.ClusterFactory;
+import io.milvus.connection.LoadBalancePolicy;
 import io.milvus.connection.ServerSetting;
 import io.milvus.grpc.*;
 import io.milvus.param.*;
@@ -35,14 +40,25 @@ import io.milvus.param.index.*;
 import io.milvus.param.partition.*;
 import lombok.NonNull;
 import org.apache.commons.collections4.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nonnull;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class MilvusMultiServiceClient implements MilvusClient {
+    private static final Logger logger = LoggerFactory.getLogger(MilvusMultiServiceClient.class);
 
     private final ClusterFactory clusterFactory;
+    private final LoadBalancePolicy loadBalancePolicy;
+    private final ReadHedger readHedger;
+    private final WriteQuorum writeQuorum;
 
     /**
      * Sets connect param for multi milvus clusters.
@@ -68,6 +84,11 @@ public class MilvusMultiServiceClient implements MilvusClient {
                 .keepMonitor(keepMonitor)
                 .withQueryNodeSingleSearch(multiConnectParam.getQueryNodeSingleSearch())
                 .build();
+        this.loadBalancePolicy = multiConnectParam.getLoadBalancePolicy();
+        this.readHedger = multiConnectParam.isHedgedReads()
+                ? new ReadHedger(multiConnectParam.getHedgeDelayMs(), multiConnectParam.getHedgePercentile())
+                : null;
+        this.writeQuorum = multiConnectParam.getWriteQuorum();
     }
 
     private MilvusClient buildMilvusClient(ServerAddress host, MultiConnectParam multiConnectParam) {
@@ -78,7 +99,7 @@ public class MilvusMultiServiceClient implements MilvusClient {
         boolean secure = multiConnectParam.isSecure();
         long idleTimeoutMs = multiConnectParam.getIdleTimeoutMs();
 
-        ConnectParam clusterConnectParam = ConnectParam.newBuilder()
+        ConnectParam.Builder clusterConnectParam = ConnectParam.newBuilder()
                 .withHost(host.getHost())
                 .withPort(host.getPort())
                 .withConnectTimeout(connectTimeoutMsm, TimeUnit.MILLISECONDS)
@@ -87,9 +108,20 @@ public class MilvusMultiServiceClient implements MilvusClient {
                 .keepAliveWithoutCalls(keepAliveWithoutCalls)
                 .secure(secure)
                 .withIdleTimeout(idleTimeoutMs, TimeUnit.MILLISECONDS)
-                .withAuthorization(multiConnectParam.getAuthorization())
-                .build();
-        return new MilvusServiceClient(clusterConnectParam);
+                .withAuthorization(multiConnectParam.getAuthorization());
+        if (null != multiConnectParam.getTransport()) {
+            clusterConnectParam.withTransport(multiConnectParam.getTransport());
+        }
+        if (null != multiConnectParam.getMetricsRecorder()) {
+            clusterConnectParam.withMetricsRecorder(multiConnectParam.getMetricsRecorder());
+        }
+        if (null != multiConnectParam.getRequestTimingListener()) {
+            clusterConnectParam.withRequestTimingListener(multiConnectParam.getRequestTimingListener());
+        }
+        if (multiConnectParam.getPayloadLogSampleRate() > 0) {
+            clusterConnectParam.withPayloadLogSampleRate(multiConnectParam.getPayloadLogSampleRate());
+        }
+        return new MilvusServiceClient(clusterConnectParam.build());
     }
 
 
@@ -103,6 +135,9 @@ public class MilvusMultiServiceClient implements MilvusClient {
         this.clusterFactory.getAvailableServerSettings().parallelStream()
                 .forEach(serverSetting -> serverSetting.getClient().close());
         this.clusterFactory.close();
+        if (null != readHedger) {
+            readHedger.close();
+        }
     }
 
     @Override
@@ -128,10 +163,12 @@ public class MilvusMultiServiceClient implements MilvusClient {
 
     @Override
     public R<RpcStatus> loadCollection(LoadCollectionParam requestParam) {
-        List<R<RpcStatus>> response = this.clusterFactory.getAvailableServerSettings().parallelStream()
-                .map(serverSetting -> serverSetting.getClient().loadCollection(requestParam))
-                .collect(Collectors.toList());
-        return handleResponse(response);
+        return awaitResponse(loadCollectionAsync(requestParam));
+    }
+
+    @Override
+    public ListenableFuture<R<RpcStatus>> loadCollectionAsync(LoadCollectionParam requestParam) {
+        return fanOut(client -> client.loadCollectionAsync(requestParam));
     }
 
     @Override
@@ -159,10 +196,12 @@ public class MilvusMultiServiceClient implements MilvusClient {
 
     @Override
     public R<FlushResponse> flush(FlushParam requestParam) {
-        List<R<FlushResponse>> response = this.clusterFactory.getAvailableServerSettings().parallelStream()
-                .map(serverSetting -> serverSetting.getClient().flush(requestParam))
-                .collect(Collectors.toList());
-        return handleResponse(response);
+        return awaitResponse(flushAsync(requestParam));
+    }
+
+    @Override
+    public ListenableFuture<R<FlushResponse>> flushAsync(FlushParam requestParam) {
+        return fanOut(client -> client.flushAsync(requestParam));
     }
 
     @Override
@@ -238,10 +277,12 @@ public class MilvusMultiServiceClient implements MilvusClient {
 
     @Override
     public R<RpcStatus> createIndex(CreateIndexParam requestParam) {
-        List<R<RpcStatus>> response = this.clusterFactory.getAvailableServerSettings().parallelStream()
-                .map(serverSetting -> serverSetting.getClient().createIndex(requestParam))
-                .collect(Collectors.toList());
-        return handleResponse(response);
+        return awaitResponse(createIndexAsync(requestParam));
+    }
+
+    @Override
+    public ListenableFuture<R<RpcStatus>> createIndexAsync(CreateIndexParam requestParam) {
+        return fanOut(client -> client.createIndexAsync(requestParam));
     }
 
     @Override
@@ -269,26 +310,24 @@ public class MilvusMultiServiceClient implements MilvusClient {
 
     @Override
     public R<MutationResult> insert(InsertParam requestParam) {
-        List<R<MutationResult>> response = this.clusterFactory.getAvailableServerSettings().parallelStream()
-                .map(serverSetting -> serverSetting.getClient().insert(requestParam))
-                .collect(Collectors.toList());
-        return handleResponse(response);
+        // writes are sent by the async stubs, a slow cluster holds no thread after the quorum is reached,
+        // note that the request is not split into chunks
+        return awaitResponse(fanOutWrite(client -> client.insertAsync(requestParam)));
     }
 
     @Override
     public ListenableFuture<R<MutationResult>> insertAsync(InsertParam requestParam) {
-        List<ListenableFuture<R<MutationResult>>> response = this.clusterFactory.getAvailableServerSettings().parallelStream()
-                .map(serverSetting -> serverSetting.getClient().insertAsync(requestParam))
-                .collect(Collectors.toList());
-        return response.get(0);
+        return fanOutWrite(client -> client.insertAsync(requestParam));
     }
 
     @Override
     public R<MutationResult> delete(DeleteParam requestParam) {
-        List<R<MutationResult>> response = this.clusterFactory.getAvailableServerSettings().stream()
-                .map(serverSetting -> serverSetting.getClient().delete(requestParam))
-                .collect(Collectors.toList());
-        return handleResponse(response);
+        return awaitResponse(deleteAsync(requestParam));
+    }
+
+    @Override
+    public ListenableFuture<R<MutationResult>> deleteAsync(DeleteParam requestParam) {
+        return fanOutWrite(client -> client.deleteAsync(requestParam));
     }
 
 //    @Override
@@ -311,22 +350,34 @@ public class MilvusMultiServiceClient implements MilvusClient {
 
     @Override
     public R<SearchResults> search(SearchParam requestParam) {
-        return this.clusterFactory.getMaster().getClient().search(requestParam);
+        if (null != readHedger) {
+            return awaitResponse(hedgedRead(client -> client.searchAsync(requestParam)));
+        }
+        return routeRead(client -> client.search(requestParam));
     }
 
     @Override
     public ListenableFuture<R<SearchResults>> searchAsync(SearchParam requestParam) {
-        return this.clusterFactory.getMaster().getClient().searchAsync(requestParam);
+        if (null != readHedger) {
+            return hedgedRead(client -> client.searchAsync(requestParam));
+        }
+        return routeReadAsync(client -> client.searchAsync(requestParam));
     }
 
     @Override
     public R<QueryResults> query(QueryParam requestParam) {
-        return this.clusterFactory.getMaster().getClient().query(requestParam);
+        if (null != readHedger) {
+            return awaitResponse(hedgedRead(client -> client.queryAsync(requestParam)));
+        }
+        return routeRead(client -> client.query(requestParam));
     }
 
     @Override
     public ListenableFuture<R<QueryResults>> queryAsync(QueryParam requestParam) {
-        return this.clusterFactory.getMaster().getClient().queryAsync(requestParam);
+        if (null != readHedger) {
+            return hedgedRead(client -> client.queryAsync(requestParam));
+        }
+        return routeReadAsync(client -> client.queryAsync(requestParam));
     }
 
     @Override
@@ -402,6 +453,163 @@ public class MilvusMultiServiceClient implements MilvusClient {
         return this.clusterFactory.getMaster().getClient().listCredUsers(requestParam);
     }
 
+    private ServerSetting selectReadServer() {
+        List<ServerSetting> servers = this.clusterFactory.getAvailableServerSettings();
+        if (null == loadBalancePolicy || CollectionUtils.isEmpty(servers)) {
+            return this.clusterFactory.getMaster();
+        }
+        return loadBalancePolicy.select(servers);
+    }
+
+    private <T> R<T> routeRead(Function<MilvusClient, R<T>> call) {
+        ServerSetting server = selectReadServer();
+        if (null == loadBalancePolicy) {
+            return call.apply(server.getClient());
+        }
+
+        loadBalancePolicy.onRequestStart(server);
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            R<T> response = call.apply(server.getClient());
+            success = R.Status.Success.getCode() == response.getStatus();
+            return response;
+        } finally {
+            loadBalancePolicy.onRequestComplete(server, System.nanoTime() - startTime, success);
+        }
+    }
+
+    private <T> ListenableFuture<R<T>> routeReadAsync(Function<MilvusClient, ListenableFuture<R<T>>> call) {
+        return sendRead(selectReadServer(), call);
+    }
+
+    private <T> ListenableFuture<R<T>> sendRead(ServerSetting server,
+                                                Function<MilvusClient, ListenableFuture<R<T>>> call) {
+        if (null == loadBalancePolicy) {
+            return call.apply(server.getClient());
+        }
+
+        loadBalancePolicy.onRequestStart(server);
+        long startTime = System.nanoTime();
+        ListenableFuture<R<T>> response;
+        try {
+            response = call.apply(server.getClient());
+        } catch (RuntimeException e) {
+            loadBalancePolicy.onRequestComplete(server, System.nanoTime() - startTime, false);
+            throw e;
+        }
+
+        Futures.addCallback(response, new FutureCallback<R<T>>() {
+            @Override
+            public void onSuccess(R<T> result) {
+                boolean success = null != result && R.Status.Success.getCode() == result.getStatus();
+                loadBalancePolicy.onRequestComplete(server, System.nanoTime() - startTime, success);
+            }
+
+            @Override
+            public void onFailure(@Nonnull Throwable t) {
+                // a hedged request cancelled by the winner is slow, not broken, its latency is unknown
+                if (t instanceof CancellationException) {
+                    loadBalancePolicy.onRequestCancelled(server, System.nanoTime() - startTime);
+                } else {
+                    loadBalancePolicy.onRequestComplete(server, System.nanoTime() - startTime, false);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+        return response;
+    }
+
+    private <T> ListenableFuture<R<T>> hedgedRead(Function<MilvusClient, ListenableFuture<R<T>>> call) {
+        ServerSetting primary = selectReadServer();
+        return readHedger.execute(() -> sendRead(primary, call), () -> {
+            ServerSetting secondary = selectHedgeServer(primary);
+            return null == secondary ? null : sendRead(secondary, call);
+        });
+    }
+
+    private ServerSetting selectHedgeServer(ServerSetting primary) {
+        List<ServerSetting> others = this.clusterFactory.getAvailableServerSettings().stream()
+                .filter(serverSetting -> !serverSetting.getServerAddress().equals(primary.getServerAddress()))
+                .collect(Collectors.toList());
+        if (others.isEmpty()) {
+            return null;
+        }
+        return null == loadBalancePolicy ? others.get(0) : loadBalancePolicy.select(others);
+    }
+
+    private <T> ListenableFuture<R<T>> fanOut(Function<MilvusClient, ListenableFuture<R<T>>> call) {
+        List<ListenableFuture<R<T>>> response = this.clusterFactory.getAvailableServerSettings().stream()
+                .map(serverSetting -> call.apply(serverSetting.getClient()))
+                .collect(Collectors.toList());
+        return Futures.transform(Futures.allAsList(response), this::handleResponse, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Sends a write request to all the available clusters, the returned future completes once the write quorum
+     * is reached, or with the first failure once the quorum can't be reached any more.
+     */
+    private <T> ListenableFuture<R<T>> fanOutWrite(Function<MilvusClient, ListenableFuture<R<T>>> call) {
+        List<ServerSetting> servers = this.clusterFactory.getAvailableServerSettings();
+        if (CollectionUtils.isEmpty(servers)) {
+            return Futures.immediateFuture(R.failed(R.Status.Unknown, "Response is empty."));
+        }
+
+        int required = writeQuorum.requiredCount(servers.size());
+        int tolerated = servers.size() - required;
+        SettableFuture<R<T>> result = SettableFuture.create();
+        AtomicInteger successCount = new AtomicInteger(0);
+        AtomicInteger failureCount = new AtomicInteger(0);
+
+        for (ServerSetting server : servers) {
+            ListenableFuture<R<T>> response;
+            try {
+                response = call.apply(server.getClient());
+            } catch (RuntimeException e) {
+                response = Futures.immediateFailedFuture(e);
+            }
+
+            Futures.addCallback(response, new FutureCallback<R<T>>() {
+                @Override
+                public void onSuccess(R<T> r) {
+                    if (null == r) {
+                        onFailed(R.failed(R.Status.Unknown, "Response is empty."));
+                    } else if (R.Status.Success.getCode() != r.getStatus()) {
+                        onFailed(r);
+                    } else if (successCount.incrementAndGet() == required) {
+                        result.set(r);
+                    }
+                }
+
+                @Override
+                public void onFailure(@Nonnull Throwable t) {
+                    onFailed(R.failed(t instanceof Exception ? (Exception) t : new RuntimeException(t)));
+                }
+
+                private void onFailed(R<T> r) {
+                    if (failureCount.incrementAndGet() == tolerated + 1) {
+                        result.set(r);
+                    } else if (result.isDone()) {
+                        logger.warn("Write request to {} failed after the quorum is reached: {}",
+                                server.getServerAddress(), r.getMessage());
+                    }
+                }
+            }, MoreExecutors.directExecutor());
+        }
+        return result;
+    }
+
+    private static <T> R<T> awaitResponse(ListenableFuture<R<T>> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return R.failed(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            return R.failed(cause instanceof Exception ? (Exception) cause : e);
+        }
+    }
+
     private <T> R<T> handleResponse(List<R<T>> response) {
         if (CollectionUtils.isNotEmpty(response)) {
             R<T> rSuccess = null;
@@ -22,59 +22,139 @@ package io.milvus.client;
 import io.grpc.*;
 import io.grpc.stub.MetadataUtils;
 import io.milvus.grpc.MilvusServiceGrpc;
+import io.milvus.metrics.MetricsInterceptor;
+import io.milvus.metrics.RequestTimingInterceptor;
+import io.milvus.metrics.RequestTimingListener;
 import io.milvus.param.ConnectParam;
+import io.milvus.param.SharedTransport;
 
 import lombok.NonNull;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class MilvusServiceClient extends AbstractMilvusGrpcClient {
 
-    private final ManagedChannel channel;
-    private final MilvusServiceGrpc.MilvusServiceBlockingStub blockingStub;
-    private final MilvusServiceGrpc.MilvusServiceFutureStub futureStub;
+    private final ChannelPool channelPool;
+    private final CollectionSchemaCache schemaCache;
+    private final Executor asyncExecutor;
+    private final long insertChunkBytes;
+    private final int maxInsertChunksInFlight;
+    private final StateWaiter stateWaiter;
+    private final RequestTimingListener requestTimingListener;
+    private final SearchResultCache searchCache;
 
     public MilvusServiceClient(@NonNull ConnectParam connectParam) {
+        this(connectParam, () -> newChannelBuilder(connectParam));
+    }
+
+    /**
+     * Creates a client on channels from the given builder, e.g. in-process channels for tests and benchmarks.
+     * The connection options of <code>connectParam</code> are applied to the builder.
+     */
+    MilvusServiceClient(@NonNull ConnectParam connectParam, @NonNull Supplier<ManagedChannelBuilder<?>> channelBuilder) {
         Metadata metadata = new Metadata();
         metadata.put(Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER), connectParam.getAuthorization());
 
-        ManagedChannelBuilder builder = ManagedChannelBuilder.forAddress(connectParam.getHost(), connectParam.getPort())
-                .usePlaintext()
-                .maxInboundMessageSize(Integer.MAX_VALUE)
-                .keepAliveTime(connectParam.getKeepAliveTimeMs(), TimeUnit.MILLISECONDS)
-                .keepAliveTimeout(connectParam.getKeepAliveTimeoutMs(), TimeUnit.MILLISECONDS)
-                .keepAliveWithoutCalls(connectParam.isKeepAliveWithoutCalls())
-                .idleTimeout(connectParam.getIdleTimeoutMs(), TimeUnit.MILLISECONDS)
-                .intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
-
-        if(connectParam.isSecure()){
-            builder.useTransportSecurity();
+        // each channel of the pool has its own connection
+        channelPool = new ChannelPool(connectParam.getChannelPoolSize(), () -> {
+            ManagedChannelBuilder<?> builder = channelBuilder.get()
+                    .usePlaintext()
+                    .maxInboundMessageSize(Integer.MAX_VALUE)
+                    .keepAliveTime(connectParam.getKeepAliveTimeMs(), TimeUnit.MILLISECONDS)
+                    .keepAliveTimeout(connectParam.getKeepAliveTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .keepAliveWithoutCalls(connectParam.isKeepAliveWithoutCalls())
+                    .idleTimeout(connectParam.getIdleTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .intercept(MetadataUtils.newAttachHeadersInterceptor(metadata));
+
+            if(connectParam.isSecure()){
+                builder.useTransportSecurity();
+            }
+            if (null != connectParam.getMetricsRecorder()) {
+                builder.intercept(new MetricsInterceptor(connectParam.getMetricsRecorder()));
+            }
+            if (null != connectParam.getRequestTimingListener()) {
+                builder.intercept(new RequestTimingInterceptor());
+            }
+            if (connectParam.getPayloadLogSampleRate() > 0) {
+                builder.intercept(new PayloadLogInterceptor(connectParam.getPayloadLogSampleRate()));
+            }
+            return builder;
+        }, connectParam.getChannelSelectPolicy());
+
+        schemaCache = new CollectionSchemaCache(connectParam.getSchemaCacheSize(), connectParam.getSchemaCacheTtlMs());
+        asyncExecutor = connectParam.getAsyncExecutor();
+        insertChunkBytes = connectParam.getInsertChunkBytes();
+        maxInsertChunksInFlight = connectParam.getMaxInsertChunksInFlight();
+        stateWaiter = new StateWaiter(channelPool::futureStub);
+        requestTimingListener = connectParam.getRequestTimingListener();
+        searchCache = new SearchResultCache(connectParam.getSearchCacheSize(), connectParam.getSearchCacheTtlMs());
+    }
+
+    private static ManagedChannelBuilder<?> newChannelBuilder(ConnectParam connectParam) {
+        SharedTransport transport = connectParam.getTransport();
+        if (null == transport) {
+            return ManagedChannelBuilder.forAddress(connectParam.getHost(), connectParam.getPort());
         }
-        channel = builder.build();
 
-        blockingStub = MilvusServiceGrpc.newBlockingStub(channel);
-        futureStub = MilvusServiceGrpc.newFutureStub(channel);
+        return transport.newChannelBuilder(connectParam.getHost(), connectParam.getPort());
     }
 
     @Override
     protected MilvusServiceGrpc.MilvusServiceBlockingStub blockingStub() {
-        return this.blockingStub;
+        return this.channelPool.blockingStub();
     }
 
     @Override
     protected MilvusServiceGrpc.MilvusServiceFutureStub futureStub() {
-        return this.futureStub;
+        return this.channelPool.futureStub();
+    }
+
+    @Override
+    protected CollectionSchemaCache schemaCache() {
+        return this.schemaCache;
+    }
+
+    @Override
+    protected Executor asyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    @Override
+    protected long insertChunkBytes() {
+        return this.insertChunkBytes;
+    }
+
+    @Override
+    protected int maxInsertChunksInFlight() {
+        return this.maxInsertChunksInFlight;
+    }
+
+    @Override
+    protected StateWaiter stateWaiter() {
+        return this.stateWaiter;
+    }
+
+    @Override
+    protected RequestTimingListener requestTimingListener() {
+        return this.requestTimingListener;
+    }
+
+    @Override
+    protected SearchResultCache searchCache() {
+        return this.searchCache;
     }
 
     @Override
     protected boolean clientIsReady() {
-        ConnectivityState state = channel.getState(false);
-        return state != ConnectivityState.SHUTDOWN;
+        return !channelPool.isShutdown();
     }
 
     @Override
     public void close(long maxWaitSeconds) throws InterruptedException {
-        channel.shutdownNow();
-        channel.awaitTermination(maxWaitSeconds, TimeUnit.SECONDS);
+        stateWaiter.close();
+        channelPool.shutdownNow();
+        channelPool.awaitTermination(maxWaitSeconds);
     }
 
     private static class TimeoutInterceptor implements ClientInterceptor {
@@ -95,10 +175,6 @@ public class MilvusServiceClient extends AbstractMilvusGrpcClient {
     public MilvusClient withTimeout(long timeout, TimeUnit timeoutUnit) {
         final long timeoutMillis = timeoutUnit.toMillis(timeout);
         final TimeoutInterceptor timeoutInterceptor = new TimeoutInterceptor(timeoutMillis);
-        final MilvusServiceGrpc.MilvusServiceBlockingStub blockingStubTimeout =
-                this.blockingStub.withInterceptors(timeoutInterceptor);
-        final MilvusServiceGrpc.MilvusServiceFutureStub futureStubTimeout =
-                this.futureStub.withInterceptors(timeoutInterceptor);
 
         return new AbstractMilvusGrpcClient() {
             @Override
@@ -108,12 +184,47 @@ public class MilvusServiceClient extends AbstractMilvusGrpcClient {
 
             @Override
             protected MilvusServiceGrpc.MilvusServiceBlockingStub blockingStub() {
-                return blockingStubTimeout;
+                return MilvusServiceClient.this.blockingStub().withInterceptors(timeoutInterceptor);
             }
 
             @Override
             protected MilvusServiceGrpc.MilvusServiceFutureStub futureStub() {
-                return futureStubTimeout;
+                return MilvusServiceClient.this.futureStub().withInterceptors(timeoutInterceptor);
+            }
+
+            @Override
+            protected CollectionSchemaCache schemaCache() {
+                return MilvusServiceClient.this.schemaCache();
+            }
+
+            @Override
+            protected Executor asyncExecutor() {
+                return MilvusServiceClient.this.asyncExecutor();
+            }
+
+            @Override
+            protected long insertChunkBytes() {
+                return MilvusServiceClient.this.insertChunkBytes();
+            }
+
+            @Override
+            protected int maxInsertChunksInFlight() {
+                return MilvusServiceClient.this.maxInsertChunksInFlight();
+            }
+
+            @Override
+            protected StateWaiter stateWaiter() {
+                return MilvusServiceClient.this.stateWaiter();
+            }
+
+            @Override
+            protected RequestTimingListener requestTimingListener() {
+                return MilvusServiceClient.this.requestTimingListener();
+            }
+
+            @Override
+            protected SearchResultCache searchCache() {
+                return MilvusServiceClient.this.searchCache();
             }
 
             @Override
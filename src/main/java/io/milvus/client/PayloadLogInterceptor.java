@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.protobuf.MessageOrBuilder;
+import com.google.protobuf.TextFormat;
+import io.grpc.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs the full payload of sampled requests at DEBUG level. Nothing is sampled or formatted
+ * if DEBUG is disabled for this class.
+ */
+final class PayloadLogInterceptor implements ClientInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadLogInterceptor.class);
+
+    private final double sampleRate;
+
+    PayloadLogInterceptor(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        ClientCall<ReqT, RespT> call = next.newCall(method, callOptions);
+        if (!logger.isDebugEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return call;
+        }
+
+        return new ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT>(call) {
+            @Override
+            public void sendMessage(ReqT message) {
+                if (message instanceof MessageOrBuilder) {
+                    logger.debug("{} payload: {}", method.getFullMethodName(),
+                            TextFormat.shortDebugString((MessageOrBuilder) message));
+                }
+                super.sendMessage(message);
+            }
+        };
+    }
+}
@@ -0,0 +1,450 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import io.milvus.common.clientenum.ConsistencyLevelEnum;
+import io.milvus.exception.IllegalResponseException;
+import io.milvus.exception.ParamException;
+import io.milvus.grpc.DataType;
+import io.milvus.grpc.DescribeCollectionResponse;
+import io.milvus.grpc.QueryResults;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.R;
+import io.milvus.param.collection.DescribeCollectionParam;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.dml.QueryParam;
+import io.milvus.response.DescCollResponseWrapper;
+import io.milvus.response.QueryResultsWrapper;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Iterates the results of a query batch by batch, so that a result set larger than one message can be read
+ * with bounded memory. The query interface has no limit or offset, so the results are paged by ranges of
+ * the int64 primary key:
+ * <ul>
+ *     <li>the primary keys matching the expression are scanned window by window, the window width adapts
+ *     so that each scan returns about ten batches of keys</li>
+ *     <li>each batch queries the output fields of the next <code>batchSize</code> keys by a closed key range</li>
+ * </ul>
+ * The key range must be given. A window is never wider than 1/1024 of the range (or ten batches of keys for
+ * a small range), so that one scan doesn't return all the keys of a collection. If a scan still returns far
+ * more keys than the target, only the lowest keys are kept and the rest of the window is scanned again by
+ * narrower windows. At most the keys of one scan window and two batches are held in memory.
+ * If prefetch is enabled, the next batch is queried in the background while the current one is consumed.
+ *
+ * Rows inserted or deleted during the iteration may be missed or returned, as there is no snapshot.
+ */
+public class QueryIterator implements Iterator<QueryResultsWrapper>, AutoCloseable {
+    private static final int SCAN_BATCHES = 10;
+    private static final double MAX_WIDTH_SCALE = 8.0;
+    // a scan returning more than this many times the target keys is split
+    private static final int SPLIT_FACTOR = 4;
+    private static final long MIN_RANGE_PARTS = 1024;
+
+    private final MilvusClient client;
+    private final String collectionName;
+    private final List<String> partitionNames;
+    private final List<String> outFields;
+    private final String expr;
+    private final ConsistencyLevelEnum consistencyLevel;
+    private final int batchSize;
+    private final long maxPrimaryKey;
+    private final long maxScanWidth;
+    private final String primaryKeyName;
+    private final ExecutorService prefetcher;
+
+    // scan state, only accessed by one thread at a time
+    private long scanLower;
+    private long scanWidth;
+    private boolean scanDone = false;
+    private long[] scanKeys = new long[0];
+    private int scanPos = 0;
+
+    private QueryResultsWrapper nextBatch;
+    private Future<QueryResultsWrapper> pending;
+    private boolean finished = false;
+
+    private QueryIterator(@NonNull Builder builder, @NonNull String primaryKeyName) {
+        this.client = builder.client;
+        this.collectionName = builder.collectionName;
+        this.partitionNames = builder.partitionNames;
+        this.outFields = builder.outFields;
+        this.expr = builder.expr;
+        this.consistencyLevel = builder.consistencyLevel;
+        this.batchSize = builder.batchSize;
+        this.maxPrimaryKey = builder.maxPrimaryKey;
+        this.primaryKeyName = primaryKeyName;
+
+        this.scanLower = builder.minPrimaryKey;
+        long target = (long) batchSize * SCAN_BATCHES;
+        // without knowledge of the key distribution, start with the widest window
+        this.maxScanWidth = Math.max(target, distance(builder.minPrimaryKey, builder.maxPrimaryKey) / MIN_RANGE_PARTS);
+        this.scanWidth = maxScanWidth;
+
+        if (builder.prefetch) {
+            this.prefetcher = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "milvus-query-iterator");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.prefetcher = null;
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns true if there is another batch, the batch is queried if it is not prefetched.
+     * Throws {@link IllegalResponseException} if a query fails.
+     *
+     * @return <code>boolean</code>
+     */
+    @Override
+    public boolean hasNext() {
+        if (nextBatch == null && !finished) {
+            if (pending != null) {
+                Future<QueryResultsWrapper> future = pending;
+                pending = null;
+                nextBatch = await(future);
+            } else {
+                nextBatch = loadBatch();
+            }
+            finished = (nextBatch == null);
+            if (finished && prefetcher != null) {
+                // an iterator read to the end is usually not closed, release the prefetch thread
+                prefetcher.shutdown();
+            }
+        }
+        return nextBatch != null;
+    }
+
+    /**
+     * Returns the next batch of rows, and starts to prefetch the batch after it if prefetch is enabled.
+     * Throws {@link IllegalResponseException} if a query fails.
+     *
+     * @return {@link QueryResultsWrapper} output fields of at most <code>batchSize</code> rows
+     */
+    @Override
+    public QueryResultsWrapper next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        QueryResultsWrapper batch = nextBatch;
+        nextBatch = null;
+        if (prefetcher != null && !prefetcher.isShutdown()) {
+            pending = prefetcher.submit(this::loadBatch);
+        }
+        return batch;
+    }
+
+    /**
+     * Stops the iteration and the background prefetch.
+     */
+    @Override
+    public void close() {
+        finished = true;
+        nextBatch = null;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+        if (prefetcher != null) {
+            prefetcher.shutdownNow();
+        }
+    }
+
+    private static QueryResultsWrapper await(Future<QueryResultsWrapper> future) {
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalResponseException("Prefetch query failed: " + e.getCause());
+        }
+    }
+
+    private QueryResultsWrapper loadBatch() {
+        while (true) {
+            while (scanPos >= scanKeys.length && !scanDone) {
+                scanNextWindow();
+            }
+            if (scanPos >= scanKeys.length) {
+                return null;
+            }
+
+            int end = Math.min(scanPos + batchSize, scanKeys.length);
+            long first = scanKeys[scanPos];
+            long last = scanKeys[end - 1];
+            scanPos = end;
+
+            String rangeExpr = String.format("%s >= %d and %s <= %d", primaryKeyName, first, primaryKeyName, last);
+            QueryResults results = query(rangeExpr, outFields);
+            // the rows of this range may be deleted after the scan
+            if (results != null) {
+                return new QueryResultsWrapper(results);
+            }
+        }
+    }
+
+    private void scanNextWindow() {
+        boolean lastWindow = distance(scanLower, maxPrimaryKey) < scanWidth;
+        long upper = lastWindow ? maxPrimaryKey : scanLower + scanWidth;
+        String rangeExpr = String.format("%s >= %d and %s %s %d", primaryKeyName, scanLower, primaryKeyName,
+                lastWindow ? "<=" : "<", upper);
+
+        QueryResults results = query(rangeExpr, Collections.singletonList(primaryKeyName));
+        long[] keys = (results == null) ? new long[0]
+                : new QueryResultsWrapper(results).getFieldWrapper(primaryKeyName).getLongData();
+        Arrays.sort(keys);
+        scanPos = 0;
+
+        long target = (long) batchSize * SCAN_BATCHES;
+        if (keys.length > target * SPLIT_FACTOR) {
+            // keep the lowest keys, the rest of the window is scanned again by narrower windows
+            scanKeys = Arrays.copyOf(keys, (int) target);
+            scanLower = scanKeys[scanKeys.length - 1] + 1;
+            scanWidth = Math.max(1L, (long) (scanWidth * ((double) target / keys.length)));
+            return;
+        }
+        scanKeys = keys;
+
+        // resize the window towards the target key count, an empty window is widened by the max scale
+        double scale = keys.length == 0 ? MAX_WIDTH_SCALE : (double) target / keys.length;
+        scale = Math.max(1 / MAX_WIDTH_SCALE, Math.min(MAX_WIDTH_SCALE, scale));
+        scanWidth = Math.min(maxScanWidth, Math.max(1L, (long) (scanWidth * scale)));
+
+        if (lastWindow) {
+            scanDone = true;
+        } else {
+            scanLower = upper;
+        }
+    }
+
+    private QueryResults query(String rangeExpr, List<String> fields) {
+        String fullExpr = expr.isEmpty() ? rangeExpr : String.format("(%s) and %s", expr, rangeExpr);
+        QueryParam queryParam = QueryParam.newBuilder()
+                .withCollectionName(collectionName)
+                .withPartitionNames(partitionNames)
+                .withOutFields(fields)
+                .withExpr(fullExpr)
+                .withConsistencyLevel(consistencyLevel)
+                .build();
+
+        R<QueryResults> response = client.query(queryParam);
+        if (response.getStatus() == R.Status.EmptyCollection.getCode()) {
+            // the server returns this code when no entity matches the expression
+            return null;
+        }
+        if (response.getStatus() != R.Status.Success.getCode()) {
+            throw new IllegalResponseException("Query failed: " + response.getMessage());
+        }
+        return response.getData();
+    }
+
+    private static long distance(long from, long to) {
+        long d = to - from;
+        // saturates if the difference overflows
+        return d < 0 ? Long.MAX_VALUE : d;
+    }
+
+    /**
+     * Builder for {@link QueryIterator}
+     */
+    public static class Builder {
+        private MilvusClient client;
+        private String collectionName;
+        private final List<String> partitionNames = new ArrayList<>();
+        private final List<String> outFields = new ArrayList<>();
+        private String expr = "";
+        private ConsistencyLevelEnum consistencyLevel;
+        private int batchSize = 1000;
+        private Long minPrimaryKey;
+        private Long maxPrimaryKey;
+        private boolean prefetch = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the client to send query requests.
+         *
+         * @param client {@link MilvusClient}
+         * @return <code>Builder</code>
+         */
+        public Builder withClient(@NonNull MilvusClient client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Sets the collection name. Collection name cannot be empty or null.
+         *
+         * @param collectionName collection name
+         * @return <code>Builder</code>
+         */
+        public Builder withCollectionName(@NonNull String collectionName) {
+            this.collectionName = collectionName;
+            return this;
+        }
+
+        /**
+         * Sets partition names list to specify query scope (Optional).
+         *
+         * @param partitionNames partition names list
+         * @return <code>Builder</code>
+         */
+        public Builder withPartitionNames(@NonNull List<String> partitionNames) {
+            this.partitionNames.clear();
+            this.partitionNames.addAll(partitionNames);
+            return this;
+        }
+
+        /**
+         * Specifies output fields of each batch (Optional).
+         *
+         * @param outFields output fields
+         * @return <code>Builder</code>
+         */
+        public Builder withOutFields(@NonNull List<String> outFields) {
+            this.outFields.clear();
+            this.outFields.addAll(outFields);
+            return this;
+        }
+
+        /**
+         * Sets the expression to filter entities (Optional), all the entities are returned if it is empty.
+         * Note that the expression should not filter by primary key range, which is added by the iterator.
+         *
+         * @param expr filtering expression
+         * @return <code>Builder</code>
+         */
+        public Builder withExpr(@NonNull String expr) {
+            this.expr = expr;
+            return this;
+        }
+
+        /**
+         * Sets the consistency level of the queries (Optional).
+         *
+         * @param consistencyLevel consistency level
+         * @return <code>Builder</code>
+         */
+        public Builder withConsistencyLevel(ConsistencyLevelEnum consistencyLevel) {
+            this.consistencyLevel = consistencyLevel;
+            return this;
+        }
+
+        /**
+         * Sets the max row count of a batch. Default value is 1000.
+         *
+         * @param batchSize max row count
+         * @return <code>Builder</code>
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the range of the primary keys to iterate, both bounds are inclusive. The range should be close to
+         * the real keys of the collection, the scan windows are sized from it.
+         *
+         * @param minPrimaryKey the lowest primary key
+         * @param maxPrimaryKey the highest primary key
+         * @return <code>Builder</code>
+         */
+        public Builder withPrimaryKeyRange(long minPrimaryKey, long maxPrimaryKey) {
+            this.minPrimaryKey = minPrimaryKey;
+            this.maxPrimaryKey = maxPrimaryKey;
+            return this;
+        }
+
+        /**
+         * Queries the next batch in a background thread while the current batch is consumed. Default is false.
+         *
+         * @param prefetch true to prefetch the next batch
+         * @return <code>Builder</code>
+         */
+        public Builder withPrefetch(boolean prefetch) {
+            this.prefetch = prefetch;
+            return this;
+        }
+
+        /**
+         * Verifies parameters, finds the primary key of the collection and creates a new {@link QueryIterator}.
+         * Only collections with an int64 primary key are supported.
+         *
+         * @return {@link QueryIterator}
+         */
+        public QueryIterator build() throws ParamException {
+            if (client == null) {
+                throw new ParamException("Client cannot be null");
+            }
+
+            ParamUtils.CheckNullEmptyString(collectionName, "Collection name");
+
+            if (batchSize <= 0) {
+                throw new ParamException("Batch size must be positive!");
+            }
+
+            if (minPrimaryKey == null || maxPrimaryKey == null) {
+                throw new ParamException("Primary key range must be set!");
+            }
+            if (minPrimaryKey > maxPrimaryKey) {
+                throw new ParamException("Min primary key cannot be greater than max primary key!");
+            }
+
+            R<DescribeCollectionResponse> descResp = client.describeCollection(DescribeCollectionParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .build());
+            if (descResp.getStatus() != R.Status.Success.getCode()) {
+                throw new IllegalResponseException("Failed to describe collection: " + descResp.getMessage());
+            }
+
+            for (FieldType field : new DescCollResponseWrapper(descResp.getData()).getFields()) {
+                if (field.isPrimaryKey()) {
+                    if (field.getDataType() != DataType.Int64) {
+                        throw new ParamException("Query iterator only supports int64 primary key");
+                    }
+                    return new QueryIterator(this, field.getName());
+                }
+            }
+            throw new ParamException("Primary key field not found in collection: " + collectionName);
+        }
+    }
+}
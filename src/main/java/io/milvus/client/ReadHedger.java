@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.milvus.param.R;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends a read request to a second server if the first one doesn't respond in time, the first successful
+ * response wins and the other request is cancelled. If the first request fails before the delay,
+ * the second request is sent at once.
+ *
+ * The delay is either fixed, or a percentile of the recent successful read latencies. The fixed delay is used
+ * until enough latencies are collected.
+ */
+final class ReadHedger {
+    private static final int SAMPLE_WINDOW = 1024;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long fixedDelayNanos;
+    private final double percentile;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    // ring buffer of the latest latencies, guarded by this
+    private final long[] samples = new long[SAMPLE_WINDOW];
+    private int sampleCount = 0;
+    private int nextSample = 0;
+    private int sinceRecompute = 0;
+    private long percentileDelayNanos = 0;
+
+    ReadHedger(long fixedDelayMs, double percentile) {
+        this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(fixedDelayMs);
+        this.percentile = percentile;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "milvus-read-hedger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sends the primary request, and the hedge request after the delay if no successful response is received.
+     *
+     * @param primary sends the request to the primary server
+     * @param hedge sends the request to another server, returns null if there is no other server
+     * @return future of the first successful response, or the last failure if all requests failed
+     */
+    <T> ListenableFuture<R<T>> execute(Supplier<ListenableFuture<R<T>>> primary,
+                                       Supplier<ListenableFuture<R<T>>> hedge) {
+        HedgedCall<T> call = new HedgedCall<>(hedge, System.nanoTime());
+        call.register(send(primary));
+
+        ScheduledFuture<?> timer = scheduler.schedule(call::hedge, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+        call.result.addListener(() -> {
+            timer.cancel(false);
+            call.cancelAttempts();
+        }, MoreExecutors.directExecutor());
+        return call.result;
+    }
+
+    void close() {
+        scheduler.shutdownNow();
+    }
+
+    synchronized long hedgeDelayNanos() {
+        if (percentile <= 0 || sampleCount < MIN_SAMPLES) {
+            return fixedDelayNanos;
+        }
+        return percentileDelayNanos;
+    }
+
+    synchronized void recordLatency(long latencyNanos) {
+        samples[nextSample] = latencyNanos;
+        nextSample = (nextSample + 1) % SAMPLE_WINDOW;
+        sampleCount = Math.min(sampleCount + 1, SAMPLE_WINDOW);
+
+        // sorting the window for each request is wasteful, the percentile is refreshed periodically
+        if (++sinceRecompute >= RECOMPUTE_INTERVAL && percentile > 0 && sampleCount >= MIN_SAMPLES) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+            percentileDelayNanos = sorted[Math.max(0, Math.min(index, sampleCount - 1))];
+        }
+    }
+
+    private static <T> ListenableFuture<R<T>> send(Supplier<ListenableFuture<R<T>>> supplier) {
+        try {
+            return supplier.get();
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private final class HedgedCall<T> {
+        private final SettableFuture<R<T>> result = SettableFuture.create();
+        private final Supplier<ListenableFuture<R<T>>> hedgeSupplier;
+        private final long startNanos;
+
+        // guarded by this
+        private final List<Future<?>> attempts = new ArrayList<>(2);
+        private int pending = 0;
+        private boolean hedged = false;
+        private R<T> lastResult;
+        private Throwable lastError;
+
+        HedgedCall(Supplier<ListenableFuture<R<T>>> hedgeSupplier, long startNanos) {
+            this.hedgeSupplier = hedgeSupplier;
+            this.startNanos = startNanos;
+        }
+
+        void register(ListenableFuture<R<T>> attempt) {
+            synchronized (this) {
+                attempts.add(attempt);
+                pending++;
+            }
+
+            Futures.addCallback(attempt, new FutureCallback<R<T>>() {
+                @Override
+                public void onSuccess(R<T> response) {
+                    if (null != response && R.Status.Success.getCode() == response.getStatus()) {
+                        if (result.set(response)) {
+                            recordLatency(System.nanoTime() - startNanos);
+                        }
+                    } else {
+                        onFailed(response, null);
+                    }
+                }
+
+                @Override
+                public void onFailure(@Nonnull Throwable t) {
+                    onFailed(null, t);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+
+        void hedge() {
+            synchronized (this) {
+                if (hedged || result.isDone()) {
+                    return;
+                }
+                hedged = true;
+            }
+
+            ListenableFuture<R<T>> attempt = send(hedgeSupplier);
+            if (null != attempt) {
+                register(attempt);
+            } else {
+                // no other server, wait for the primary request
+                finishIfAllFailed();
+            }
+        }
+
+        void cancelAttempts() {
+            List<Future<?>> toCancel;
+            synchronized (this) {
+                toCancel = new ArrayList<>(attempts);
+            }
+            toCancel.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void onFailed(R<T> response, Throwable t) {
+            boolean retry;
+            synchronized (this) {
+                pending--;
+                lastResult = response;
+                lastError = t;
+                retry = !hedged;
+            }
+
+            if (retry) {
+                // the primary request failed before the delay, try another server at once
+                hedge();
+            } else {
+                finishIfAllFailed();
+            }
+        }
+
+        private void finishIfAllFailed() {
+            R<T> response;
+            Throwable error;
+            synchronized (this) {
+                if (pending > 0) {
+                    return;
+                }
+                response = lastResult;
+                error = lastError;
+            }
+
+            if (null != response) {
+                result.set(response);
+            } else {
+                result.setException(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import io.milvus.param.ParamUtils;
+import io.milvus.param.dml.CalcDistanceParam;
+import io.milvus.param.dml.DeleteParam;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.dml.QueryParam;
+import io.milvus.param.dml.SearchParam;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded summary of a data request for logging. The summary is built lazily by <code>toString()</code>,
+ * so nothing is computed if the log level is disabled. The payload size is estimated from the first row,
+ * the cost doesn't depend on the row count.
+ */
+final class RequestSummary {
+    private static final int MAX_TEXT_LENGTH = 256;
+
+    private final Supplier<String> builder;
+
+    private RequestSummary(Supplier<String> builder) {
+        this.builder = builder;
+    }
+
+    static RequestSummary of(InsertParam requestParam) {
+        return new RequestSummary(() -> {
+            long rowBytes = 0;
+            for (InsertParam.Field field : requestParam.getFields()) {
+                rowBytes += estimateFirstValueSize(field.getValues());
+            }
+            return "InsertParam{" +
+                    "collectionName='" + requestParam.getCollectionName() + '\'' +
+                    ", partitionName='" + requestParam.getPartitionName() + '\'' +
+                    ", rowCount=" + requestParam.getRowCount() +
+                    ", fieldCount=" + requestParam.getFields().size() +
+                    ", estimatedBytes=" + rowBytes * requestParam.getRowCount() +
+                    '}';
+        });
+    }
+
+    static RequestSummary of(SearchParam requestParam) {
+        return new RequestSummary(() -> {
+            List<?> vectors = requestParam.getVectors();
+            return "SearchParam{" +
+                    "collectionName='" + requestParam.getCollectionName() + '\'' +
+                    ", partitionNames=" + truncate(String.valueOf(requestParam.getPartitionNames())) +
+                    ", vectorFieldName='" + requestParam.getVectorFieldName() + '\'' +
+                    ", metricType=" + requestParam.getMetricType() +
+                    ", nq=" + vectors.size() +
+                    ", topK=" + requestParam.getTopK() +
+                    ", expr='" + truncate(requestParam.getExpr()) + '\'' +
+                    ", estimatedBytes=" + estimateFirstValueSize(vectors) * vectors.size() +
+                    '}';
+        });
+    }
+
+    static RequestSummary of(QueryParam requestParam) {
+        return new RequestSummary(() -> "QueryParam{" +
+                "collectionName='" + requestParam.getCollectionName() + '\'' +
+                ", partitionNames=" + truncate(String.valueOf(requestParam.getPartitionNames())) +
+                ", outFields=" + truncate(String.valueOf(requestParam.getOutFields())) +
+                ", expr='" + truncate(requestParam.getExpr()) + '\'' +
+                ", exprLength=" + lengthOf(requestParam.getExpr()) +
+                '}');
+    }
+
+    static RequestSummary of(DeleteParam requestParam) {
+        return new RequestSummary(() -> "DeleteParam{" +
+                "collectionName='" + requestParam.getCollectionName() + '\'' +
+                ", partitionName='" + requestParam.getPartitionName() + '\'' +
+                ", expr='" + truncate(requestParam.getExpr()) + '\'' +
+                ", exprLength=" + lengthOf(requestParam.getExpr()) +
+                '}');
+    }
+
+    static RequestSummary of(CalcDistanceParam requestParam) {
+        return new RequestSummary(() -> {
+            List<List<Float>> left = requestParam.getVectorsLeft();
+            List<List<Float>> right = requestParam.getVectorsRight();
+            return "CalcDistanceParam{" +
+                    "leftCount=" + left.size() +
+                    ", rightCount=" + right.size() +
+                    ", dim=" + (left.isEmpty() ? 0 : left.get(0).size()) +
+                    ", metricType=" + requestParam.getMetricType() +
+                    '}';
+        });
+    }
+
+    private static long estimateFirstValueSize(List<?> values) {
+        return (null == values || values.isEmpty()) ? 0 : ParamUtils.estimateFieldValueSize(values.get(0));
+    }
+
+    private static int lengthOf(String text) {
+        return null == text ? 0 : text.length();
+    }
+
+    static String truncate(String text) {
+        if (null == text || text.length() <= MAX_TEXT_LENGTH) {
+            return text;
+        }
+        return text.substring(0, MAX_TEXT_LENGTH) + "...";
+    }
+
+    @Override
+    public String toString() {
+        return builder.get();
+    }
+}
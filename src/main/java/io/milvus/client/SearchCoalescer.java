@@ -0,0 +1,476 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.protobuf.ByteString;
+import io.milvus.exception.ClientNotConnectedException;
+import io.milvus.exception.IllegalResponseException;
+import io.milvus.exception.ParamException;
+import io.milvus.grpc.BoolArray;
+import io.milvus.grpc.DoubleArray;
+import io.milvus.grpc.FieldData;
+import io.milvus.grpc.FloatArray;
+import io.milvus.grpc.IDs;
+import io.milvus.grpc.IntArray;
+import io.milvus.grpc.LongArray;
+import io.milvus.grpc.ScalarField;
+import io.milvus.grpc.SearchResultData;
+import io.milvus.grpc.SearchResults;
+import io.milvus.grpc.StringArray;
+import io.milvus.param.BinaryVector;
+import io.milvus.param.MetricType;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.R;
+import io.milvus.param.dml.SearchParam;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges concurrent searches with the same parameters except the target vectors into one request,
+ * the server handles one request of many vectors more efficiently than many requests of one vector.
+ * A batch is sent by <code>searchAsync</code> when its vector count reaches the max count, or when the linger time
+ * since its first search is over. The merged results are split by the topK of each target vector, and each
+ * search gets its own results as if it was sent alone.
+ */
+public class SearchCoalescer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SearchCoalescer.class);
+
+    private final MilvusClient client;
+    private final int maxBatchVectors;
+    private final long lingerMicros;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<List<Object>, Batch> batches = new HashMap<>();
+    private boolean closed = false;
+
+    private SearchCoalescer(@NonNull Builder builder) {
+        this.client = builder.client;
+        this.maxBatchVectors = builder.maxBatchVectors;
+        this.lingerMicros = builder.lingerMicros;
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "milvus-search-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Adds a search to a batch of compatible searches.
+     * A search with no less target vectors than the max batch vectors is sent alone at once.
+     *
+     * @param requestParam {@link SearchParam}
+     * @return a future of the results of this search only
+     */
+    public ListenableFuture<R<SearchResults>> search(@NonNull SearchParam requestParam) {
+        if (requestParam.getVectors().size() >= maxBatchVectors) {
+            return client.searchAsync(requestParam);
+        }
+
+        SettableFuture<R<SearchResults>> future = SettableFuture.create();
+        List<Batch> readyBatches = new ArrayList<>(2);
+        synchronized (batches) {
+            if (closed) {
+                throw new ClientNotConnectedException("Search coalescer is closed");
+            }
+
+            List<Object> key = batchKey(requestParam);
+            Batch batch = batches.get(key);
+            if (batch != null && batch.vectors.size() + requestParam.getVectors().size() > maxBatchVectors) {
+                batches.remove(key);
+                batch.lingerTask.cancel(false);
+                readyBatches.add(batch);
+                batch = null;
+            }
+
+            if (batch == null) {
+                Batch created = new Batch(requestParam);
+                created.lingerTask = scheduler.schedule(() -> flushBatch(key, created),
+                        lingerMicros, TimeUnit.MICROSECONDS);
+                batches.put(key, created);
+                batch = created;
+            }
+
+            batch.add(requestParam.getVectors(), future);
+            if (batch.vectors.size() >= maxBatchVectors) {
+                batches.remove(key);
+                batch.lingerTask.cancel(false);
+                readyBatches.add(batch);
+            }
+        }
+
+        readyBatches.forEach(this::send);
+        return future;
+    }
+
+    /**
+     * Sends all the pending batches without waiting for the linger time.
+     */
+    public void flush() {
+        List<Batch> readyBatches;
+        synchronized (batches) {
+            readyBatches = new ArrayList<>(batches.values());
+            batches.clear();
+        }
+
+        readyBatches.forEach(batch -> {
+            batch.lingerTask.cancel(false);
+            send(batch);
+        });
+    }
+
+    /**
+     * Sends the pending batches, searches cannot be added after this call.
+     */
+    @Override
+    public void close() {
+        synchronized (batches) {
+            closed = true;
+        }
+
+        flush();
+        scheduler.shutdownNow();
+    }
+
+    private void flushBatch(List<Object> key, Batch batch) {
+        synchronized (batches) {
+            // the batch has been sent because it is full
+            if (batches.get(key) != batch) {
+                return;
+            }
+            batches.remove(key);
+        }
+        send(batch);
+    }
+
+    private void send(Batch batch) {
+        ListenableFuture<R<SearchResults>> response;
+        try {
+            response = client.searchAsync(batch.toSearchParam());
+        } catch (Exception e) {
+            batch.fail(e);
+            return;
+        }
+
+        Futures.addCallback(response, new FutureCallback<R<SearchResults>>() {
+            @Override
+            public void onSuccess(R<SearchResults> result) {
+                batch.complete(result);
+            }
+
+            @Override
+            public void onFailure(@Nonnull Throwable t) {
+                batch.fail(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    // searches are compatible if all the parameters are equal except the target vectors
+    private static List<Object> batchKey(SearchParam param) {
+        Object vector = param.getVectors().get(0);
+        int dim;
+        String vectorKind;
+        if (vector instanceof List) {
+            vectorKind = "list";
+            dim = ((List<?>) vector).size();
+        } else if (vector instanceof float[]) {
+            vectorKind = "array";
+            dim = ((float[]) vector).length;
+        } else if (vector instanceof FloatBuffer) {
+            vectorKind = "floatBuffer";
+            dim = ((FloatBuffer) vector).remaining();
+        } else if (vector instanceof BinaryVector) {
+            vectorKind = "binaryVector";
+            dim = ((BinaryVector) vector).getByteSize();
+        } else {
+            vectorKind = "byteBuffer";
+            dim = ParamUtils.binaryVectorView((ByteBuffer) vector).remaining();
+        }
+
+        return Arrays.asList(param.getCollectionName(), param.getPartitionNames(), param.getVectorFieldName(),
+                param.getMetricType(), param.getTopK(), param.getExpr(), param.getOutFields(), param.getParams(),
+                param.getRoundDecimal(), param.getTravelTimestamp(), param.getGuaranteeTimestamp(),
+                param.getGracefulTime(), param.getConsistencyLevel(), vectorKind, dim);
+    }
+
+    /**
+     * Splits the merged results of a batch for one search.
+     *
+     * @param merged results of all the target vectors of the batch
+     * @param queryStart index of the first target vector of the search
+     * @param nq count of target vectors of the search
+     * @return {@link SearchResults} of the search
+     */
+    static SearchResults splitResults(SearchResults merged, int queryStart, int nq) {
+        SearchResultData data = merged.getResults();
+        int topksCount = data.getTopksCount();
+        if (topksCount > 0 && topksCount < queryStart + nq) {
+            throw new IllegalResponseException("Returned topks count " + topksCount
+                    + " is less than the target vectors count " + (queryStart + nq));
+        }
+
+        // if the server didn't return separate topK, all the target vectors have the same topK
+        int from = 0;
+        for (int i = 0; i < queryStart; ++i) {
+            from += topksCount > 0 ? data.getTopks(i) : data.getTopK();
+        }
+        int to = from;
+        for (int i = queryStart; i < queryStart + nq; ++i) {
+            to += topksCount > 0 ? data.getTopks(i) : data.getTopK();
+        }
+        int totalHits = data.getScoresCount();
+        if (to > totalHits) {
+            throw new IllegalResponseException("Returned scores count " + totalHits
+                    + " doesn't match the topks of the target vectors");
+        }
+
+        SearchResultData.Builder builder = data.toBuilder()
+                .setNumQueries(nq)
+                .clearScores()
+                .addAllScores(data.getScoresList().subList(from, to))
+                .setIds(splitIds(data.getIds(), from, to))
+                .clearFieldsData();
+        if (topksCount > 0) {
+            builder.clearTopks().addAllTopks(data.getTopksList().subList(queryStart, queryStart + nq));
+        }
+        for (FieldData field : data.getFieldsDataList()) {
+            builder.addFieldsData(splitField(field, from, to, totalHits));
+        }
+        return merged.toBuilder().setResults(builder).build();
+    }
+
+    private static IDs splitIds(IDs ids, int from, int to) {
+        if (ids.hasIntId()) {
+            return IDs.newBuilder()
+                    .setIntId(LongArray.newBuilder().addAllData(ids.getIntId().getDataList().subList(from, to)))
+                    .build();
+        } else if (ids.hasStrId()) {
+            return IDs.newBuilder()
+                    .setStrId(StringArray.newBuilder().addAllData(ids.getStrId().getDataList().subList(from, to)))
+                    .build();
+        }
+        return ids;
+    }
+
+    private static FieldData splitField(FieldData field, int from, int to, int totalHits) {
+        if (totalHits == 0) {
+            return field;
+        }
+
+        FieldData.Builder builder = field.toBuilder();
+        switch (field.getType()) {
+            case FloatVector: {
+                List<Float> data = field.getVectors().getFloatVector().getDataList();
+                int dim = data.size() / totalHits;
+                return builder.setVectors(field.getVectors().toBuilder()
+                        .setFloatVector(FloatArray.newBuilder().addAllData(data.subList(from * dim, to * dim))))
+                        .build();
+            }
+            case BinaryVector: {
+                ByteString data = field.getVectors().getBinaryVector();
+                int bytesPerVector = data.size() / totalHits;
+                return builder.setVectors(field.getVectors().toBuilder()
+                        .setBinaryVector(data.substring(from * bytesPerVector, to * bytesPerVector)))
+                        .build();
+            }
+            case Int64:
+                return builder.setScalars(ScalarField.newBuilder().setLongData(LongArray.newBuilder()
+                        .addAllData(field.getScalars().getLongData().getDataList().subList(from, to)))).build();
+            case Int32:
+            case Int16:
+            case Int8:
+                return builder.setScalars(ScalarField.newBuilder().setIntData(IntArray.newBuilder()
+                        .addAllData(field.getScalars().getIntData().getDataList().subList(from, to)))).build();
+            case Bool:
+                return builder.setScalars(ScalarField.newBuilder().setBoolData(BoolArray.newBuilder()
+                        .addAllData(field.getScalars().getBoolData().getDataList().subList(from, to)))).build();
+            case Float:
+                return builder.setScalars(ScalarField.newBuilder().setFloatData(FloatArray.newBuilder()
+                        .addAllData(field.getScalars().getFloatData().getDataList().subList(from, to)))).build();
+            case Double:
+                return builder.setScalars(ScalarField.newBuilder().setDoubleData(DoubleArray.newBuilder()
+                        .addAllData(field.getScalars().getDoubleData().getDataList().subList(from, to)))).build();
+            case VarChar:
+            case String:
+                return builder.setScalars(ScalarField.newBuilder().setStringData(StringArray.newBuilder()
+                        .addAllData(field.getScalars().getStringData().getDataList().subList(from, to)))).build();
+            default:
+                throw new IllegalResponseException("Unsupported data type returned by FieldData");
+        }
+    }
+
+    private static final class Batch {
+        private final SearchParam first;
+        private final List<Object> vectors = new ArrayList<>();
+        private final List<Integer> queryStarts = new ArrayList<>();
+        private final List<SettableFuture<R<SearchResults>>> futures = new ArrayList<>();
+        private ScheduledFuture<?> lingerTask;
+
+        Batch(SearchParam first) {
+            this.first = first;
+        }
+
+        void add(List<?> targetVectors, SettableFuture<R<SearchResults>> future) {
+            queryStarts.add(vectors.size());
+            vectors.addAll(targetVectors);
+            futures.add(future);
+        }
+
+        SearchParam toSearchParam() {
+            return SearchParam.newBuilder()
+                    .withCollectionName(first.getCollectionName())
+                    .withPartitionNames(first.getPartitionNames())
+                    .withVectorFieldName(first.getVectorFieldName())
+                    .withMetricType(MetricType.valueOf(first.getMetricType()))
+                    .withTopK(first.getTopK())
+                    .withExpr(first.getExpr())
+                    .withOutFields(first.getOutFields())
+                    .withParams(first.getParams())
+                    .withRoundDecimal(first.getRoundDecimal())
+                    .withTravelTimestamp(first.getTravelTimestamp())
+                    .withGuaranteeTimestamp(first.getGuaranteeTimestamp())
+                    .withGracefulTime(first.getGracefulTime())
+                    .withConsistencyLevel(first.getConsistencyLevel())
+                    .withVectors(vectors)
+                    .build();
+        }
+
+        void complete(R<SearchResults> result) {
+            if (result.getStatus() != R.Status.Success.getCode() || futures.size() == 1) {
+                // each search gets the same failure as if it was sent alone
+                futures.forEach(future -> future.set(result));
+                return;
+            }
+
+            List<SearchResults> split = new ArrayList<>(futures.size());
+            try {
+                for (int i = 0; i < futures.size(); ++i) {
+                    int queryStart = queryStarts.get(i);
+                    int queryEnd = (i + 1 < queryStarts.size()) ? queryStarts.get(i + 1) : vectors.size();
+                    split.add(splitResults(result.getData(), queryStart, queryEnd - queryStart));
+                }
+            } catch (Exception e) {
+                fail(e);
+                return;
+            }
+
+            for (int i = 0; i < futures.size(); ++i) {
+                futures.get(i).set(R.success(split.get(i)));
+            }
+        }
+
+        void fail(Throwable t) {
+            logger.error("Failed to search {} vectors in collection {}", vectors.size(), first.getCollectionName(), t);
+            futures.forEach(future -> future.setException(t));
+        }
+    }
+
+    /**
+     * Builder for {@link SearchCoalescer}
+     */
+    public static class Builder {
+        private MilvusClient client;
+        private int maxBatchVectors = 64;
+        private long lingerMicros = 2000;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the client to send search requests.
+         *
+         * @param client {@link MilvusClient}
+         * @return <code>Builder</code>
+         */
+        public Builder withClient(@NonNull MilvusClient client) {
+            this.client = client;
+            return this;
+        }
+
+        /**
+         * Sets the max count of target vectors of a batch. Default value is 64.
+         *
+         * @param maxBatchVectors max count of target vectors
+         * @return <code>Builder</code>
+         */
+        public Builder withMaxBatchVectors(int maxBatchVectors) {
+            this.maxBatchVectors = maxBatchVectors;
+            return this;
+        }
+
+        /**
+         * Sets the max time a search waits in a batch before the batch is sent. Default value is 2 milliseconds.
+         *
+         * @param linger linger time
+         * @param timeUnit time unit
+         * @return <code>Builder</code>
+         */
+        public Builder withLinger(long linger, @NonNull TimeUnit timeUnit) {
+            this.lingerMicros = timeUnit.toMicros(linger);
+            return this;
+        }
+
+        /**
+         * Verifies parameters and creates a new {@link SearchCoalescer} instance.
+         *
+         * @return {@link SearchCoalescer}
+         */
+        public SearchCoalescer build() throws ParamException {
+            if (client == null) {
+                throw new ParamException("Client cannot be null");
+            }
+
+            if (maxBatchVectors <= 0) {
+                throw new ParamException("Max batch vectors must be positive!");
+            }
+
+            if (lingerMicros < 0) {
+                throw new ParamException("Linger time cannot be negative!");
+            }
+
+            return new SearchCoalescer(this);
+        }
+    }
+}
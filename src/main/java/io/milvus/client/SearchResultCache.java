@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.client;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.milvus.common.clientenum.ConsistencyLevelEnum;
+import io.milvus.grpc.SearchRequest;
+import io.milvus.grpc.SearchResults;
+import io.milvus.param.Constant;
+import lombok.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side cache of search results, keyed by collection name and a hash of the search request.
+ * It is used by <code>search</code> interfaces to serve repeated searches without calling the server.
+ * Entries expire after a configurable time and the cache is bounded by a maximum entry count.
+ *
+ * Searches with strong consistency or an explicit guarantee timestamp are not cached. Cached results of a
+ * collection are dropped when this client writes to the collection, except results of searches with a travel
+ * timestamp, which never change. Aliases are resolved by the names learned from <code>describeCollection</code>,
+ * a write to a name which is not resolved drops the results of all the collections.
+ */
+public class SearchResultCache {
+    private final Cache<Key, Entry> cache;
+    private final boolean enabled;
+
+    // bumped by each write of this client to a collection, entries of an older generation are stale
+    private final ConcurrentMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    // bumped by each write, searches by names which are not resolved depend on it
+    private final AtomicLong unresolvedGeneration = new AtomicLong(0);
+    // collection name or alias to collection name
+    private final ConcurrentMap<String, String> collectionNames = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a search result cache.
+     *
+     * @param maxSize max count of cached results, zero means the cache is disabled
+     * @param ttlMs time to live of each entry, unit: millisecond
+     */
+    public SearchResultCache(long maxSize, long ttlMs) {
+        this.enabled = maxSize > 0 && ttlMs > 0;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfterWrite(Math.max(ttlMs, 0), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Gets the cache key of a search request. The guarantee timestamp of bounded consistency is computed from
+     * the current time, so it is excluded from the key. A guarantee timestamp set by the user is usually taken
+     * from a write which the search must see, such searches are not cached.
+     * The key must be taken before the request is sent, so that a result is not cached if a write is done
+     * while the request is in flight.
+     *
+     * @param request search request
+     * @param consistencyLevel consistency level of the search param, can be null
+     * @return {@link Key}, null if the cache is disabled or the request is not cacheable
+     */
+    public Key keyOf(@NonNull SearchRequest request, ConsistencyLevelEnum consistencyLevel) {
+        if (!enabled) {
+            return null;
+        }
+
+        boolean immutable = request.getTravelTimestamp() > 0;
+        boolean bounded = consistencyLevel == ConsistencyLevelEnum.BOUNDED;
+        if (!immutable && !bounded && request.getGuaranteeTimestamp() != Constant.GUARANTEE_EVENTUALLY_TS) {
+            return null;
+        }
+
+        // hash the fields of the request instead of serializing it again, the placeholder group is not copied
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        putString(hasher, request.getDbName());
+        putString(hasher, request.getCollectionName());
+        hasher.putInt(request.getPartitionNamesCount());
+        request.getPartitionNamesList().forEach(name -> putString(hasher, name));
+        putString(hasher, request.getDsl());
+        hasher.putInt(request.getDslTypeValue());
+        hasher.putInt(request.getPlaceholderGroup().size());
+        hasher.putBytes(request.getPlaceholderGroup().asReadOnlyByteBuffer());
+        hasher.putInt(request.getSearchParamsCount());
+        request.getSearchParamsList().forEach(param -> {
+            putString(hasher, param.getKey());
+            putString(hasher, param.getValue());
+        });
+        hasher.putInt(request.getOutputFieldsCount());
+        request.getOutputFieldsList().forEach(field -> putString(hasher, field));
+        hasher.putLong(request.getTravelTimestamp());
+        hasher.putLong(bounded ? 0 : request.getGuaranteeTimestamp());
+
+        AtomicLong generation = generationOf(request.getCollectionName());
+        return new Key(request.getCollectionName(), hasher.hash(), immutable, generation, generation.get());
+    }
+
+    /**
+     * Gets the cached results of a search request.
+     *
+     * @param key key returned by {@link #keyOf(SearchRequest, ConsistencyLevelEnum)}
+     * @return {@link SearchResults}, null if the results are not cached or stale
+     */
+    public SearchResults get(Key key) {
+        if (key == null) {
+            return null;
+        }
+
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        if (!key.immutable && (entry.counter != key.counter || entry.generation != key.generation)) {
+            cache.invalidate(key);
+            return null;
+        }
+        return entry.results;
+    }
+
+    /**
+     * Caches the successful results of a search request.
+     *
+     * @param key key returned by {@link #keyOf(SearchRequest, ConsistencyLevelEnum)} before the request is sent
+     * @param results search results returned by the server
+     */
+    public void put(Key key, @NonNull SearchResults results) {
+        if (key == null) {
+            return;
+        }
+        if (!key.immutable && key.counter.get() != key.generation) {
+            // the collection is written while the request is in flight
+            return;
+        }
+        cache.put(key, new Entry(results, key.counter, key.generation));
+    }
+
+    /**
+     * Records the collection name of a name returned by <code>describeCollection</code>, the name can be an alias.
+     *
+     * @param name collection name or alias
+     * @param collectionName collection name
+     */
+    public void resolve(String name, String collectionName) {
+        if (enabled && name != null && collectionName != null && !collectionName.isEmpty()) {
+            collectionNames.put(name, collectionName);
+        }
+    }
+
+    /**
+     * Drops the cached results of a collection after a write, results of searches with a travel timestamp are kept.
+     * If the name is not resolved, it may be an alias of any collection, the results of all the collections
+     * are dropped.
+     *
+     * @param collectionName collection name or alias
+     */
+    public void invalidate(String collectionName) {
+        if (!enabled || collectionName == null) {
+            return;
+        }
+
+        String resolved = collectionNames.get(collectionName);
+        if (resolved != null) {
+            generation(resolved).incrementAndGet();
+            unresolvedGeneration.incrementAndGet();
+        } else {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            unresolvedGeneration.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes all the cached results and the resolved names, it is called when collections or aliases change.
+     */
+    public void invalidateAll() {
+        collectionNames.clear();
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        unresolvedGeneration.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private AtomicLong generationOf(String name) {
+        String resolved = collectionNames.get(name);
+        return resolved == null ? unresolvedGeneration : generation(resolved);
+    }
+
+    private AtomicLong generation(String collectionName) {
+        return generations.computeIfAbsent(collectionName, name -> new AtomicLong(0));
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length());
+        hasher.putString(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Cache key of a search request, with the collection generation when the key is taken.
+     */
+    public static final class Key {
+        private final String collectionName;
+        private final HashCode hash;
+        private final boolean immutable;
+        private final AtomicLong counter;
+        private final long generation;
+
+        private Key(String collectionName, HashCode hash, boolean immutable, AtomicLong counter, long generation) {
+            this.collectionName = collectionName;
+            this.hash = hash;
+            this.immutable = immutable;
+            this.counter = counter;
+            this.generation = generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key key = (Key) o;
+            return collectionName.equals(key.collectionName) && hash.equals(key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(collectionName, hash);
+        }
+    }
+
+    private static final class Entry {
+        private final SearchResults results;
+        private final AtomicLong counter;
+        private final long generation;
+
+        Entry(SearchResults results, AtomicLong counter, long generation) {
+            this.results = results;
+            this.counter = counter;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import io.milvus.exception.IllegalResponseException;
+import io.milvus.grpc.*;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Waits for the server state of load, flush and index build without blocking a thread for each wait.
+ * The state is polled by a shared scheduler with exponential backoff, each wait returns a future which holds
+ * true when the state is reached, or false when the wait is timeout.
+ * The waits for collection loading are polled together by one <code>ShowCollections</code> call. If the server
+ * rejects the call, the collections are polled one by one, so that only the waits of a bad collection fail.
+ */
+final class StateWaiter {
+    private static final long MAX_BACKOFF_INTERVAL_MS = 2000L;
+
+    private final Supplier<MilvusServiceGrpc.MilvusServiceFutureStub> futureStub;
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    // guarded by this
+    private final List<Wait> loadWaits = new ArrayList<>();
+    private ScheduledFuture<?> loadPoll;
+    private long loadPollNanos;
+    private boolean loadPollInFlight = false;
+
+    StateWaiter(Supplier<MilvusServiceGrpc.MilvusServiceFutureStub> futureStub) {
+        this.futureStub = futureStub;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "milvus-state-waiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    void close() {
+        scheduler.shutdownNow();
+        List<Wait> pending;
+        synchronized (this) {
+            pending = new ArrayList<>(loadWaits);
+            loadWaits.clear();
+        }
+        pending.forEach(wait -> wait.future.set(false));
+    }
+
+    /**
+     * Waits until the in-memory percentage of a collection reaches 100.
+     *
+     * @param collectionName collection name
+     * @param intervalMs initial polling interval
+     * @param timeoutMs wait timeout
+     * @return future of true if loaded, false if timeout
+     */
+    ListenableFuture<Boolean> waitForCollectionLoaded(String collectionName, long intervalMs, long timeoutMs) {
+        Wait wait = new Wait(collectionName, intervalMs, timeoutMs);
+        synchronized (this) {
+            loadWaits.add(wait);
+            scheduleLoadPoll();
+        }
+        return wait.future;
+    }
+
+    /**
+     * Waits until the in-memory percentages of the partitions reach 100.
+     *
+     * @param collectionName collection name
+     * @param partitionNames partition names
+     * @param intervalMs initial polling interval
+     * @param timeoutMs wait timeout
+     * @return future of true if loaded, false if timeout
+     */
+    ListenableFuture<Boolean> waitForPartitionsLoaded(String collectionName, List<String> partitionNames,
+                                                      long intervalMs, long timeoutMs) {
+        ShowPartitionsRequest request = ShowPartitionsRequest.newBuilder()
+                .setCollectionName(collectionName)
+                .addAllPartitionNames(partitionNames)
+                .setType(ShowType.InMemory)
+                .build();
+
+        return poll(new Wait(collectionName, intervalMs, timeoutMs), () -> futureStub.get().showPartitions(request),
+                response -> {
+                    checkStatus("ShowPartitions", response.getStatus());
+                    int namesCount = response.getPartitionNamesCount();
+                    int percentagesCount = response.getInMemoryPercentagesCount();
+                    if (namesCount != percentagesCount) {
+                        throw new IllegalResponseException("ShowPartitionsResponse is illegal. Partition count: "
+                                + namesCount + " memory percentages count: " + percentagesCount);
+                    }
+
+                    Map<String, Long> percentages = new HashMap<>();
+                    for (int i = 0; i < percentagesCount; ++i) {
+                        percentages.put(response.getPartitionNames(i), response.getInMemoryPercentages(i));
+                    }
+                    for (String name : partitionNames) {
+                        Long percentage = percentages.get(name);
+                        if (percentage == null || percentage < 100L) {
+                            return false;
+                        }
+                    }
+                    return true;
+                });
+    }
+
+    /**
+     * Waits until the segments of a collection are flushed.
+     *
+     * @param collectionName collection name
+     * @param segmentIDs ids of the segments returned by flush
+     * @param intervalMs initial polling interval
+     * @param timeoutMs wait timeout
+     * @return future of true if flushed, false if timeout
+     */
+    ListenableFuture<Boolean> waitForFlushed(String collectionName, List<Long> segmentIDs,
+                                             long intervalMs, long timeoutMs) {
+        if (segmentIDs.isEmpty()) {
+            return Futures.immediateFuture(true);
+        }
+
+        GetFlushStateRequest request = GetFlushStateRequest.newBuilder()
+                .addAllSegmentIDs(segmentIDs)
+                .build();
+        return poll(new Wait(collectionName, intervalMs, timeoutMs), () -> futureStub.get().getFlushState(request),
+                response -> {
+                    checkStatus("GetFlushState", response.getStatus());
+                    return response.getFlushed();
+                });
+    }
+
+    /**
+     * Waits until an index is built.
+     *
+     * @param collectionName collection name
+     * @param indexName index name
+     * @param intervalMs initial polling interval
+     * @param timeoutMs wait timeout
+     * @return future of true if built, false if timeout, the future fails if the index build failed
+     */
+    ListenableFuture<Boolean> waitForIndex(String collectionName, String indexName, long intervalMs, long timeoutMs) {
+        GetIndexStateRequest request = GetIndexStateRequest.newBuilder()
+                .setCollectionName(collectionName)
+                .setIndexName(indexName)
+                .build();
+        return poll(new Wait(collectionName, intervalMs, timeoutMs), () -> futureStub.get().getIndexState(request),
+                response -> {
+                    checkStatus("GetIndexState", response.getStatus());
+                    if (response.getState() == IndexState.Failed) {
+                        throw new IllegalResponseException("Get index state failed: " + response.toString());
+                    }
+                    return response.getState() == IndexState.Finished;
+                });
+    }
+
+    private <T> ListenableFuture<Boolean> poll(Wait wait, Supplier<ListenableFuture<T>> request,
+                                               Function<T, Boolean> isReached) {
+        schedule(() -> pollOnce(wait, request, isReached), 0, wait);
+        return wait.future;
+    }
+
+    private <T> void pollOnce(Wait wait, Supplier<ListenableFuture<T>> request, Function<T, Boolean> isReached) {
+        if (wait.future.isDone()) {
+            return;
+        }
+        if (wait.isTimeout()) {
+            wait.future.set(false);
+            return;
+        }
+
+        Futures.addCallback(send(request), new FutureCallback<T>() {
+            @Override
+            public void onSuccess(T response) {
+                try {
+                    if (isReached.apply(response)) {
+                        wait.future.set(true);
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    wait.future.setException(e);
+                    return;
+                }
+
+                wait.backoff();
+                schedule(() -> pollOnce(wait, request, isReached), wait.delayNanos(), wait);
+            }
+
+            @Override
+            public void onFailure(@Nonnull Throwable t) {
+                wait.future.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private synchronized void scheduleLoadPoll() {
+        if (loadPollInFlight || loadWaits.isEmpty()) {
+            return;
+        }
+
+        long next = Long.MAX_VALUE;
+        for (Wait wait : loadWaits) {
+            next = Math.min(next, wait.nextPollNanos);
+        }
+        if (null != loadPoll) {
+            if (loadPollNanos - next <= 0) {
+                return;
+            }
+            loadPoll.cancel(false);
+        }
+
+        loadPollNanos = next;
+        try {
+            loadPoll = scheduler.schedule(this::pollLoads, next - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // the waiter is closed
+            loadWaits.forEach(wait -> wait.future.set(false));
+            loadWaits.clear();
+        }
+    }
+
+    private void pollLoads() {
+        List<Wait> due = new ArrayList<>();
+        synchronized (this) {
+            loadPoll = null;
+            long now = System.nanoTime();
+            loadWaits.removeIf(wait -> {
+                if (wait.isTimeout()) {
+                    wait.future.set(false);
+                }
+                return wait.future.isDone();
+            });
+            for (Wait wait : loadWaits) {
+                if (wait.nextPollNanos - now <= 0) {
+                    due.add(wait);
+                }
+            }
+            if (due.isEmpty()) {
+                scheduleLoadPoll();
+                return;
+            }
+            loadPollInFlight = true;
+        }
+
+        Set<String> collectionNames = new LinkedHashSet<>();
+        due.forEach(wait -> collectionNames.add(wait.name));
+        showLoads(collectionNames, due).addListener(this::finishLoadPoll, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Polls the load states of the collections by one call, the returned future is done when the waits are updated.
+     */
+    private ListenableFuture<?> showLoads(Set<String> collectionNames, List<Wait> waits) {
+        ShowCollectionsRequest request = ShowCollectionsRequest.newBuilder()
+                .addAllCollectionNames(collectionNames)
+                .setType(ShowType.InMemory)
+                .build();
+
+        SettableFuture<Object> done = SettableFuture.create();
+        Futures.addCallback(send(() -> futureStub.get().showCollections(request)),
+                new FutureCallback<ShowCollectionsResponse>() {
+                    @Override
+                    public void onSuccess(ShowCollectionsResponse response) {
+                        if (response.getStatus().getErrorCode() != ErrorCode.Success && collectionNames.size() > 1) {
+                            // one bad collection fails the whole call, find it by polling the collections one by one
+                            List<ListenableFuture<?>> separate = new ArrayList<>();
+                            for (String name : collectionNames) {
+                                List<Wait> own = new ArrayList<>();
+                                waits.stream().filter(wait -> wait.name.equals(name)).forEach(own::add);
+                                separate.add(showLoads(Collections.singleton(name), own));
+                            }
+                            done.setFuture(Futures.whenAllComplete(separate)
+                                    .call(() -> null, MoreExecutors.directExecutor()));
+                            return;
+                        }
+
+                        try {
+                            checkStatus("ShowCollections", response.getStatus());
+                            onLoadResponse(waits, response);
+                        } catch (RuntimeException e) {
+                            waits.forEach(wait -> wait.future.setException(e));
+                        }
+                        done.set(null);
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull Throwable t) {
+                        waits.forEach(wait -> wait.future.setException(t));
+                        done.set(null);
+                    }
+                }, MoreExecutors.directExecutor());
+        return done;
+    }
+
+    private void onLoadResponse(List<Wait> due, ShowCollectionsResponse response) {
+        int namesCount = response.getCollectionNamesCount();
+        int percentagesCount = response.getInMemoryPercentagesCount();
+        if (namesCount != percentagesCount) {
+            IllegalResponseException e = new IllegalResponseException("ShowCollectionsResponse is illegal. "
+                    + "Collection count: " + namesCount + " memory percentages count: " + percentagesCount);
+            due.forEach(wait -> wait.future.setException(e));
+            return;
+        }
+
+        Map<String, Long> percentages = new HashMap<>();
+        for (int i = 0; i < namesCount; ++i) {
+            percentages.put(response.getCollectionNames(i), response.getInMemoryPercentages(i));
+        }
+
+        for (Wait wait : due) {
+            Long percentage = percentages.get(wait.name);
+            if (percentage == null) {
+                wait.future.setException(new IllegalResponseException("ShowCollectionsResponse is illegal. "
+                        + "Collection " + wait.name + " is not returned"));
+            } else if (percentage >= 100) {
+                wait.future.set(true);
+            } else {
+                wait.backoff();
+            }
+        }
+    }
+
+    private void finishLoadPoll() {
+        synchronized (this) {
+            loadWaits.removeIf(wait -> wait.future.isDone());
+            loadPollInFlight = false;
+            scheduleLoadPoll();
+        }
+    }
+
+    private void schedule(Runnable task, long delayNanos, Wait wait) {
+        try {
+            scheduler.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            // the waiter is closed
+            wait.future.set(false);
+        }
+    }
+
+    private static void checkStatus(String requestName, Status status) {
+        if (status.getErrorCode() != ErrorCode.Success) {
+            throw new IllegalResponseException(requestName + " failed: " + status.getReason());
+        }
+    }
+
+    private static <T> ListenableFuture<T> send(Supplier<ListenableFuture<T>> request) {
+        try {
+            return request.get();
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+
+    private static final class Wait {
+        private final SettableFuture<Boolean> future = SettableFuture.create();
+        private final String name;
+        private final long maxIntervalNanos;
+        private final long deadlineNanos;
+        private long intervalNanos;
+        // the first poll is sent at once
+        private volatile long nextPollNanos;
+
+        Wait(String name, long intervalMs, long timeoutMs) {
+            long now = System.nanoTime();
+            this.name = name;
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMs);
+            this.maxIntervalNanos = Math.max(intervalNanos, TimeUnit.MILLISECONDS.toNanos(MAX_BACKOFF_INTERVAL_MS));
+            this.deadlineNanos = now + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            this.nextPollNanos = now;
+        }
+
+        boolean isTimeout() {
+            return System.nanoTime() - deadlineNanos >= 0;
+        }
+
+        void backoff() {
+            long now = System.nanoTime();
+            // don't sleep past the deadline, so that the timeout is reported in time
+            long next = now + intervalNanos;
+            nextPollNanos = deadlineNanos - next < 0 ? deadlineNanos : next;
+            intervalNanos = Math.min(intervalNanos * 2, maxIntervalNanos);
+        }
+
+        long delayNanos() {
+            return Math.max(0, nextPollNanos - System.nanoTime());
+        }
+    }
+}
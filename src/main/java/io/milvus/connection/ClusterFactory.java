@@ -16,9 +16,9 @@ public class ClusterFactory {
 
     private final List<ServerSetting> serverSettings;
 
-    private ServerSetting master;
+    private volatile ServerSetting master;
 
-    private List<ServerSetting> availableServerSettings;
+    private volatile List<ServerSetting> availableServerSettings;
 
     private ServerMonitor monitor;
 
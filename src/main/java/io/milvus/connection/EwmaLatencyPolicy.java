@@ -0,0 +1,167 @@
+package io.milvus.connection;
+
+import io.milvus.exception.ParamException;
+import io.milvus.param.ServerAddress;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends read requests to the available server with the lowest expected latency.
+ * Each server keeps an exponentially weighted moving average(EWMA) of its request latency,
+ * the cost of a server is the average multiplied by its requests in flight plus one.
+ * A failed request counts as a request with the penalty latency, so failing servers are avoided.
+ * A server without any sample is assumed to have a latency of one millisecond, so that it is tried soon and
+ * the concurrent requests at start are spread by their requests in flight.
+ * A server which gets no sample is not trusted to stay slow: for each decay period without a sample, the gap
+ * between its average and the cold start latency halves, so that a server which failed or was slow once gets
+ * requests again later.
+ */
+public class EwmaLatencyPolicy implements LoadBalancePolicy {
+    private static final double DEFAULT_ALPHA = 0.3;
+    private static final long DEFAULT_FAILURE_PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long INITIAL_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long DEFAULT_DECAY_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final double alpha;
+    private final long failurePenaltyNanos;
+    private final long decayPeriodNanos;
+    private final Map<ServerAddress, Stats> stats = new ConcurrentHashMap<>();
+
+    public EwmaLatencyPolicy() {
+        this(DEFAULT_ALPHA, DEFAULT_FAILURE_PENALTY_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a policy with custom weight and failure penalty.
+     *
+     * @param alpha weight of the latest sample, between 0 and 1
+     * @param failurePenalty latency counted for a failed request
+     * @param timeUnit unit of failure penalty
+     */
+    public EwmaLatencyPolicy(double alpha, long failurePenalty, @NonNull TimeUnit timeUnit) {
+        this(alpha, timeUnit.toNanos(failurePenalty), DEFAULT_DECAY_PERIOD_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a policy with custom weight, failure penalty and decay period.
+     *
+     * @param alpha weight of the latest sample, between 0 and 1
+     * @param failurePenalty latency counted for a failed request
+     * @param decayPeriod time without sample after which the average moves halfway to the cold start latency
+     * @param timeUnit unit of failure penalty and decay period
+     */
+    public EwmaLatencyPolicy(double alpha, long failurePenalty, long decayPeriod, @NonNull TimeUnit timeUnit) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new ParamException("EWMA alpha must be in (0, 1]");
+        }
+        if (failurePenalty < 0) {
+            throw new ParamException("Failure penalty cannot be negative");
+        }
+        if (decayPeriod <= 0) {
+            throw new ParamException("Decay period must be positive");
+        }
+        this.alpha = alpha;
+        this.failurePenaltyNanos = timeUnit.toNanos(failurePenalty);
+        this.decayPeriodNanos = timeUnit.toNanos(decayPeriod);
+    }
+
+    @Override
+    public ServerSetting select(@NonNull List<ServerSetting> servers) {
+        ServerSetting best = null;
+        double bestCost = Double.MAX_VALUE;
+        for (ServerSetting server : servers) {
+            Stats s = stats.get(server.getServerAddress());
+            double cost = (s == null) ? INITIAL_LATENCY_NANOS : s.cost(decayPeriodNanos);
+            if (cost < bestCost) {
+                best = server;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void onRequestStart(ServerSetting server) {
+        statsOf(server).start();
+    }
+
+    @Override
+    public void onRequestComplete(ServerSetting server, long latencyNanos, boolean success) {
+        long sample = success ? latencyNanos : Math.max(latencyNanos, failurePenaltyNanos);
+        statsOf(server).complete(sample, alpha, decayPeriodNanos);
+    }
+
+    /**
+     * A cancelled request only releases its slot. Its elapsed time is recorded if it is above the average,
+     * as the server is known to be at least that slow.
+     */
+    @Override
+    public void onRequestCancelled(ServerSetting server, long elapsedNanos) {
+        statsOf(server).cancel(elapsedNanos, alpha, decayPeriodNanos);
+    }
+
+    /**
+     * Gets the average latency of a server, including the decay since its last sample.
+     *
+     * @param server server setting
+     * @return <code>double</code> average latency in nanoseconds, zero if there is no sample
+     */
+    public double getAverageLatencyNanos(@NonNull ServerSetting server) {
+        Stats s = stats.get(server.getServerAddress());
+        return s == null ? 0 : s.getAverage(decayPeriodNanos);
+    }
+
+    private Stats statsOf(ServerSetting server) {
+        return stats.computeIfAbsent(server.getServerAddress(), address -> new Stats());
+    }
+
+    private static final class Stats {
+        private double average = 0;
+        private boolean sampled = false;
+        private long sampledNanos = 0;
+        private int outstanding = 0;
+
+        synchronized void start() {
+            outstanding++;
+        }
+
+        synchronized void complete(long latencyNanos, double alpha, long decayPeriodNanos) {
+            outstanding--;
+            record(latencyNanos, alpha, decayPeriodNanos);
+        }
+
+        synchronized void cancel(long elapsedNanos, double alpha, long decayPeriodNanos) {
+            outstanding--;
+            if (!sampled || elapsedNanos > decayed(decayPeriodNanos)) {
+                record(elapsedNanos, alpha, decayPeriodNanos);
+            }
+        }
+
+        private void record(long latencyNanos, double alpha, long decayPeriodNanos) {
+            average = sampled ? alpha * latencyNanos + (1 - alpha) * decayed(decayPeriodNanos) : latencyNanos;
+            sampled = true;
+            sampledNanos = System.nanoTime();
+        }
+
+        // halves the gap to the cold start latency for each full decay period since the last sample
+        private double decayed(long decayPeriodNanos) {
+            long periods = (System.nanoTime() - sampledNanos) / decayPeriodNanos;
+            if (periods <= 0) {
+                return average;
+            }
+            return INITIAL_LATENCY_NANOS + (average - INITIAL_LATENCY_NANOS) * Math.pow(0.5, periods);
+        }
+
+        synchronized double getAverage(long decayPeriodNanos) {
+            return sampled ? decayed(decayPeriodNanos) : 0;
+        }
+
+        synchronized double cost(long decayPeriodNanos) {
+            return (sampled ? decayed(decayPeriodNanos) : INITIAL_LATENCY_NANOS) * (outstanding + 1);
+        }
+    }
+}
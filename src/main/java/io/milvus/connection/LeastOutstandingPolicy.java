@@ -0,0 +1,60 @@
+package io.milvus.connection;
+
+import io.milvus.param.ServerAddress;
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read requests to the available server with the least requests in flight.
+ * Servers with the same count are chosen in turn.
+ */
+public class LeastOutstandingPolicy implements LoadBalancePolicy {
+    private final Map<ServerAddress, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    @Override
+    public ServerSetting select(@NonNull List<ServerSetting> servers) {
+        int size = servers.size();
+        int start = Math.floorMod(counter.getAndIncrement(), size);
+        ServerSetting best = null;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = 0; i < size; ++i) {
+            ServerSetting server = servers.get((start + i) % size);
+            int count = getOutstanding(server);
+            if (count < bestCount) {
+                best = server;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public void onRequestStart(ServerSetting server) {
+        counterOf(server).incrementAndGet();
+    }
+
+    @Override
+    public void onRequestComplete(ServerSetting server, long latencyNanos, boolean success) {
+        counterOf(server).decrementAndGet();
+    }
+
+    /**
+     * Gets the count of requests in flight of a server.
+     *
+     * @param server server setting
+     * @return <code>int</code> count of requests in flight
+     */
+    public int getOutstanding(@NonNull ServerSetting server) {
+        AtomicInteger count = outstanding.get(server.getServerAddress());
+        return count == null ? 0 : count.get();
+    }
+
+    private AtomicInteger counterOf(ServerSetting server) {
+        return outstanding.computeIfAbsent(server.getServerAddress(), address -> new AtomicInteger(0));
+    }
+}
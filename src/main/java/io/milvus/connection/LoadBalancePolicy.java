@@ -0,0 +1,50 @@
+package io.milvus.connection;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Policy to choose a server for read requests(search/query) of multi cluster client.
+ * The client reports each request to the policy so that load-aware policies can track the servers.
+ */
+public interface LoadBalancePolicy {
+
+    /**
+     * Chooses a server from the available servers.
+     *
+     * @param servers available servers, never empty
+     * @return {@link ServerSetting}
+     */
+    ServerSetting select(@NonNull List<ServerSetting> servers);
+
+    /**
+     * Called before a request is sent to a server.
+     *
+     * @param server the chosen server
+     */
+    default void onRequestStart(ServerSetting server) {
+    }
+
+    /**
+     * Called after a request to a server is done.
+     *
+     * @param server the chosen server
+     * @param latencyNanos latency of the request, unit: nanosecond
+     * @param success whether the request succeeded
+     */
+    default void onRequestComplete(ServerSetting server, long latencyNanos, boolean success) {
+    }
+
+    /**
+     * Called after a request to a server is cancelled before it is done, e.g. the loser of hedged requests.
+     * The elapsed time is only a lower bound of the latency of the server.
+     * By default it is reported as a failed request.
+     *
+     * @param server the chosen server
+     * @param elapsedNanos time from the start of the request to the cancellation, unit: nanosecond
+     */
+    default void onRequestCancelled(ServerSetting server, long elapsedNanos) {
+        onRequestComplete(server, elapsedNanos, false);
+    }
+}
@@ -0,0 +1,18 @@
+package io.milvus.connection;
+
+import lombok.NonNull;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read requests to the available servers in turn.
+ */
+public class RoundRobinPolicy implements LoadBalancePolicy {
+    private final AtomicInteger counter = new AtomicInteger(0);
+
+    @Override
+    public ServerSetting select(@NonNull List<ServerSetting> servers) {
+        return servers.get(Math.floorMod(counter.getAndIncrement(), servers.size()));
+    }
+}
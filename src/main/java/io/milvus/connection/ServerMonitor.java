@@ -1,101 +1,219 @@
 package io.milvus.connection;
 
 import io.milvus.param.QueryNodeSingleSearch;
+import io.milvus.param.ServerAddress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * Monitor with scheduling to check server healthy state.
+ * All the servers are probed in parallel at each heartbeat, a probe not finished before the deadline is a failure.
+ * A server is marked unavailable after several consecutive failures, and available again after several
+ * consecutive successes, so a single slow probe doesn't flip the state.
  */
 public class ServerMonitor {
 
     private static final Logger logger = LoggerFactory.getLogger(ServerMonitor.class);
 
-    private static final long heartbeatInterval = 10 * 1000;
-
-    private Long lastHeartbeat;
+    private static final long DEFAULT_HEARTBEAT_INTERVAL_MS = 10 * 1000;
+    private static final long DEFAULT_PROBE_TIMEOUT_MS = 6 * 1000;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 2;
+    private static final int DEFAULT_SUCCESS_THRESHOLD = 2;
+    // heartbeats are spread by +/- 10% of the interval so that many clients don't probe at the same time
+    private static final double JITTER_RATIO = 0.1;
 
     private final List<Listener> listeners;
 
     private final ClusterFactory clusterFactory;
 
-    private final Thread monitorThread;
+    private final long heartbeatIntervalMs;
+    private final long probeTimeoutMs;
+    private final int failureThreshold;
+    private final int successThreshold;
+
+    // only accessed by the scheduler thread
+    private final Map<ServerAddress, ServerState> serverStates = new HashMap<>();
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService probeExecutor;
     private volatile boolean isRunning;
 
     public ServerMonitor(ClusterFactory clusterFactory, QueryNodeSingleSearch queryNodeSingleSearch) {
+        this(clusterFactory, buildListeners(queryNodeSingleSearch), DEFAULT_HEARTBEAT_INTERVAL_MS,
+                DEFAULT_PROBE_TIMEOUT_MS, DEFAULT_FAILURE_THRESHOLD, DEFAULT_SUCCESS_THRESHOLD);
+    }
+
+    /**
+     * Creates a monitor with custom listeners and thresholds.
+     *
+     * @param clusterFactory cluster to monitor
+     * @param listeners listeners to check a server, all of them must succeed
+     * @param heartbeatIntervalMs interval between two heartbeats
+     * @param probeTimeoutMs deadline of probing all the servers in a heartbeat
+     * @param failureThreshold consecutive failures to mark a server unavailable
+     * @param successThreshold consecutive successes to mark a server available again
+     */
+    public ServerMonitor(ClusterFactory clusterFactory, List<Listener> listeners, long heartbeatIntervalMs,
+                         long probeTimeoutMs, int failureThreshold, int successThreshold) {
+        this.listeners = listeners;
+        this.clusterFactory = clusterFactory;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.probeTimeoutMs = probeTimeoutMs;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.successThreshold = Math.max(1, successThreshold);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("Milvus-server-monitor"));
+        this.probeExecutor = Executors.newCachedThreadPool(daemonThreadFactory("Milvus-server-probe"));
+        this.isRunning = true;
+    }
+
+    private static List<Listener> buildListeners(QueryNodeSingleSearch queryNodeSingleSearch) {
         if (null != queryNodeSingleSearch) {
-            this.listeners = Arrays.asList(new ClusterListener(), new QueryNodeListener(queryNodeSingleSearch));
+            return Arrays.asList(new ClusterListener(), new QueryNodeListener(queryNodeSingleSearch));
         } else {
-            this.listeners = Collections.singletonList(new ClusterListener());
+            return Collections.singletonList(new ClusterListener());
         }
-        this.clusterFactory = clusterFactory;
+    }
 
-        ServerMonitorRunnable monitor = new ServerMonitorRunnable();
-        this.monitorThread = new Thread(monitor, "Milvus-server-monitor");
-        this.monitorThread.setDaemon(true);
-        this.isRunning = true;
+    private static ThreadFactory daemonThreadFactory(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     public void start() {
         logger.info("Milvus Server Monitor start.");
-        monitorThread.start();
+        scheduler.execute(this::heartbeat);
     }
 
     public void close() {
         isRunning = false;
         logger.info("Milvus Server Monitor close.");
-        monitorThread.interrupt();
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
     }
 
-    private class ServerMonitorRunnable implements Runnable {
-        public void run() {
-            while (isRunning) {
-                long startTime = System.currentTimeMillis();
+    private void scheduleNextHeartbeat() {
+        if (!isRunning) {
+            return;
+        }
+
+        long jitter = (long) (heartbeatIntervalMs * JITTER_RATIO);
+        long delay = heartbeatIntervalMs + (jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0);
+        try {
+            scheduler.schedule(this::heartbeat, delay, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // the monitor is closed
+            logger.debug("Milvus Server Monitor stopped scheduling.");
+        }
+    }
 
-                if (null == lastHeartbeat || startTime - lastHeartbeat > heartbeatInterval) {
+    private void heartbeat() {
+        try {
+            List<ServerSetting> availableServer = getAvailableServer();
+            clusterFactory.availableServerChange(availableServer);
 
-                    lastHeartbeat = startTime;
+            if (!clusterFactory.masterIsRunning()) {
+                ServerSetting master = clusterFactory.electMaster();
 
-                    try {
-                        List<ServerSetting> availableServer = getAvailableServer();
-                        clusterFactory.availableServerChange(availableServer);
-                    } catch (Exception e) {
-                        logger.error("Milvus Server Heartbeat error, monitor will stop.", e);
-                    }
+                logger.warn("Milvus Server Heartbeat. Master is Not Running, Re-Elect [{}] to master.",
+                        master.getServerAddress().getHost());
 
-                    if (!clusterFactory.masterIsRunning()) {
-                        ServerSetting master = clusterFactory.electMaster();
+                clusterFactory.masterChange(master);
+            } else {
+                logger.debug("Milvus Server Heartbeat. Master is Running.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            logger.error("Milvus Server Heartbeat error.", e);
+        }
 
-                        logger.warn("Milvus Server Heartbeat. Master is Not Running, Re-Elect [{}] to master.",
-                                master.getServerAddress().getHost());
+        scheduleNextHeartbeat();
+    }
 
-                        clusterFactory.masterChange(master);
-                    } else {
-                        logger.debug("Milvus Server Heartbeat. Master is Running.");
-                    }
-                }
+    private List<ServerSetting> getAvailableServer() throws InterruptedException {
+        List<ServerSetting> serverSettings = clusterFactory.getServerSettings();
+        List<Future<Boolean>> probes = serverSettings.stream()
+                .map(serverSetting -> probeExecutor.submit(() -> checkServerState(serverSetting)))
+                .collect(Collectors.toList());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(probeTimeoutMs);
+        List<ServerSetting> availableServer = new ArrayList<>(serverSettings.size());
+        for (int i = 0; i < serverSettings.size(); ++i) {
+            ServerSetting serverSetting = serverSettings.get(i);
+            Future<Boolean> probe = probes.get(i);
+            boolean isRunning = false;
+            try {
+                isRunning = probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                probe.cancel(true);
+                logger.warn("Host [{}] heartbeat timeout after {} ms.",
+                        serverSetting.getServerAddress().getHost(), probeTimeoutMs);
+            } catch (ExecutionException e) {
+                logger.error("Host [{}] heartbeat Error.", serverSetting.getServerAddress().getHost(), e.getCause());
             }
 
+            if (updateServerState(serverSetting, isRunning)) {
+                availableServer.add(serverSetting);
+            }
         }
+        return availableServer;
+    }
 
-        private List<ServerSetting> getAvailableServer() {
-            return clusterFactory.getServerSettings().stream()
-                    .filter(this::checkServerState).collect(Collectors.toList());
+    private boolean checkServerState(ServerSetting serverSetting) {
+        for (Listener listener : listeners) {
+            boolean isRunning = listener.heartBeat(serverSetting);
+            if (!isRunning) {
+                return false;
+            }
         }
+        return true;
+    }
 
-        private boolean checkServerState(ServerSetting serverSetting) {
-            for (Listener listener : listeners) {
-                boolean isRunning = listener.heartBeat(serverSetting);
-                if (!isRunning) {
-                    return false;
-                }
+    private boolean updateServerState(ServerSetting serverSetting, boolean probeSuccess) {
+        ServerState state = serverStates.computeIfAbsent(serverSetting.getServerAddress(), key -> new ServerState());
+        if (probeSuccess) {
+            state.consecutiveFailures = 0;
+            if (!state.available && ++state.consecutiveSuccesses >= successThreshold) {
+                state.available = true;
+                logger.info("Host [{}] is available again.", serverSetting.getServerAddress().getHost());
+            }
+        } else {
+            state.consecutiveSuccesses = 0;
+            if (state.available && ++state.consecutiveFailures >= failureThreshold) {
+                state.available = false;
+                logger.warn("Host [{}] is unavailable after {} failed heartbeats.",
+                        serverSetting.getServerAddress().getHost(), state.consecutiveFailures);
             }
-            return true;
         }
+        return state.available;
+    }
+
+    private static final class ServerState {
+        // all the servers are available when the cluster factory is created
+        private boolean available = true;
+        private int consecutiveFailures = 0;
+        private int consecutiveSuccesses = 0;
     }
 }
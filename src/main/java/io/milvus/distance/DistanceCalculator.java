@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.distance;
+
+import io.milvus.exception.ParamException;
+import io.milvus.param.BinaryVector;
+import io.milvus.param.BinaryVectors;
+import io.milvus.param.MetricType;
+import io.milvus.param.dml.CalcDistanceParam;
+import lombok.NonNull;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Calculates distances between vectors in the client, without calling the <code>calcDistance</code> interface.
+ * It saves the network round trip for small jobs such as re-scoring the results of a search.
+ *
+ * Float vectors support L2 (squared Euclidean distance, the same as the server) and IP.
+ * Binary vectors support HAMMING, JACCARD and TANIMOTO.
+ * The result is a matrix, the element at [i][j] is the distance between the i-th left vector and
+ * the j-th right vector. Large matrices are calculated in parallel by the common fork-join pool.
+ */
+public final class DistanceCalculator {
+    // count of multiply-adds or popcount words, below which the calculation is not worth splitting
+    private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    private DistanceCalculator() {
+    }
+
+    /**
+     * Calculates distances of the float vectors of a {@link CalcDistanceParam} locally.
+     *
+     * @param requestParam {@link CalcDistanceParam}
+     * @return <code>float[][]</code> distance matrix
+     */
+    public static float[][] calcDistance(@NonNull CalcDistanceParam requestParam) throws ParamException {
+        return calcFloatDistance(toArrays(requestParam.getVectorsLeft()), toArrays(requestParam.getVectorsRight()),
+                MetricType.valueOf(requestParam.getMetricType()));
+    }
+
+    /**
+     * Calculates distances between float vectors.
+     *
+     * @param left left vectors, each row is a vector
+     * @param right right vectors, each row is a vector
+     * @param metricType L2 or IP
+     * @return <code>float[][]</code> distance matrix
+     */
+    public static float[][] calcFloatDistance(@NonNull float[][] left, @NonNull float[][] right,
+                                              @NonNull MetricType metricType) throws ParamException {
+        int dim = checkDimension(left.length, right.length, left.length > 0 ? left[0].length : 0,
+                right.length > 0 ? right[0].length : 0);
+        for (float[] vector : left) {
+            checkVectorDimension(vector.length, dim);
+        }
+        for (float[] vector : right) {
+            checkVectorDimension(vector.length, dim);
+        }
+
+        switch (metricType) {
+            case L2:
+                return calculate(left.length, right.length, dim, (i, j) -> l2(left[i], right[j]));
+            case IP:
+                return calculate(left.length, right.length, dim, (i, j) -> innerProduct(left[i], right[j]));
+            default:
+                throw new ParamException("Metric type " + metricType + " is not supported for float vectors");
+        }
+    }
+
+    /**
+     * Calculates distances between binary vectors, each element of the lists is a <code>ByteBuffer</code> or a
+     * {@link BinaryVector}. The content of each buffer is read in the same way as <code>search</code>,
+     * the buffers are not modified.
+     *
+     * @param left left vectors
+     * @param right right vectors
+     * @param metricType HAMMING, JACCARD or TANIMOTO
+     * @return <code>float[][]</code> distance matrix
+     */
+    public static float[][] calcBinaryDistance(@NonNull List<?> left, @NonNull List<?> right,
+                                               @NonNull MetricType metricType) throws ParamException {
+        BinaryVector[] leftVectors = toBinaryVectors(left);
+        BinaryVector[] rightVectors = toBinaryVectors(right);
+        int dim = checkDimension(leftVectors.length, rightVectors.length,
+                leftVectors.length > 0 ? leftVectors[0].getDim() : 0,
+                rightVectors.length > 0 ? rightVectors[0].getDim() : 0);
+        long[][] leftWords = new long[leftVectors.length][];
+        for (int i = 0; i < leftVectors.length; ++i) {
+            checkVectorDimension(leftVectors[i].getDim(), dim);
+            leftWords[i] = leftVectors[i].getWords();
+        }
+        long[][] rightWords = new long[rightVectors.length][];
+        for (int i = 0; i < rightVectors.length; ++i) {
+            checkVectorDimension(rightVectors[i].getDim(), dim);
+            rightWords[i] = rightVectors[i].getWords();
+        }
+
+        int words = leftWords[0].length;
+        switch (metricType) {
+            case HAMMING:
+                return calculate(left.size(), right.size(), words,
+                        (i, j) -> BinaryVectors.hamming(leftWords[i], rightWords[j]));
+            case JACCARD:
+                return calculate(left.size(), right.size(), words,
+                        (i, j) -> BinaryVectors.jaccard(leftWords[i], rightWords[j]));
+            case TANIMOTO:
+                return calculate(left.size(), right.size(), words,
+                        (i, j) -> BinaryVectors.tanimoto(leftWords[i], rightWords[j]));
+            default:
+                throw new ParamException("Metric type " + metricType + " is not supported for binary vectors");
+        }
+    }
+
+    private interface PairKernel {
+        float apply(int left, int right);
+    }
+
+    private static float[][] calculate(int rows, int cols, int dim, PairKernel kernel) {
+        float[][] result = new float[rows][cols];
+        boolean parallel = (long) rows * cols * dim >= PARALLEL_THRESHOLD;
+        if (parallel && rows > 1) {
+            IntStream.range(0, rows).parallel().forEach(i -> fillRow(result[i], i, kernel));
+        } else if (parallel) {
+            // a single left vector against many right vectors
+            IntStream.range(0, cols).parallel().forEach(j -> result[0][j] = kernel.apply(0, j));
+        } else {
+            for (int i = 0; i < rows; ++i) {
+                fillRow(result[i], i, kernel);
+            }
+        }
+        return result;
+    }
+
+    private static void fillRow(float[] row, int i, PairKernel kernel) {
+        for (int j = 0; j < row.length; ++j) {
+            row[j] = kernel.apply(i, j);
+        }
+    }
+
+    // the loops are unrolled with independent accumulators, so that the additions don't wait for each other
+    static float l2(float[] a, float[] b) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int n = a.length;
+        int bound = n & ~3;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            float d0 = a[i] - b[i];
+            float d1 = a[i + 1] - b[i + 1];
+            float d2 = a[i + 2] - b[i + 2];
+            float d3 = a[i + 3] - b[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < n; ++i) {
+            float d = a[i] - b[i];
+            s0 += d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    static float innerProduct(float[] a, float[] b) {
+        float s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int n = a.length;
+        int bound = n & ~3;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < n; ++i) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static int checkDimension(int leftCount, int rightCount, int leftDim, int rightDim) {
+        if (leftCount == 0) {
+            throw new ParamException("Left vectors can not be empty");
+        }
+        if (rightCount == 0) {
+            throw new ParamException("Right vectors can not be empty");
+        }
+        if (leftDim != rightDim) {
+            throw new ParamException("Left and right vectors must have the same dimension");
+        }
+        return leftDim;
+    }
+
+    private static void checkVectorDimension(int dim, int expected) {
+        if (dim != expected) {
+            throw new ParamException("Vector's dimension must be equal");
+        }
+    }
+
+    private static float[][] toArrays(List<List<Float>> vectors) {
+        float[][] arrays = new float[vectors.size()][];
+        for (int i = 0; i < arrays.length; ++i) {
+            List<Float> vector = vectors.get(i);
+            float[] array = new float[vector.size()];
+            for (int j = 0; j < array.length; ++j) {
+                array[j] = vector.get(j);
+            }
+            arrays[i] = array;
+        }
+        return arrays;
+    }
+
+    // ByteBuffer vectors are packed into 64-bit words for popcount
+    private static BinaryVector[] toBinaryVectors(List<?> vectors) {
+        BinaryVector[] result = new BinaryVector[vectors.size()];
+        for (int i = 0; i < result.length; ++i) {
+            Object vector = vectors.get(i);
+            if (vector instanceof BinaryVector) {
+                result[i] = (BinaryVector) vector;
+            } else if (vector instanceof ByteBuffer) {
+                result[i] = BinaryVector.fromByteBuffer((ByteBuffer) vector);
+            } else {
+                throw new ParamException("Binary vector must be ByteBuffer or BinaryVector");
+            }
+        }
+        return result;
+    }
+}
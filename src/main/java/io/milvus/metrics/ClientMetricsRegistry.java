@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A built-in in-memory metrics registry, for applications without a metrics library.
+ * Latencies are kept per method and per method and collection, counters are cumulative since creation.
+ */
+public class ClientMetricsRegistry implements MetricsRecorder {
+    private final Map<String, LatencyHistogram> methodLatencies = new ConcurrentHashMap<>();
+    private final Map<MethodKey, LatencyHistogram> collectionLatencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> callsInFlight = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requestBytes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> responseBytes = new ConcurrentHashMap<>();
+    private final Map<MethodKey, LongAdder> errors = new ConcurrentHashMap<>();
+    private final Map<MethodKey, LongAdder> rows = new ConcurrentHashMap<>();
+
+    @Override
+    public void onCallStarted(String method) {
+        callsInFlight.computeIfAbsent(method, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    @Override
+    public void onCallCompleted(RpcCallMetrics metrics) {
+        String method = metrics.getMethod();
+        callsInFlight.computeIfAbsent(method, k -> new AtomicInteger()).decrementAndGet();
+
+        methodLatencies.computeIfAbsent(method, k -> new LatencyHistogram()).record(metrics.getLatencyNanos());
+        if (!metrics.getCollectionName().isEmpty()) {
+            collectionLatencies.computeIfAbsent(new MethodKey(method, metrics.getCollectionName()),
+                    k -> new LatencyHistogram()).record(metrics.getLatencyNanos());
+        }
+
+        requestBytes.computeIfAbsent(method, k -> new LongAdder()).add(metrics.getRequestBytes());
+        responseBytes.computeIfAbsent(method, k -> new LongAdder()).add(metrics.getResponseBytes());
+
+        if (!metrics.isSuccess()) {
+            // a gRPC failure has no milvus error code
+            String code = metrics.getErrorCode().isEmpty() ? metrics.getGrpcStatus() : metrics.getErrorCode();
+            errors.computeIfAbsent(new MethodKey(method, code), k -> new LongAdder()).increment();
+        }
+
+        if (metrics.getRows() > 0) {
+            rows.computeIfAbsent(new MethodKey(method, metrics.getCollectionName()),
+                    k -> new LongAdder()).add(metrics.getRows());
+        }
+    }
+
+    /**
+     * Gets the latency histogram of a method over all the collections.
+     *
+     * @param method bare name of the RPC method
+     * @return {@link LatencyHistogram} empty histogram if the method is never called
+     */
+    public LatencyHistogram getLatency(String method) {
+        return methodLatencies.getOrDefault(method, new LatencyHistogram());
+    }
+
+    /**
+     * Gets the latency histogram of a method on a collection.
+     *
+     * @param method bare name of the RPC method
+     * @param collectionName collection name
+     * @return {@link LatencyHistogram} empty histogram if the method is never called on the collection
+     */
+    public LatencyHistogram getLatency(String method, String collectionName) {
+        return collectionLatencies.getOrDefault(new MethodKey(method, collectionName), new LatencyHistogram());
+    }
+
+    public int getCallsInFlight(String method) {
+        AtomicInteger calls = callsInFlight.get(method);
+        return null == calls ? 0 : calls.get();
+    }
+
+    public long getRequestBytes(String method) {
+        LongAdder bytes = requestBytes.get(method);
+        return null == bytes ? 0 : bytes.sum();
+    }
+
+    public long getResponseBytes(String method) {
+        LongAdder bytes = responseBytes.get(method);
+        return null == bytes ? 0 : bytes.sum();
+    }
+
+    /**
+     * Gets the count of failed calls of a method with an error code.
+     *
+     * @param method bare name of the RPC method
+     * @param code milvus error code, or gRPC status code if the call failed without response
+     * @return <code>long</code> count of failed calls
+     */
+    public long getErrorCount(String method, String code) {
+        LongAdder count = errors.get(new MethodKey(method, code));
+        return null == count ? 0 : count.sum();
+    }
+
+    /**
+     * Gets the rows inserted or deleted by a method, or the queries searched by <code>Search</code>.
+     *
+     * @param method bare name of the RPC method
+     * @param collectionName collection name
+     * @return <code>long</code> count of rows
+     */
+    public long getRows(String method, String collectionName) {
+        LongAdder count = rows.get(new MethodKey(method, collectionName));
+        return null == count ? 0 : count.sum();
+    }
+
+    private static final class MethodKey {
+        private final String method;
+        private final String label;
+
+        MethodKey(String method, String label) {
+            this.method = method;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            MethodKey other = (MethodKey) o;
+            return method.equals(other.method) && label.equals(other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * method.hashCode() + label.hashCode();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with exponential buckets from 10 microseconds to 100 seconds,
+ * each bucket is 20% wider than the previous one, so a percentile is accurate within 20%.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS = buildBucketBounds(TimeUnit.MICROSECONDS.toNanos(10),
+            TimeUnit.SECONDS.toNanos(100), 1.2);
+
+    // the last bucket holds latencies larger than the last bound
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong(0);
+
+    private static long[] buildBucketBounds(long minNanos, long maxNanos, double growth) {
+        long[] bounds = new long[128];
+        int size = 0;
+        double bound = minNanos;
+        while (size < bounds.length) {
+            bounds[size++] = (long) bound;
+            if (bound >= maxNanos) {
+                break;
+            }
+            bound *= growth;
+        }
+        return Arrays.copyOf(bounds, size);
+    }
+
+    public void record(long latencyNanos) {
+        long latency = Math.max(0, latencyNanos);
+        int index = Arrays.binarySearch(BUCKET_BOUNDS, latency);
+        buckets.incrementAndGet(index >= 0 ? index : -index - 1);
+        count.increment();
+        totalNanos.add(latency);
+        maxNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the upper bound of the bucket in which the percentile falls, never larger than the max latency.
+     *
+     * @param percentile percentile between 0 and 100, e.g. 99
+     * @return <code>long</code> latency in nanoseconds, zero if nothing is recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; ++i) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total));
+        long max = maxNanos.get();
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_BOUNDS.length; ++i) {
+            cumulative += counts[i];
+            if (cumulative >= rank) {
+                return Math.min(BUCKET_BOUNDS[i], max);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import com.google.protobuf.Descriptors;
+import com.google.protobuf.Message;
+import com.google.protobuf.MessageLite;
+import io.grpc.*;
+import io.milvus.grpc.MutationResult;
+import io.milvus.grpc.SearchResults;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures each RPC and reports it to a {@link MetricsRecorder}: latency, payload sizes, gRPC status and
+ * milvus error code. The collection name is read from the <code>collection_name</code> field of the request,
+ * and the rows are read from insert, delete and search responses.
+ */
+public class MetricsInterceptor implements ClientInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsInterceptor.class);
+
+    private final MetricsRecorder recorder;
+
+    public MetricsInterceptor(@NonNull MetricsRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        String methodName = MethodDescriptor.extractBareMethodName(method.getFullMethodName());
+        return new MetricsCall<>(next.newCall(method, callOptions), null == methodName ? "" : methodName);
+    }
+
+    private static String collectionNameOf(Object request) {
+        if (!(request instanceof Message)) {
+            return "";
+        }
+        Message message = (Message) request;
+        Descriptors.FieldDescriptor field = message.getDescriptorForType().findFieldByName("collection_name");
+        if (null == field || field.getJavaType() != Descriptors.FieldDescriptor.JavaType.STRING) {
+            return "";
+        }
+        return (String) message.getField(field);
+    }
+
+    private static String errorCodeOf(Object response) {
+        if (response instanceof io.milvus.grpc.Status) {
+            return ((io.milvus.grpc.Status) response).getErrorCode().name();
+        }
+        if (!(response instanceof Message)) {
+            return "";
+        }
+        Message message = (Message) response;
+        Descriptors.FieldDescriptor field = message.getDescriptorForType().findFieldByName("status");
+        if (null == field || field.getJavaType() != Descriptors.FieldDescriptor.JavaType.MESSAGE) {
+            return "";
+        }
+        Object status = message.getField(field);
+        return status instanceof io.milvus.grpc.Status ? ((io.milvus.grpc.Status) status).getErrorCode().name() : "";
+    }
+
+    private static long rowsOf(String method, Object response) {
+        if (response instanceof MutationResult) {
+            MutationResult result = (MutationResult) response;
+            return "Delete".equals(method) ? result.getDeleteCnt() : result.getInsertCnt();
+        }
+        if (response instanceof SearchResults) {
+            return ((SearchResults) response).getResults().getNumQueries();
+        }
+        return 0;
+    }
+
+    private static long serializedSize(Object message) {
+        return message instanceof MessageLite ? ((MessageLite) message).getSerializedSize() : 0;
+    }
+
+    private final class MetricsCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+        private final String method;
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+        private volatile long startNanos;
+        private volatile String collectionName = "";
+        private volatile long requestBytes = 0;
+        private volatile long responseBytes = 0;
+        private volatile Object response;
+
+        MetricsCall(ClientCall<ReqT, RespT> delegate, String method) {
+            super(delegate);
+            this.method = method;
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            startNanos = System.nanoTime();
+            try {
+                recorder.onCallStarted(method);
+            } catch (RuntimeException e) {
+                // a broken recorder must not fail the request
+                logger.warn("Metrics recorder failed on start of {}", method, e);
+            }
+            try {
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(
+                        responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        // the service only has unary calls, the last message is the response
+                        responseBytes += serializedSize(message);
+                        response = message;
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        complete(status);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            } catch (RuntimeException e) {
+                complete(Status.fromThrowable(e));
+                throw e;
+            }
+        }
+
+        @Override
+        public void sendMessage(ReqT message) {
+            collectionName = collectionNameOf(message);
+            requestBytes += serializedSize(message);
+            super.sendMessage(message);
+        }
+
+        private void complete(Status status) {
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            Object received = response;
+            RpcCallMetrics metrics = new RpcCallMetrics(method, collectionName, status.getCode().name(),
+                    errorCodeOf(received), System.nanoTime() - startNanos, requestBytes, responseBytes,
+                    status.isOk() ? rowsOf(method, received) : 0);
+            try {
+                recorder.onCallCompleted(metrics);
+            } catch (RuntimeException e) {
+                // a broken recorder must not fail the request
+                logger.warn("Metrics recorder failed on {}", metrics, e);
+            }
+        }
+    }
+}
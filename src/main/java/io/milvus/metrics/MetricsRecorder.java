@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+/**
+ * Receives the metrics of each RPC sent by a client. Set an implementation by
+ * {@link io.milvus.param.ConnectParam.Builder#withMetricsRecorder(MetricsRecorder)}.
+ *
+ * The methods are called on gRPC threads, implementations must be thread-safe and must not block.
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Called when an RPC is started.
+     *
+     * @param method bare name of the RPC method, e.g. <code>Search</code>
+     */
+    void onCallStarted(String method);
+
+    /**
+     * Called when an RPC is finished, successfully or not.
+     *
+     * @param metrics metrics of the RPC
+     */
+    void onCallCompleted(RpcCallMetrics metrics);
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reports the client metrics to a Micrometer registry. Micrometer is an optional dependency,
+ * the application must add <code>micrometer-core</code> to use this class.
+ *
+ * Meters:
+ * <ul>
+ *     <li><code>milvus.client.requests</code> timer, tagged by method, status and error_code,
+ *     with a percentile histogram so that the backend can alert on p99 latency</li>
+ *     <li><code>milvus.client.requests.in_flight</code> gauge, tagged by method</li>
+ *     <li><code>milvus.client.request.bytes</code> and <code>milvus.client.response.bytes</code>
+ *     summaries, tagged by method</li>
+ *     <li><code>milvus.client.rows</code> counter, tagged by method</li>
+ * </ul>
+ *
+ * The requests timer and the rows counter can be tagged by collection too. A histogram is kept for each tag
+ * tuple, so the collection tag is disabled by default, enable it only if the count of collections is small.
+ * Meters are registered once and reused by later calls.
+ */
+public class MicrometerMetricsRecorder implements MetricsRecorder {
+    private final MeterRegistry registry;
+    private final boolean collectionTag;
+    // the registry only keeps weak references to gauge objects
+    private final Map<String, AtomicInteger> callsInFlight = new ConcurrentHashMap<>();
+    private final Map<List<String>, Timer> requestTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestBytes = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> responseBytes = new ConcurrentHashMap<>();
+    private final Map<List<String>, Counter> rowCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a recorder without the collection tag.
+     *
+     * @param registry Micrometer registry
+     */
+    public MicrometerMetricsRecorder(@NonNull MeterRegistry registry) {
+        this(registry, false);
+    }
+
+    /**
+     * Creates a recorder.
+     *
+     * @param registry Micrometer registry
+     * @param collectionTag tags the requests timer and the rows counter by collection if it is true
+     */
+    public MicrometerMetricsRecorder(@NonNull MeterRegistry registry, boolean collectionTag) {
+        this.registry = registry;
+        this.collectionTag = collectionTag;
+    }
+
+    @Override
+    public void onCallStarted(String method) {
+        inFlight(method).incrementAndGet();
+    }
+
+    @Override
+    public void onCallCompleted(RpcCallMetrics metrics) {
+        String method = metrics.getMethod();
+        String collection = collectionTag ? metrics.getCollectionName() : "";
+        inFlight(method).decrementAndGet();
+
+        List<String> timerKey = Arrays.asList(method, collection, metrics.getGrpcStatus(), metrics.getErrorCode());
+        requestTimers.computeIfAbsent(timerKey, key -> Timer.builder("milvus.client.requests")
+                        .tags(withCollection(Tags.of("method", method,
+                                "status", metrics.getGrpcStatus(),
+                                "error_code", metrics.getErrorCode()), collection))
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(metrics.getLatencyNanos(), TimeUnit.NANOSECONDS);
+
+        requestBytes.computeIfAbsent(method, key -> DistributionSummary.builder("milvus.client.request.bytes")
+                        .baseUnit("bytes")
+                        .tag("method", method)
+                        .register(registry))
+                .record(metrics.getRequestBytes());
+        responseBytes.computeIfAbsent(method, key -> DistributionSummary.builder("milvus.client.response.bytes")
+                        .baseUnit("bytes")
+                        .tag("method", method)
+                        .register(registry))
+                .record(metrics.getResponseBytes());
+
+        if (metrics.getRows() > 0) {
+            rowCounters.computeIfAbsent(Arrays.asList(method, collection), key -> Counter.builder("milvus.client.rows")
+                            .tags(withCollection(Tags.of("method", method), collection))
+                            .register(registry))
+                    .increment(metrics.getRows());
+        }
+    }
+
+    private Tags withCollection(Tags tags, String collection) {
+        return collectionTag ? tags.and("collection", collection) : tags;
+    }
+
+    private AtomicInteger inFlight(String method) {
+        return callsInFlight.computeIfAbsent(method, key ->
+                registry.gauge("milvus.client.requests.in_flight", Tags.of("method", key), new AtomicInteger()));
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+/**
+ * Stages of a timed request, the stages don't overlap.
+ */
+public enum RequestStage {
+    // fetching the collection schema, zero if the schema is cached
+    SCHEMA_LOOKUP,
+    // converting the input parameters to the gRPC request
+    CONVERT,
+    // serializing the gRPC request in the calling thread
+    SERIALIZE,
+    // network and server time, including deserializing the response
+    RPC,
+    // checking the response and building the result, e.g. merging the results of insert chunks
+    RESULT,
+    ;
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import io.grpc.CallOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects the stage timing of one request and reports it to a {@link RequestTimingListener} when finished.
+ * A disabled timer does nothing, so the client methods don't check whether timing is enabled.
+ */
+public final class RequestTimer {
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimer.class);
+
+    /**
+     * Passes the timer to {@link RequestTimingInterceptor} to measure the serialization.
+     */
+    public static final CallOptions.Key<RequestTimer> CALL_OPTION = CallOptions.Key.create("milvus-request-timer");
+
+    private static final RequestTimer DISABLED = new RequestTimer(null, "", "");
+
+    private final RequestTimingListener listener;
+    private final String method;
+    private final String collectionName;
+    private final long startNanos;
+    private final AtomicLongArray stageNanos = new AtomicLongArray(RequestStage.values().length);
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+
+    private RequestTimer(RequestTimingListener listener, String method, String collectionName) {
+        this.listener = listener;
+        this.method = method;
+        this.collectionName = collectionName;
+        this.startNanos = null == listener ? 0 : System.nanoTime();
+    }
+
+    public static RequestTimer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Starts a timer, or returns the disabled timer if the listener is null.
+     *
+     * @param listener listener to report to, can be null
+     * @param method client method name
+     * @param collectionName collection name of the request
+     * @return {@link RequestTimer}
+     */
+    public static RequestTimer start(RequestTimingListener listener, String method, String collectionName) {
+        if (null == listener) {
+            return DISABLED;
+        }
+        return new RequestTimer(listener, method, null == collectionName ? "" : collectionName);
+    }
+
+    public boolean isEnabled() {
+        return null != listener;
+    }
+
+    /**
+     * Gets the start time of a stage.
+     *
+     * @return <code>long</code> current nano time, zero if the timer is disabled
+     */
+    public long now() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Adds the time since <code>stageStartNanos</code> to a stage.
+     *
+     * @param stage request stage
+     * @param stageStartNanos start time returned by {@link #now()}
+     */
+    public void record(RequestStage stage, long stageStartNanos) {
+        if (isEnabled()) {
+            stageNanos.addAndGet(stage.ordinal(), System.nanoTime() - stageStartNanos);
+        }
+    }
+
+    /**
+     * Reports the timing to the listener, only the first call takes effect.
+     *
+     * @param success whether the request succeeded
+     */
+    public void finish(boolean success) {
+        if (!isEnabled() || !finished.compareAndSet(false, true)) {
+            return;
+        }
+
+        long totalNanos = System.nanoTime() - startNanos;
+        Map<RequestStage, Long> stages = new EnumMap<>(RequestStage.class);
+        for (RequestStage stage : RequestStage.values()) {
+            stages.put(stage, stageNanos.get(stage.ordinal()));
+        }
+        // the RPC stage is measured around the stub call, which serializes the request in the calling thread
+        stages.put(RequestStage.RPC, Math.max(0, stages.get(RequestStage.RPC) - stages.get(RequestStage.SERIALIZE)));
+
+        RequestTiming timing = new RequestTiming(method, collectionName, stages, totalNanos, success);
+        try {
+            listener.onRequestTimed(timing);
+        } catch (RuntimeException e) {
+            logger.warn("Request timing listener failed on {}", timing, e);
+        }
+    }
+}
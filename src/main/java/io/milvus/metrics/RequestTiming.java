@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Time spent in each stage of a request. The stages of concurrent insert chunks are summed,
+ * so the sum of the stages may be larger than the total time.
+ */
+public class RequestTiming {
+    private final String method;
+    private final String collectionName;
+    private final Map<RequestStage, Long> stageNanos;
+    private final long totalNanos;
+    private final boolean success;
+
+    public RequestTiming(String method, String collectionName, Map<RequestStage, Long> stageNanos,
+                         long totalNanos, boolean success) {
+        this.method = method;
+        this.collectionName = collectionName;
+        this.stageNanos = Collections.unmodifiableMap(new EnumMap<>(stageNanos));
+        this.totalNanos = totalNanos;
+        this.success = success;
+    }
+
+    /**
+     * Gets the client method name, e.g. <code>search</code> or <code>insertAsync</code>.
+     *
+     * @return <code>String</code> method name
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    public long getStageNanos(RequestStage stage) {
+        return stageNanos.getOrDefault(stage, 0L);
+    }
+
+    public Map<RequestStage, Long> getStageNanos() {
+        return stageNanos;
+    }
+
+    /**
+     * Gets the time from the method call to the result, for async methods it is the time
+     * until the returned future is done.
+     *
+     * @return <code>long</code> total time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestTiming{" +
+                "method='" + method + '\'' +
+                ", collectionName='" + collectionName + '\'' +
+                ", stageNanos=" + stageNanos +
+                ", totalNanos=" + totalNanos +
+                ", success=" + success +
+                '}';
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.metrics;
+
+import lombok.Getter;
+
+/**
+ * Metrics of a finished RPC.
+ */
+@Getter
+public class RpcCallMetrics {
+    // bare name of the RPC method
+    private final String method;
+    // collection of the request, empty if the request has no collection
+    private final String collectionName;
+    // gRPC status code, e.g. OK or DEADLINE_EXCEEDED
+    private final String grpcStatus;
+    // milvus error code of the response, empty if no response is received
+    private final String errorCode;
+    private final long latencyNanos;
+    private final long requestBytes;
+    private final long responseBytes;
+    // rows inserted or deleted, or queries searched, zero for other requests
+    private final long rows;
+
+    public RpcCallMetrics(String method, String collectionName, String grpcStatus, String errorCode,
+                          long latencyNanos, long requestBytes, long responseBytes, long rows) {
+        this.method = method;
+        this.collectionName = collectionName;
+        this.grpcStatus = grpcStatus;
+        this.errorCode = errorCode;
+        this.latencyNanos = latencyNanos;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.rows = rows;
+    }
+
+    /**
+     * The RPC is successful if the gRPC call succeeded and the server returned no error.
+     *
+     * @return <code>boolean</code> true if successful
+     */
+    public boolean isSuccess() {
+        return "OK".equals(grpcStatus) && (errorCode.isEmpty() || "Success".equals(errorCode));
+    }
+
+    @Override
+    public String toString() {
+        return "RpcCallMetrics{" +
+                "method='" + method + '\'' +
+                ", collectionName='" + collectionName + '\'' +
+                ", grpcStatus='" + grpcStatus + '\'' +
+                ", errorCode='" + errorCode + '\'' +
+                ", latencyNanos=" + latencyNanos +
+                ", requestBytes=" + requestBytes +
+                ", responseBytes=" + responseBytes +
+                ", rows=" + rows +
+                '}';
+    }
+}
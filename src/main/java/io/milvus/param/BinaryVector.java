@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.param;
+
+import com.google.protobuf.CodedOutputStream;
+import io.milvus.exception.ParamException;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A binary vector packed into 64-bit words, it can be used as a binary vector value of insert and search requests.
+ * The i-th bit of the vector is the bit <code>i % 64</code> of the word <code>i / 64</code>, which is the same
+ * layout as {@link BitSet#toLongArray()}, and the bytes of the vector are the little-endian bytes of the words.
+ * The dimension is the count of bits, it must be a multiple of 8.
+ */
+public final class BinaryVector {
+    private final long[] words;
+    private final int dim;
+
+    private BinaryVector(long[] words, int dim) {
+        this.words = words;
+        this.dim = dim;
+    }
+
+    /**
+     * Creates a binary vector on packed words, the array is not copied and should not be modified later.
+     *
+     * @param words packed words, the bits above the dimension must be zero
+     * @param dim dimension of the vector
+     * @return {@link BinaryVector}
+     */
+    public static BinaryVector fromWords(@NonNull long[] words, int dim) throws ParamException {
+        checkDimension(dim);
+        if (words.length != wordCount(dim)) {
+            throw new ParamException("Words count " + words.length + " doesn't match dimension " + dim);
+        }
+        if (dim % Long.SIZE != 0 && words.length > 0 && (words[words.length - 1] >>> (dim % Long.SIZE)) != 0) {
+            throw new ParamException("Bits above the dimension must be zero");
+        }
+        return new BinaryVector(words, dim);
+    }
+
+    /**
+     * Creates a binary vector from bytes, the dimension is 8 times the byte count.
+     *
+     * @param bytes content of the vector
+     * @return {@link BinaryVector}
+     */
+    public static BinaryVector fromBytes(@NonNull byte[] bytes) {
+        return fromByteBuffer(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates a binary vector from the bytes of a flipped buffer, a full buffer filled by put() without flip() is
+     * read from 0 to position, see {@link ParamUtils#binaryVectorView(ByteBuffer)}. The buffer is not modified.
+     *
+     * @param vector content of the vector
+     * @return {@link BinaryVector}
+     * @throws ParamException if the buffer is neither flipped nor full
+     */
+    public static BinaryVector fromByteBuffer(@NonNull ByteBuffer vector) throws ParamException {
+        ByteBuffer view = ParamUtils.binaryVectorView(vector).order(ByteOrder.LITTLE_ENDIAN);
+        int dim = view.remaining() * Byte.SIZE;
+        long[] words = new long[wordCount(dim)];
+
+        int fullWords = view.remaining() / Long.BYTES;
+        view.asLongBuffer().get(words, 0, fullWords);
+        view.position(view.position() + fullWords * Long.BYTES);
+        for (int shift = 0; view.hasRemaining(); shift += Byte.SIZE) {
+            words[fullWords] |= (view.get() & 0xFFL) << shift;
+        }
+        return new BinaryVector(words, dim);
+    }
+
+    /**
+     * Creates a binary vector from the bits of a bit set.
+     *
+     * @param bits set bits of the vector, the highest set bit must be less than the dimension
+     * @param dim dimension of the vector
+     * @return {@link BinaryVector}
+     */
+    public static BinaryVector fromBitSet(@NonNull BitSet bits, int dim) throws ParamException {
+        checkDimension(dim);
+        if (bits.length() > dim) {
+            throw new ParamException("Bit set length " + bits.length() + " exceeds dimension " + dim);
+        }
+        return new BinaryVector(Arrays.copyOf(bits.toLongArray(), wordCount(dim)), dim);
+    }
+
+    private static void checkDimension(int dim) {
+        if (dim < 0 || dim % Byte.SIZE != 0) {
+            throw new ParamException("Binary vector dimension must be a multiple of 8");
+        }
+    }
+
+    private static int wordCount(int dim) {
+        return (dim + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    public int getDim() {
+        return dim;
+    }
+
+    public int getByteSize() {
+        return dim / Byte.SIZE;
+    }
+
+    /**
+     * Gets the packed words, the array is not copied, don't modify it.
+     *
+     * @return <code>long[]</code>
+     */
+    public long[] getWords() {
+        return words;
+    }
+
+    /**
+     * Gets a bit of the vector.
+     *
+     * @param index index of the bit, from 0 to <code>getDim() - 1</code>
+     * @return <code>boolean</code>
+     */
+    public boolean get(int index) {
+        if (index < 0 || index >= dim) {
+            throw new ParamException("Bit index " + index + " is out of dimension " + dim);
+        }
+        return (words[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
+    }
+
+    /**
+     * Gets the bytes of the vector.
+     *
+     * @return <code>byte[]</code>
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[getByteSize()];
+        writeTo(bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Counts the different bits of two vectors.
+     *
+     * @param other vector of the same dimension
+     * @return <code>int</code> hamming distance
+     */
+    public int hamming(@NonNull BinaryVector other) {
+        checkSameDimension(other);
+        return BinaryVectors.hamming(words, other.words);
+    }
+
+    /**
+     * Calculates the jaccard distance of two vectors.
+     *
+     * @param other vector of the same dimension
+     * @return <code>float</code> jaccard distance
+     */
+    public float jaccard(@NonNull BinaryVector other) {
+        checkSameDimension(other);
+        return BinaryVectors.jaccard(words, other.words);
+    }
+
+    /**
+     * Calculates the tanimoto distance of two vectors.
+     *
+     * @param other vector of the same dimension
+     * @return <code>float</code> tanimoto distance
+     */
+    public float tanimoto(@NonNull BinaryVector other) {
+        checkSameDimension(other);
+        return BinaryVectors.tanimoto(words, other.words);
+    }
+
+    private void checkSameDimension(BinaryVector other) {
+        if (dim != other.dim) {
+            throw new ParamException("Binary vector dimensions " + dim + " and " + other.dim + " are not equal");
+        }
+    }
+
+    // writes the little-endian bytes of the words
+    void writeTo(byte[] dest, int offset) {
+        int byteSize = getByteSize();
+        for (int i = 0; i < byteSize; ++i) {
+            dest[offset + i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+        }
+    }
+
+    void writeTo(CodedOutputStream output) throws IOException {
+        int byteSize = getByteSize();
+        int fullWords = byteSize / Long.BYTES;
+        for (int w = 0; w < fullWords; ++w) {
+            output.writeFixed64NoTag(words[w]);
+        }
+        for (int i = fullWords * Long.BYTES; i < byteSize; ++i) {
+            output.writeRawByte((byte) (words[i >>> 3] >>> ((i & 7) << 3)));
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BinaryVector that = (BinaryVector) o;
+        return dim == that.dim && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * dim + Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "BinaryVector{dim=" + dim + '}';
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.milvus.param;
+
+import lombok.NonNull;
+
+/**
+ * Popcount kernels of binary vectors packed into 64-bit words, see {@link BinaryVector}.
+ * The two arrays of a calculation must have the same length.
+ */
+public final class BinaryVectors {
+    private BinaryVectors() {
+    }
+
+    /**
+     * Counts the different bits of two packed vectors.
+     *
+     * @param a packed words of a vector
+     * @param b packed words of another vector
+     * @return <code>int</code> hamming distance
+     */
+    public static int hamming(@NonNull long[] a, @NonNull long[] b) {
+        // independent counters let the popcounts of several words run at the same time
+        int c0 = 0, c1 = 0, c2 = 0, c3 = 0;
+        int n = a.length;
+        int bound = n & ~3;
+        int i = 0;
+        for (; i < bound; i += 4) {
+            c0 += Long.bitCount(a[i] ^ b[i]);
+            c1 += Long.bitCount(a[i + 1] ^ b[i + 1]);
+            c2 += Long.bitCount(a[i + 2] ^ b[i + 2]);
+            c3 += Long.bitCount(a[i + 3] ^ b[i + 3]);
+        }
+        for (; i < n; ++i) {
+            c0 += Long.bitCount(a[i] ^ b[i]);
+        }
+        return (c0 + c1) + (c2 + c3);
+    }
+
+    /**
+     * Calculates the jaccard distance of two packed vectors, which is 1 minus the ratio of common bits
+     * to the bits set in either vector. Two vectors without set bits have distance 0.
+     *
+     * @param a packed words of a vector
+     * @param b packed words of another vector
+     * @return <code>float</code> jaccard distance
+     */
+    public static float jaccard(@NonNull long[] a, @NonNull long[] b) {
+        return 1.0f - jaccardSimilarity(a, b);
+    }
+
+    /**
+     * Calculates the tanimoto distance of two packed vectors, which is <code>-log2</code> of the jaccard similarity.
+     * Two vectors without common bits have infinite distance.
+     *
+     * @param a packed words of a vector
+     * @param b packed words of another vector
+     * @return <code>float</code> tanimoto distance
+     */
+    public static float tanimoto(@NonNull long[] a, @NonNull long[] b) {
+        float similarity = jaccardSimilarity(a, b);
+        if (similarity == 0) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return (float) (-Math.log(similarity) / Math.log(2));
+    }
+
+    private static float jaccardSimilarity(long[] a, long[] b) {
+        int intersection = 0;
+        int union = 0;
+        for (int i = 0; i < a.length; ++i) {
+            intersection += Long.bitCount(a[i] & b[i]);
+            union += Long.bitCount(a[i] | b[i]);
+        }
+        // two empty sets are identical
+        return union == 0 ? 1.0f : (float) intersection / union;
+    }
+}
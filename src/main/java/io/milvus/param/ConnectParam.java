@@ -20,10 +20,14 @@
 package io.milvus.param;
 
 import io.milvus.exception.ParamException;
+import io.milvus.metrics.MetricsRecorder;
+import io.milvus.metrics.RequestTimingListener;
 import lombok.NonNull;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,6 +43,19 @@ public class ConnectParam {
     private final boolean secure;
     private final long idleTimeoutMs;
     private final String authorization;
+    private final long schemaCacheSize;
+    private final long schemaCacheTtlMs;
+    private final Executor asyncExecutor;
+    private final long insertChunkBytes;
+    private final int maxInsertChunksInFlight;
+    private final int channelPoolSize;
+    private final ChannelSelectPolicy channelSelectPolicy;
+    private final SharedTransport transport;
+    private final MetricsRecorder metricsRecorder;
+    private final RequestTimingListener requestTimingListener;
+    private final double payloadLogSampleRate;
+    private final long searchCacheSize;
+    private final long searchCacheTtlMs;
 
     private ConnectParam(@NonNull Builder builder) {
         this.host = builder.host;
@@ -50,6 +67,19 @@ public class ConnectParam {
         this.idleTimeoutMs = builder.idleTimeoutMs;
         this.secure = builder.secure;
         this.authorization = builder.authorization;
+        this.schemaCacheSize = builder.schemaCacheSize;
+        this.schemaCacheTtlMs = builder.schemaCacheTtlMs;
+        this.asyncExecutor = builder.asyncExecutor;
+        this.insertChunkBytes = builder.insertChunkBytes;
+        this.maxInsertChunksInFlight = builder.maxInsertChunksInFlight;
+        this.channelPoolSize = builder.channelPoolSize;
+        this.channelSelectPolicy = builder.channelSelectPolicy;
+        this.transport = builder.transport;
+        this.metricsRecorder = builder.metricsRecorder;
+        this.requestTimingListener = builder.requestTimingListener;
+        this.payloadLogSampleRate = builder.payloadLogSampleRate;
+        this.searchCacheSize = builder.searchCacheSize;
+        this.searchCacheTtlMs = builder.searchCacheTtlMs;
     }
 
     public String getHost() {
@@ -88,6 +118,58 @@ public class ConnectParam {
         return authorization;
     }
 
+    public long getSchemaCacheSize() {
+        return schemaCacheSize;
+    }
+
+    public long getSchemaCacheTtlMs() {
+        return schemaCacheTtlMs;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public long getInsertChunkBytes() {
+        return insertChunkBytes;
+    }
+
+    public int getMaxInsertChunksInFlight() {
+        return maxInsertChunksInFlight;
+    }
+
+    public int getChannelPoolSize() {
+        return channelPoolSize;
+    }
+
+    public ChannelSelectPolicy getChannelSelectPolicy() {
+        return channelSelectPolicy;
+    }
+
+    public SharedTransport getTransport() {
+        return transport;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public RequestTimingListener getRequestTimingListener() {
+        return requestTimingListener;
+    }
+
+    public double getPayloadLogSampleRate() {
+        return payloadLogSampleRate;
+    }
+
+    public long getSearchCacheSize() {
+        return searchCacheSize;
+    }
+
+    public long getSearchCacheTtlMs() {
+        return searchCacheTtlMs;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -105,6 +187,19 @@ public class ConnectParam {
         private boolean secure = false;
         private long idleTimeoutMs = TimeUnit.MILLISECONDS.convert(24, TimeUnit.HOURS);
         private String authorization = Base64.getEncoder().encodeToString("root:milvus".getBytes(StandardCharsets.UTF_8));
+        private long schemaCacheSize = 1024;
+        private long schemaCacheTtlMs = TimeUnit.MILLISECONDS.convert(60, TimeUnit.SECONDS);
+        private Executor asyncExecutor = ForkJoinPool.commonPool();
+        private long insertChunkBytes = 32 * 1024 * 1024;
+        private int maxInsertChunksInFlight = 4;
+        private int channelPoolSize = 1;
+        private ChannelSelectPolicy channelSelectPolicy = ChannelSelectPolicy.ROUND_ROBIN;
+        private SharedTransport transport;
+        private MetricsRecorder metricsRecorder;
+        private RequestTimingListener requestTimingListener;
+        private double payloadLogSampleRate = 0;
+        private long searchCacheSize = 0;
+        private long searchCacheTtlMs = TimeUnit.MILLISECONDS.convert(10, TimeUnit.SECONDS);
 
         private Builder() {
         }
@@ -232,6 +327,173 @@ public class ConnectParam {
             return this;
         }
 
+        /**
+         * Sets the max count of collection schemas cached by the client for <code>insert</code> interfaces.
+         * Set zero to disable the schema cache, then each insert calls <code>describeCollection</code>.
+         *
+         * @param schemaCacheSize max count of cached collection schemas
+         * @return <code>Builder</code>
+         */
+        public Builder withSchemaCacheSize(long schemaCacheSize) {
+            this.schemaCacheSize = schemaCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the time to live of each cached collection schema. The value must be greater than zero.
+         *
+         * @param schemaCacheTtl time to live value
+         * @param timeUnit time to live unit
+         * @return <code>Builder</code>
+         */
+        public Builder withSchemaCacheTtl(long schemaCacheTtl, @NonNull TimeUnit timeUnit) {
+            this.schemaCacheTtlMs = timeUnit.toMillis(schemaCacheTtl);
+            return this;
+        }
+
+        /**
+         * Sets the executor used by async interfaces to run schema lookup and data conversion,
+         * so that the caller thread is not blocked. The default executor is the common fork-join pool.
+         *
+         * @param asyncExecutor executor for async interfaces
+         * @return <code>Builder</code>
+         */
+        public Builder withAsyncExecutor(@NonNull Executor asyncExecutor) {
+            this.asyncExecutor = asyncExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the max estimated size of one insert request. A larger <code>insert</code> request is split
+         * into chunks of this size which are sent concurrently. Set zero to disable splitting.
+         * The default value is 32 MB.
+         *
+         * A split request is not atomic: the data is validated against the schema before any chunk is sent,
+         * but if a chunk fails, the chunks already inserted are kept, the failure message tells their row ranges.
+         *
+         * @param insertChunkBytes max size of one insert request in bytes
+         * @return <code>Builder</code>
+         */
+        public Builder withInsertChunkBytes(long insertChunkBytes) {
+            this.insertChunkBytes = insertChunkBytes;
+            return this;
+        }
+
+        /**
+         * Sets the max count of chunks of a split insert request that are converted or sent at the same time.
+         * The default value is 4.
+         *
+         * @param maxInsertChunksInFlight max count of chunks in flight
+         * @return <code>Builder</code>
+         */
+        public Builder withMaxInsertChunksInFlight(int maxInsertChunksInFlight) {
+            this.maxInsertChunksInFlight = maxInsertChunksInFlight;
+            return this;
+        }
+
+        /**
+         * Sets the count of channels to the server. Each channel has its own HTTP/2 connection,
+         * more channels lift the concurrent stream limit and flow control window of a single connection.
+         * The default value is 1.
+         *
+         * @param channelPoolSize count of channels
+         * @return <code>Builder</code>
+         */
+        public Builder withChannelPoolSize(int channelPoolSize) {
+            this.channelPoolSize = channelPoolSize;
+            return this;
+        }
+
+        /**
+         * Sets how a channel is chosen from the channel pool for each request.
+         * The default value is {@link ChannelSelectPolicy#ROUND_ROBIN}.
+         *
+         * @param channelSelectPolicy channel select policy
+         * @return <code>Builder</code>
+         */
+        public Builder withChannelSelectPolicy(@NonNull ChannelSelectPolicy channelSelectPolicy) {
+            this.channelSelectPolicy = channelSelectPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the netty transport shared with other clients. By default, each client uses
+         * the gRPC default transport and thread pools.
+         *
+         * @param transport shared transport
+         * @return <code>Builder</code>
+         */
+        public Builder withTransport(@NonNull SharedTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the recorder of per-RPC metrics, such as latency, payload sizes and error codes.
+         * Use {@link io.milvus.metrics.ClientMetricsRegistry} or {@link io.milvus.metrics.MicrometerMetricsRecorder}.
+         * By default, no metrics are recorded.
+         *
+         * @param metricsRecorder metrics recorder
+         * @return <code>Builder</code>
+         */
+        public Builder withMetricsRecorder(@NonNull MetricsRecorder metricsRecorder) {
+            this.metricsRecorder = metricsRecorder;
+            return this;
+        }
+
+        /**
+         * Sets the listener of the stage timing of <code>search</code>, <code>query</code> and
+         * <code>insert</code> requests, such as schema lookup, conversion, serialization and RPC time.
+         * By default, requests are not timed.
+         *
+         * @param requestTimingListener request timing listener
+         * @return <code>Builder</code>
+         */
+        public Builder withRequestTimingListener(@NonNull RequestTimingListener requestTimingListener) {
+            this.requestTimingListener = requestTimingListener;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of requests whose full gRPC payload is logged at DEBUG level, for troubleshooting.
+         * Logging a large payload costs more than sending it, keep the rate low in production.
+         * The default value is 0, only a bounded summary of each data request is logged.
+         *
+         * @param payloadLogSampleRate sample rate between 0 and 1
+         * @return <code>Builder</code>
+         */
+        public Builder withPayloadLogSampleRate(double payloadLogSampleRate) {
+            this.payloadLogSampleRate = payloadLogSampleRate;
+            return this;
+        }
+
+        /**
+         * Sets the max count of search results cached by the client for <code>search</code> interfaces.
+         * Default value is zero, the search cache is disabled.
+         * Searches with strong consistency are never cached. Cached results of a collection are dropped when
+         * this client inserts into or deletes from the collection, except results of searches with a travel timestamp.
+         *
+         * @param searchCacheSize max count of cached search results
+         * @return <code>Builder</code>
+         */
+        public Builder withSearchCacheSize(long searchCacheSize) {
+            this.searchCacheSize = searchCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the time to live of each cached search result. The value must be greater than zero.
+         * Default value is 10 seconds.
+         *
+         * @param searchCacheTtl time to live value
+         * @param timeUnit time to live unit
+         * @return <code>Builder</code>
+         */
+        public Builder withSearchCacheTtl(long searchCacheTtl, @NonNull TimeUnit timeUnit) {
+            this.searchCacheTtlMs = timeUnit.toMillis(searchCacheTtl);
+            return this;
+        }
+
         /**
          * Verifies parameters and creates a new {@link ConnectParam} instance.
          *
@@ -260,6 +522,38 @@ public class ConnectParam {
                 throw new ParamException("Idle timeout must be positive!");
             }
 
+            if (schemaCacheSize < 0L) {
+                throw new ParamException("Schema cache size cannot be negative!");
+            }
+
+            if (schemaCacheTtlMs <= 0L) {
+                throw new ParamException("Schema cache ttl must be positive!");
+            }
+
+            if (insertChunkBytes < 0L) {
+                throw new ParamException("Insert chunk size cannot be negative!");
+            }
+
+            if (maxInsertChunksInFlight <= 0) {
+                throw new ParamException("Max insert chunks in flight must be positive!");
+            }
+
+            if (channelPoolSize <= 0) {
+                throw new ParamException("Channel pool size must be positive!");
+            }
+
+            if (payloadLogSampleRate < 0 || payloadLogSampleRate > 1) {
+                throw new ParamException("Payload log sample rate must be between 0 and 1!");
+            }
+
+            if (searchCacheSize < 0L) {
+                throw new ParamException("Search cache size cannot be negative!");
+            }
+
+            if (searchCacheTtlMs <= 0L) {
+                throw new ParamException("Search cache ttl must be positive!");
+            }
+
             return new ConnectParam(this);
         }
     }
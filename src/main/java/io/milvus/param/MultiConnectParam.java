@@ -1,6 +1,9 @@
 package io.milvus.param;
 
+import io.milvus.connection.LoadBalancePolicy;
 import io.milvus.exception.ParamException;
+import io.milvus.metrics.MetricsRecorder;
+import io.milvus.metrics.RequestTimingListener;
 import lombok.NonNull;
 import org.apache.commons.collections4.CollectionUtils;
 
@@ -22,6 +25,15 @@ public class MultiConnectParam {
     private final boolean secure;
     private final long idleTimeoutMs;
     private final String authorization;
+    private final LoadBalancePolicy loadBalancePolicy;
+    private final boolean hedgedReads;
+    private final long hedgeDelayMs;
+    private final double hedgePercentile;
+    private final WriteQuorum writeQuorum;
+    private final SharedTransport transport;
+    private final MetricsRecorder metricsRecorder;
+    private final RequestTimingListener requestTimingListener;
+    private final double payloadLogSampleRate;
 
     private MultiConnectParam(@NonNull Builder builder) {
         this.hosts = builder.hosts;
@@ -33,6 +45,15 @@ public class MultiConnectParam {
         this.secure = builder.secure;
         this.idleTimeoutMs = builder.idleTimeoutMs;
         this.authorization = builder.authorization;
+        this.loadBalancePolicy = builder.loadBalancePolicy;
+        this.hedgedReads = builder.hedgedReads;
+        this.hedgeDelayMs = builder.hedgeDelayMs;
+        this.hedgePercentile = builder.hedgePercentile;
+        this.writeQuorum = builder.writeQuorum;
+        this.transport = builder.transport;
+        this.metricsRecorder = builder.metricsRecorder;
+        this.requestTimingListener = builder.requestTimingListener;
+        this.payloadLogSampleRate = builder.payloadLogSampleRate;
     }
 
     public List<ServerAddress> getHosts() {
@@ -71,6 +92,42 @@ public class MultiConnectParam {
         return authorization;
     }
 
+    public LoadBalancePolicy getLoadBalancePolicy() {
+        return loadBalancePolicy;
+    }
+
+    public boolean isHedgedReads() {
+        return hedgedReads;
+    }
+
+    public long getHedgeDelayMs() {
+        return hedgeDelayMs;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public WriteQuorum getWriteQuorum() {
+        return writeQuorum;
+    }
+
+    public SharedTransport getTransport() {
+        return transport;
+    }
+
+    public MetricsRecorder getMetricsRecorder() {
+        return metricsRecorder;
+    }
+
+    public RequestTimingListener getRequestTimingListener() {
+        return requestTimingListener;
+    }
+
+    public double getPayloadLogSampleRate() {
+        return payloadLogSampleRate;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -88,6 +145,15 @@ public class MultiConnectParam {
         private boolean secure = false;
         private long idleTimeoutMs = TimeUnit.MILLISECONDS.convert(24, TimeUnit.HOURS);
         private String authorization = "";
+        private LoadBalancePolicy loadBalancePolicy;
+        private boolean hedgedReads = false;
+        private long hedgeDelayMs = 0;
+        private double hedgePercentile = 0;
+        private WriteQuorum writeQuorum = WriteQuorum.ALL;
+        private SharedTransport transport;
+        private MetricsRecorder metricsRecorder;
+        private RequestTimingListener requestTimingListener;
+        private double payloadLogSampleRate = 0;
 
         private Builder() {
         }
@@ -205,6 +271,108 @@ public class MultiConnectParam {
             return this;
         }
 
+        /**
+         * Sets the policy to choose a server from the available servers for <code>search/query</code> interfaces.
+         * By default, read requests are sent to the master server.
+         *
+         * @param loadBalancePolicy load balance policy, for example {@link io.milvus.connection.RoundRobinPolicy}
+         * @return <code>Builder</code>
+         */
+        public Builder withLoadBalancePolicy(@NonNull LoadBalancePolicy loadBalancePolicy) {
+            this.loadBalancePolicy = loadBalancePolicy;
+            return this;
+        }
+
+        /**
+         * Enables hedged reads for <code>search/query</code> interfaces. If no successful response is received
+         * within the delay, the same request is sent to another available server, the first successful response
+         * is returned and the other request is cancelled. A failed request is retried on another server at once.
+         * Hedged reads are disabled by default.
+         *
+         * @param hedgeDelay delay before sending the request to another server
+         * @param timeUnit time unit
+         * @return <code>Builder</code>
+         */
+        public Builder withHedgedReads(long hedgeDelay, @NonNull TimeUnit timeUnit) {
+            this.hedgedReads = true;
+            this.hedgeDelayMs = timeUnit.toMillis(hedgeDelay);
+            return this;
+        }
+
+        /**
+         * Uses a percentile of the recent read latencies as the hedge delay instead of a fixed value,
+         * for example 95 sends the second request only for the slowest 5% requests.
+         * The delay set by {@link #withHedgedReads(long, TimeUnit)} is used until enough latencies are collected.
+         *
+         * @param percentile percentile of read latencies, between 0 and 100, 0 means fixed delay
+         * @return <code>Builder</code>
+         */
+        public Builder withHedgePercentile(double percentile) {
+            this.hedgePercentile = percentile;
+            return this;
+        }
+
+        /**
+         * Sets how many clusters must succeed before <code>insert/delete</code> interfaces return.
+         * The request is sent to all the available clusters, the slower clusters complete in background.
+         * The default value is {@link WriteQuorum#ALL}.
+         *
+         * @param writeQuorum write quorum
+         * @return <code>Builder</code>
+         */
+        public Builder withWriteQuorum(@NonNull WriteQuorum writeQuorum) {
+            this.writeQuorum = writeQuorum;
+            return this;
+        }
+
+        /**
+         * Sets the netty transport shared by the clients of all the clusters.
+         * By default, each cluster client uses the gRPC default transport and thread pools.
+         *
+         * @param transport shared transport
+         * @return <code>Builder</code>
+         */
+        public Builder withTransport(@NonNull SharedTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Sets the recorder of per-RPC metrics shared by the clients of all the clusters.
+         * By default, no metrics are recorded.
+         *
+         * @param metricsRecorder metrics recorder
+         * @return <code>Builder</code>
+         */
+        public Builder withMetricsRecorder(@NonNull MetricsRecorder metricsRecorder) {
+            this.metricsRecorder = metricsRecorder;
+            return this;
+        }
+
+        /**
+         * Sets the listener of the stage timing of requests, shared by the clients of all the clusters.
+         * By default, requests are not timed.
+         *
+         * @param requestTimingListener request timing listener
+         * @return <code>Builder</code>
+         */
+        public Builder withRequestTimingListener(@NonNull RequestTimingListener requestTimingListener) {
+            this.requestTimingListener = requestTimingListener;
+            return this;
+        }
+
+        /**
+         * Sets the fraction of requests whose full gRPC payload is logged at DEBUG level,
+         * for the clients of all the clusters. The default value is 0.
+         *
+         * @param payloadLogSampleRate sample rate between 0 and 1
+         * @return <code>Builder</code>
+         */
+        public Builder withPayloadLogSampleRate(double payloadLogSampleRate) {
+            this.payloadLogSampleRate = payloadLogSampleRate;
+            return this;
+        }
+
         /**
          * Verifies parameters and creates a new {@link MultiConnectParam} instance.
          *
@@ -239,6 +407,22 @@ public class MultiConnectParam {
                 throw new ParamException("Idle timeout must be positive!");
             }
 
+            if (hedgeDelayMs < 0L) {
+                throw new ParamException("Hedge delay must be zero or positive!");
+            }
+
+            if (hedgePercentile < 0 || hedgePercentile >= 100) {
+                throw new ParamException("Hedge percentile must be in range [0, 100)!");
+            }
+
+            if (hedgePercentile > 0 && !hedgedReads) {
+                throw new ParamException("Hedge percentile requires hedged reads to be enabled!");
+            }
+
+            if (payloadLogSampleRate < 0 || payloadLogSampleRate > 1) {
+                throw new ParamException("Payload log sample rate must be between 0 and 1!");
+            }
+
             return new MultiConnectParam(this);
         }
     }
@@ -1,6 +1,9 @@
 package io.milvus.param;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
 import io.milvus.common.clientenum.ConsistencyLevelEnum;
 import io.milvus.exception.IllegalResponseException;
 import io.milvus.exception.ParamException;
@@ -12,8 +15,9 @@ import io.milvus.param.dml.SearchParam;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -33,8 +37,8 @@ public class ParamUtils {
         typeErrMsg.put(DataType.Double, "Type mismatch for field '%s': Double field value type must be Double");
         typeErrMsg.put(DataType.String, "Type mismatch for field '%s': String field value type must be String");
         typeErrMsg.put(DataType.VarChar, "Type mismatch for field '%s': VarChar field value type must be String");
-        typeErrMsg.put(DataType.FloatVector, "Type mismatch for field '%s': Float vector field's value type must be List<Float>");
-        typeErrMsg.put(DataType.BinaryVector, "Type mismatch for field '%s': Binary vector field's value type must be ByteBuffer");
+        typeErrMsg.put(DataType.FloatVector, "Type mismatch for field '%s': Float vector field's value type must be List<Float>, float[] or FloatBuffer");
+        typeErrMsg.put(DataType.BinaryVector, "Type mismatch for field '%s': Binary vector field's value type must be ByteBuffer or BinaryVector");
         return typeErrMsg;
     }
 
@@ -47,23 +51,30 @@ public class ParamUtils {
             case FloatVector: {
                 int dim = fieldSchema.getDimension();
                 for (int i = 0; i < values.size(); ++i) {
-                    // is List<> ?
+                    // is List<>, float[] or FloatBuffer ?
                     Object value  = values.get(i);
-                    if (!(value instanceof List)) {
-                        throw new ParamException(String.format(errMsgs.get(dataType), fieldSchema.getName()));
-                    }
-                    // is List<Float> ?
-                    List<?> temp = (List<?>)value;
-                    for (Object v : temp) {
-                        if (!(v instanceof Float)) {
-                            throw new ParamException(String.format(errMsgs.get(dataType), fieldSchema.getName()));
+                    int vectorDim;
+                    if (value instanceof List) {
+                        // is List<Float> ?
+                        List<?> temp = (List<?>)value;
+                        for (Object v : temp) {
+                            if (!(v instanceof Float)) {
+                                throw new ParamException(String.format(errMsgs.get(dataType), fieldSchema.getName()));
+                            }
                         }
+                        vectorDim = temp.size();
+                    } else if (value instanceof float[]) {
+                        vectorDim = ((float[]) value).length;
+                    } else if (value instanceof FloatBuffer) {
+                        vectorDim = ((FloatBuffer) value).remaining();
+                    } else {
+                        throw new ParamException(String.format(errMsgs.get(dataType), fieldSchema.getName()));
                     }
 
                     // check dimension
-                    if (temp.size() != dim) {
+                    if (vectorDim != dim) {
                         String msg = "Incorrect dimension for field '%s': the no.%d vector's dimension: %d is not equal to field's dimension: %d";
-                        throw new ParamException(String.format(msg, fieldSchema.getName(), i, temp.size(), dim));
+                        throw new ParamException(String.format(msg, fieldSchema.getName(), i, vectorDim, dim));
                     }
                 }
             }
@@ -72,16 +83,20 @@ public class ParamUtils {
                 int dim = fieldSchema.getDimension();
                 for (int i = 0; i < values.size(); ++i) {
                     Object value  = values.get(i);
-                    // is ByteBuffer?
-                    if (!(value instanceof ByteBuffer)) {
+                    // is ByteBuffer or BinaryVector?
+                    int vectorDim;
+                    if (value instanceof ByteBuffer) {
+                        vectorDim = binaryVectorView((ByteBuffer)value).remaining()*8;
+                    } else if (value instanceof BinaryVector) {
+                        vectorDim = ((BinaryVector) value).getDim();
+                    } else {
                         throw new ParamException(String.format(errMsgs.get(dataType), fieldSchema.getName()));
                     }
 
                     // check dimension
-                    ByteBuffer v = (ByteBuffer)value;
-                    if (v.position()*8 != dim) {
+                    if (vectorDim != dim) {
                         String msg = "Incorrect dimension for field '%s': the no.%d vector's dimension: %d is not equal to field's dimension: %d";
-                        throw new ParamException(String.format(msg, fieldSchema.getName(), i, v.position()*8, dim));
+                        throw new ParamException(String.format(msg, fieldSchema.getName(), i, vectorDim, dim));
                     }
                 }
             }
@@ -149,6 +164,64 @@ public class ParamUtils {
         }
     }
 
+    /**
+     * Splits a flat float buffer into vectors of a given dimension.
+     * Each vector is a view of the buffer, no data is copied.
+     *
+     * @param vectors flat float buffer, the vectors are between position and limit
+     * @param dim dimension of each vector
+     * @return List of FloatBuffer
+     */
+    public static List<FloatBuffer> splitFloatVectors(@NonNull FloatBuffer vectors, int dim) throws ParamException {
+        if (dim <= 0) {
+            throw new ParamException("Vector dimension must be positive");
+        }
+        int total = vectors.remaining();
+        if (total == 0 || total % dim != 0) {
+            throw new ParamException("Float buffer size doesn't match the dimension");
+        }
+
+        List<FloatBuffer> result = new ArrayList<>(total / dim);
+        for (int offset = vectors.position(); offset < vectors.limit(); offset += dim) {
+            FloatBuffer vector = vectors.duplicate();
+            vector.limit(offset + dim);
+            vector.position(offset);
+            result.add(vector.slice());
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the serialized size in bytes of one field value of an insert request,
+     * it is used to limit the size of insert batches.
+     *
+     * @param value a value of {@link InsertParam.Field}
+     * @return <code>long</code> estimated size in bytes
+     */
+    public static long estimateFieldValueSize(Object value) {
+        if (value instanceof List) {
+            return (long) Float.BYTES * ((List<?>) value).size();
+        } else if (value instanceof float[]) {
+            return (long) Float.BYTES * ((float[]) value).length;
+        } else if (value instanceof FloatBuffer) {
+            return (long) Float.BYTES * ((FloatBuffer) value).remaining();
+        } else if (value instanceof ByteBuffer) {
+            return binaryVectorView((ByteBuffer) value).remaining();
+        } else if (value instanceof BinaryVector) {
+            return ((BinaryVector) value).getByteSize();
+        } else if (value instanceof String) {
+            // utf-8 length prefix plus content, ascii is assumed
+            return ((String) value).length() + 2;
+        } else if (value instanceof Long || value instanceof Double) {
+            return 8;
+        } else if (value instanceof Integer || value instanceof Float) {
+            return 4;
+        } else if (value instanceof Short) {
+            return 2;
+        }
+        return 1;
+    }
+
     /**
      * Checks if a metric is for float vector.
      *
@@ -176,6 +249,22 @@ public class ParamUtils {
         return idx != IndexType.INVALID && idx != IndexType.TRIE;
     }
 
+    /**
+     * Checks the fields of an insert request against the collection schema without converting the data.
+     *
+     * @param requestParam insert request
+     * @param fieldTypes fields of the collection schema
+     */
+    public static void checkInsertParam(@NonNull InsertParam requestParam, @NonNull List<FieldType> fieldTypes) {
+        List<InsertParam.Field> fields = requestParam.getFields();
+        for (FieldType fieldType : fieldTypes) {
+            InsertParam.Field field = findField(fields, fieldType);
+            if (field != null) {
+                checkFieldData(fieldType, field);
+            }
+        }
+    }
+
     public static InsertRequest convertInsertParam(@NonNull InsertParam requestParam,
                                                    @NonNull List<FieldType> fieldTypes) {
         String collectionName = requestParam.getCollectionName();
@@ -193,24 +282,10 @@ public class ParamUtils {
         // gen fieldData
         // make sure the field order must be consisted with collection schema
         for (FieldType fieldType : fieldTypes) {
-            boolean found = false;
-            for (InsertParam.Field field : fields) {
-                if (field.getName().equals(fieldType.getName())) {
-                    if (fieldType.isAutoID()) {
-                        String msg = "The primary key: " + fieldType.getName() + " is auto generated, no need to input.";
-                        throw new ParamException(msg);
-                    }
-                    checkFieldData(fieldType, field);
-
-                    found = true;
-                    insertBuilder.addFieldsData(genFieldData(field.getName(), fieldType.getDataType(), field.getValues()));
-                    break;
-                }
-
-            }
-            if (!found && !fieldType.isAutoID()) {
-                String msg = "The field: " + fieldType.getName() + " is not provided.";
-                throw new ParamException(msg);
+            InsertParam.Field field = findField(fields, fieldType);
+            if (field != null) {
+                checkFieldData(fieldType, field);
+                insertBuilder.addFieldsData(genFieldData(field.getName(), fieldType.getDataType(), field.getValues()));
             }
         }
 
@@ -218,6 +293,23 @@ public class ParamUtils {
         return insertBuilder.build();
     }
 
+    private static InsertParam.Field findField(List<InsertParam.Field> fields, FieldType fieldType) {
+        for (InsertParam.Field field : fields) {
+            if (field.getName().equals(fieldType.getName())) {
+                if (fieldType.isAutoID()) {
+                    String msg = "The primary key: " + fieldType.getName() + " is auto generated, no need to input.";
+                    throw new ParamException(msg);
+                }
+                return field;
+            }
+        }
+        if (!fieldType.isAutoID()) {
+            String msg = "The field: " + fieldType.getName() + " is not provided.";
+            throw new ParamException(msg);
+        }
+        return null;
+    }
+
     @SuppressWarnings("unchecked")
     public static SearchRequest convertSearchParam(@NonNull SearchParam requestParam) throws ParamException {
         SearchRequest.Builder builder = SearchRequest.newBuilder()
@@ -229,44 +321,7 @@ public class ParamUtils {
 
         // prepare target vectors
         // TODO: check target vector dimension(use DescribeCollection get schema to compare)
-        PlaceholderType plType = PlaceholderType.None;
-        List<?> vectors = requestParam.getVectors();
-        List<ByteString> byteStrings = new ArrayList<>();
-        for (Object vector : vectors) {
-            if (vector instanceof List) {
-                plType = PlaceholderType.FloatVector;
-                List<Float> list = (List<Float>) vector;
-                ByteBuffer buf = ByteBuffer.allocate(Float.BYTES * list.size());
-                buf.order(ByteOrder.LITTLE_ENDIAN);
-                list.forEach(buf::putFloat);
-
-                byte[] array = buf.array();
-                ByteString bs = ByteString.copyFrom(array);
-                byteStrings.add(bs);
-            } else if (vector instanceof ByteBuffer) {
-                plType = PlaceholderType.BinaryVector;
-                ByteBuffer buf = (ByteBuffer) vector;
-                byte[] array = buf.array();
-                ByteString bs = ByteString.copyFrom(array);
-                byteStrings.add(bs);
-            } else {
-                String msg = "Search target vector type is illegal(Only allow List<Float> or ByteBuffer)";
-                throw new ParamException(msg);
-            }
-        }
-
-        PlaceholderValue.Builder pldBuilder = PlaceholderValue.newBuilder()
-                .setTag(Constant.VECTOR_TAG)
-                .setType(plType);
-        byteStrings.forEach(pldBuilder::addValues);
-
-        PlaceholderValue plv = pldBuilder.build();
-        PlaceholderGroup placeholderGroup = PlaceholderGroup.newBuilder()
-                .addPlaceholders(plv)
-                .build();
-
-        ByteString byteStr = placeholderGroup.toByteString();
-        builder.setPlaceholderGroup(byteStr);
+        builder.setPlaceholderGroup(encodePlaceholderGroup(requestParam.getVectors()));
 
         // search parameters
         builder.addSearchParams(
@@ -316,6 +371,119 @@ public class ParamUtils {
         return builder.build();
     }
 
+    /**
+     * Serializes target vectors into the bytes of a {@link PlaceholderGroup}.
+     * The message size is computed first, then the vectors are written straight into one exact-size array
+     * which is wrapped without copying. The array is never reused since the returned ByteString refers to it.
+     */
+    @SuppressWarnings("unchecked")
+    private static ByteString encodePlaceholderGroup(List<?> vectors) throws ParamException {
+        PlaceholderType plType = PlaceholderType.None;
+        int[] vectorSizes = new int[vectors.size()];
+        int valuesSize = 0;
+        for (int i = 0; i < vectors.size(); ++i) {
+            Object vector = vectors.get(i);
+            PlaceholderType type;
+            if (vector instanceof List) {
+                type = PlaceholderType.FloatVector;
+                vectorSizes[i] = Float.BYTES * ((List<?>) vector).size();
+            } else if (vector instanceof float[]) {
+                type = PlaceholderType.FloatVector;
+                vectorSizes[i] = Float.BYTES * ((float[]) vector).length;
+            } else if (vector instanceof FloatBuffer) {
+                type = PlaceholderType.FloatVector;
+                vectorSizes[i] = Float.BYTES * ((FloatBuffer) vector).remaining();
+            } else if (vector instanceof ByteBuffer) {
+                type = PlaceholderType.BinaryVector;
+                vectorSizes[i] = binaryVectorView((ByteBuffer) vector).remaining();
+            } else if (vector instanceof BinaryVector) {
+                type = PlaceholderType.BinaryVector;
+                vectorSizes[i] = ((BinaryVector) vector).getByteSize();
+            } else {
+                String msg = "Search target vector type is illegal(Only allow List<Float>, float[], FloatBuffer, ByteBuffer or BinaryVector)";
+                throw new ParamException(msg);
+            }
+
+            if (plType != PlaceholderType.None && plType != type) {
+                throw new ParamException("Search target vectors must be in the same type");
+            }
+            plType = type;
+            valuesSize += CodedOutputStream.computeTagSize(PlaceholderValue.VALUES_FIELD_NUMBER)
+                    + CodedOutputStream.computeUInt32SizeNoTag(vectorSizes[i]) + vectorSizes[i];
+        }
+
+        int placeholderSize = CodedOutputStream.computeStringSize(PlaceholderValue.TAG_FIELD_NUMBER, Constant.VECTOR_TAG)
+                + CodedOutputStream.computeEnumSize(PlaceholderValue.TYPE_FIELD_NUMBER, plType.getNumber())
+                + valuesSize;
+        int groupSize = CodedOutputStream.computeTagSize(PlaceholderGroup.PLACEHOLDERS_FIELD_NUMBER)
+                + CodedOutputStream.computeUInt32SizeNoTag(placeholderSize) + placeholderSize;
+
+        byte[] bytes = new byte[groupSize];
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        try {
+            output.writeTag(PlaceholderGroup.PLACEHOLDERS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(placeholderSize);
+            output.writeString(PlaceholderValue.TAG_FIELD_NUMBER, Constant.VECTOR_TAG);
+            output.writeEnum(PlaceholderValue.TYPE_FIELD_NUMBER, plType.getNumber());
+            for (int i = 0; i < vectors.size(); ++i) {
+                output.writeTag(PlaceholderValue.VALUES_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                output.writeUInt32NoTag(vectorSizes[i]);
+
+                // float values are encoded as little-endian fixed32, the same layout as the server expects
+                Object vector = vectors.get(i);
+                if (vector instanceof List) {
+                    for (Float value : (List<Float>) vector) {
+                        output.writeFixed32NoTag(Float.floatToRawIntBits(value));
+                    }
+                } else if (vector instanceof float[]) {
+                    for (float value : (float[]) vector) {
+                        output.writeFixed32NoTag(Float.floatToRawIntBits(value));
+                    }
+                } else if (vector instanceof FloatBuffer) {
+                    FloatBuffer buf = (FloatBuffer) vector;
+                    for (int k = buf.position(); k < buf.limit(); ++k) {
+                        output.writeFixed32NoTag(Float.floatToRawIntBits(buf.get(k)));
+                    }
+                } else if (vector instanceof BinaryVector) {
+                    ((BinaryVector) vector).writeTo(output);
+                } else {
+                    output.write(binaryVectorView((ByteBuffer) vector));
+                }
+            }
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new ParamException("Failed to encode search target vectors: " + e.getMessage());
+        }
+
+        return UnsafeByteOperations.unsafeWrap(bytes);
+    }
+
+    /**
+     * Returns a read-only view of the bytes of a binary vector, the input buffer is not modified.
+     * The buffer must be flipped, the content of a binary vector is the bytes between position 0 and limit.
+     * To pass a part of a buffer, use slice().
+     *
+     * For compatibility, a full buffer filled by put() without flip() is accepted, its content is between
+     * 0 and position. A buffer whose position is not zero and which has remaining bytes is rejected, since
+     * it can't be told whether it is partly written or partly read.
+     *
+     * @param vector binary vector
+     * @return <code>ByteBuffer</code>
+     * @throws ParamException if the buffer is neither flipped nor full
+     */
+    public static ByteBuffer binaryVectorView(@NonNull ByteBuffer vector) throws ParamException {
+        ByteBuffer view = vector.asReadOnlyBuffer();
+        if (vector.position() > 0) {
+            if (vector.hasRemaining()) {
+                throw new ParamException(String.format("Binary vector buffer must be flipped, position: %d, limit: %d",
+                        vector.position(), vector.limit()));
+            }
+            // filled by put() without flip()
+            view.flip();
+        }
+        return view;
+    }
+
     public static QueryRequest convertQueryParam(@NonNull QueryParam requestParam) {
         long guaranteeTimestamp = getGuaranteeTimestamp(requestParam.getConsistencyLevel(),
                 requestParam.getGuaranteeTimestamp(), requestParam.getGracefulTime());
@@ -362,38 +530,55 @@ public class ParamUtils {
         FieldData.Builder builder = FieldData.newBuilder();
         if (vectorDataType.contains(dataType)) {
             if (dataType == DataType.FloatVector) {
-                List<Float> floats = new ArrayList<>();
-                // each object is List<Float>
+                // each object is List<Float>, float[] or FloatBuffer
+                // values are appended to the protobuf array one by one, no intermediate boxed list is created
+                FloatArray.Builder floatArrayBuilder = FloatArray.newBuilder();
+                int dim = 0;
                 for (Object object : objects) {
                     if (object instanceof List) {
                         List<Float> list = (List<Float>) object;
-                        floats.addAll(list);
+                        for (Float value : list) {
+                            floatArrayBuilder.addData(value);
+                        }
+                        dim = list.size();
+                    } else if (object instanceof float[]) {
+                        float[] array = (float[]) object;
+                        for (float value : array) {
+                            floatArrayBuilder.addData(value);
+                        }
+                        dim = array.length;
+                    } else if (object instanceof FloatBuffer) {
+                        FloatBuffer buf = (FloatBuffer) object;
+                        for (int i = buf.position(); i < buf.limit(); ++i) {
+                            floatArrayBuilder.addData(buf.get(i));
+                        }
+                        dim = buf.remaining();
                     } else {
-                        throw new ParamException("The type of FloatVector must be List<Float>");
+                        throw new ParamException("The type of FloatVector must be List<Float>, float[] or FloatBuffer");
                     }
                 }
 
-                int dim = floats.size() / objects.size();
-                FloatArray floatArray = FloatArray.newBuilder().addAllData(floats).build();
+                FloatArray floatArray = floatArrayBuilder.build();
                 VectorField vectorField = VectorField.newBuilder().setDim(dim).setFloatVector(floatArray).build();
                 return builder.setFieldName(fieldName).setType(DataType.FloatVector).setVectors(vectorField).build();
             } else if (dataType == DataType.BinaryVector) {
-                ByteBuffer totalBuf = null;
-                int dim = 0;
-                // each object is ByteBuffer
+                // each object is ByteBuffer or BinaryVector, the vectors are copied once into the wrapped array
+                int byteSize = objects.isEmpty() ? 0 : (int) estimateFieldValueSize(objects.get(0));
+                byte[] total = new byte[byteSize * objects.size()];
+                int offset = 0;
                 for (Object object : objects) {
-                    ByteBuffer buf = (ByteBuffer) object;
-                    if (totalBuf == null) {
-                        totalBuf = ByteBuffer.allocate(buf.position() * objects.size());
-                        totalBuf.put(buf.array());
-                        dim = buf.position() * 8;
+                    if (object instanceof BinaryVector) {
+                        ((BinaryVector) object).writeTo(total, offset);
+                    } else if (object instanceof ByteBuffer) {
+                        binaryVectorView((ByteBuffer) object).get(total, offset, byteSize);
                     } else {
-                        totalBuf.put(buf.array());
+                        throw new ParamException("The type of BinaryVector must be ByteBuffer or BinaryVector");
                     }
+                    offset += byteSize;
                 }
 
-                assert totalBuf != null;
-                ByteString byteString = ByteString.copyFrom(totalBuf.array());
+                int dim = byteSize * 8;
+                ByteString byteString = UnsafeByteOperations.unsafeWrap(total);
                 VectorField vectorField = VectorField.newBuilder().setDim(dim).setBinaryVector(byteString).build();
                 return builder.setFieldName(fieldName).setType(DataType.BinaryVector).setVectors(vectorField).build();
             }
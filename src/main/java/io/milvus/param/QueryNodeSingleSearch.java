@@ -100,7 +100,7 @@ public class QueryNodeSingleSearch {
          *
          * @param vectors list of target vectors:
          *                if vector type is FloatVector, vectors is List of List Float
-         *                if vector type is BinaryVector, vectors is List of ByteBuffer
+         *                if vector type is BinaryVector, vectors is List of ByteBuffer or List of BinaryVector
          * @return <code>Builder</code>
          */
         public Builder withVectors(@NonNull List<?> vectors) {
@@ -155,16 +155,30 @@ public class QueryNodeSingleSearch {
                 }
             } else if (vectors.get(0) instanceof ByteBuffer) {
                 // binary vectors
-                ByteBuffer first = (ByteBuffer) vectors.get(0);
-                int dim = first.position();
+                int dim = ParamUtils.binaryVectorView((ByteBuffer) vectors.get(0)).remaining();
                 for (int i = 1; i < vectors.size(); ++i) {
-                    ByteBuffer temp = (ByteBuffer) vectors.get(i);
-                    if (dim != temp.position()) {
+                    if (!(vectors.get(i) instanceof ByteBuffer)) {
+                        throw new ParamException("Target vectors must be in the same type");
+                    }
+                    ByteBuffer temp = ParamUtils.binaryVectorView((ByteBuffer) vectors.get(i));
+                    if (dim != temp.remaining()) {
+                        throw new ParamException("Target vector dimension must be equal");
+                    }
+                }
+            } else if (vectors.get(0) instanceof BinaryVector) {
+                // binary vectors packed into words
+                int dim = ((BinaryVector) vectors.get(0)).getDim();
+                for (int i = 1; i < vectors.size(); ++i) {
+                    Object temp = vectors.get(i);
+                    if (!(temp instanceof BinaryVector)) {
+                        throw new ParamException("Target vectors must be in the same type");
+                    }
+                    if (dim != ((BinaryVector) temp).getDim()) {
                         throw new ParamException("Target vector dimension must be equal");
                     }
                 }
             } else {
-                throw new ParamException("Target vector type must be List<Float> or ByteBuffer");
+                throw new ParamException("Target vector type must be List<Float>, ByteBuffer or BinaryVector");
             }
 
             return new QueryNodeSingleSearch(this);
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.param;
+
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.netty.channel.Channel;
+import io.grpc.netty.shaded.io.netty.channel.EventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.Epoll;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.epoll.EpollSocketChannel;
+import io.grpc.netty.shaded.io.netty.channel.nio.NioEventLoopGroup;
+import io.grpc.netty.shaded.io.netty.channel.socket.nio.NioSocketChannel;
+import io.grpc.netty.shaded.io.netty.util.concurrent.DefaultThreadFactory;
+import io.milvus.exception.ParamException;
+import lombok.NonNull;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Netty transport shared by clients, so that all the clients in a process use one set of I/O threads.
+ * Pass the same instance to {@link ConnectParam.Builder#withTransport(SharedTransport)} or
+ * {@link MultiConnectParam.Builder#withTransport(SharedTransport)} of each client,
+ * and close it after all the clients are closed.
+ *
+ * The netty classes shaded by gRPC are not a stable API, so they are kept out of the methods of this class.
+ */
+public class SharedTransport implements AutoCloseable {
+    private final EventLoopGroup eventLoopGroup;
+    private final Class<? extends Channel> channelType;
+    private final Executor executor;
+
+    private SharedTransport(@NonNull Builder builder, EventLoopGroup eventLoopGroup,
+                            Class<? extends Channel> channelType) {
+        this.eventLoopGroup = eventLoopGroup;
+        this.channelType = channelType;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Creates a channel builder which uses the I/O threads and the executor of this transport.
+     *
+     * @param host server host
+     * @param port server port
+     * @return {@link ManagedChannelBuilder}
+     */
+    public ManagedChannelBuilder<?> newChannelBuilder(@NonNull String host, int port) {
+        NettyChannelBuilder builder = NettyChannelBuilder.forAddress(host, port)
+                .eventLoopGroup(eventLoopGroup)
+                .channelType(channelType);
+        if (null != executor) {
+            builder.executor(executor);
+        }
+        return builder;
+    }
+
+    /**
+     * Gets the executor to run the gRPC callbacks, null means the gRPC default executor.
+     *
+     * @return {@link Executor}
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Checks if the transport is closed.
+     *
+     * @return <code>boolean</code> true if {@link #close()} is called
+     */
+    public boolean isClosed() {
+        return eventLoopGroup.isShuttingDown();
+    }
+
+    /**
+     * Shuts down the I/O threads of the transport.
+     */
+    @Override
+    public void close() {
+        eventLoopGroup.shutdownGracefully(0, 5, TimeUnit.SECONDS);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for {@link SharedTransport}
+     */
+    public static class Builder {
+        private int ioThreads = 0;
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the count of I/O threads of the event loop group created by the transport.
+         * The epoll transport is used if available, otherwise NIO.
+         * The default value is 0, which means the netty default, twice the count of processors.
+         *
+         * @param ioThreads count of I/O threads
+         * @return <code>Builder</code>
+         */
+        public Builder withIoThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        /**
+         * Sets the executor to run the gRPC callbacks of all the clients.
+         * By default, each channel uses the gRPC default cached thread pool.
+         *
+         * @param executor executor for gRPC callbacks
+         * @return <code>Builder</code>
+         */
+        public Builder withExecutor(@NonNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Verifies parameters and creates a new {@link SharedTransport} instance.
+         *
+         * @return {@link SharedTransport}
+         */
+        public SharedTransport build() throws ParamException {
+            if (ioThreads < 0) {
+                throw new ParamException("IO threads cannot be negative!");
+            }
+
+            // daemon threads, so that a transport not closed doesn't prevent the JVM from exiting
+            DefaultThreadFactory threadFactory = new DefaultThreadFactory("milvus-io", true);
+            if (Epoll.isAvailable()) {
+                return new SharedTransport(this, new EpollEventLoopGroup(ioThreads, threadFactory),
+                        EpollSocketChannel.class);
+            }
+            return new SharedTransport(this, new NioEventLoopGroup(ioThreads, threadFactory),
+                    NioSocketChannel.class);
+        }
+    }
+}
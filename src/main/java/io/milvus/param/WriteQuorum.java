@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.param;
+
+/**
+ * Represents how many clusters must succeed before a write request of multi clusters is acknowledged.
+ * The write request is still sent to all the available clusters.
+ */
+public enum WriteQuorum {
+    // one cluster
+    ONE,
+    // more than half of the clusters
+    MAJORITY,
+    // all the clusters
+    ALL,
+    ;
+
+    /**
+     * Gets the count of successful responses required.
+     *
+     * @param clusterCount count of clusters the request is sent to
+     * @return <code>int</code> required count
+     */
+    public int requiredCount(int clusterCount) {
+        switch (this) {
+            case ONE:
+                return Math.min(1, clusterCount);
+            case MAJORITY:
+                return clusterCount / 2 + 1;
+            default:
+                return clusterCount;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import io.milvus.param.ParamUtils;
 
 import lombok.Getter;
 import lombok.NonNull;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -160,8 +162,8 @@ public class InsertParam {
      * If dataType is Float, values is List of Float;
      * If dataType is Double, values is List of Double;
      * If dataType is Varchar, values is List of String;
-     * If dataType is FloatVector, values is List of List Float;
-     * If dataType is BinaryVector, values is List of ByteBuffer;
+     * If dataType is FloatVector, values is List of List Float, List of float[] or List of FloatBuffer;
+     * If dataType is BinaryVector, values is List of ByteBuffer or List of BinaryVector;
      *
      * Note:
      * If dataType is Int8/Int16/Int32, values is List of Integer or Short
@@ -177,6 +179,31 @@ public class InsertParam {
             this.values = values;
         }
 
+        /**
+         * Constructs a float vector field from primitive arrays, each row is a vector.
+         * The arrays are not copied, avoid boxing of each float value.
+         *
+         * @param name name of the field
+         * @param vectors float vectors
+         */
+        public Field(String name, float[][] vectors) {
+            this.name = name;
+            this.values = Arrays.asList(vectors);
+        }
+
+        /**
+         * Constructs a float vector field from a flat float buffer.
+         * The vectors between position and limit of the buffer are split by the dimension, no data is copied.
+         *
+         * @param name name of the field
+         * @param vectors flat float vectors
+         * @param dim dimension of each vector
+         */
+        public Field(String name, FloatBuffer vectors, int dim) {
+            this.name = name;
+            this.values = ParamUtils.splitFloatVectors(vectors, dim);
+        }
+
         /**
          * Return name of the field.
          *
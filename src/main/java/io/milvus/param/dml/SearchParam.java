@@ -23,12 +23,15 @@ import com.google.common.collect.Lists;
 import io.milvus.common.clientenum.ConsistencyLevelEnum;
 import io.milvus.exception.ParamException;
 import io.milvus.param.Constant;
+import io.milvus.param.BinaryVector;
 import io.milvus.param.MetricType;
 import io.milvus.param.ParamUtils;
 
 import lombok.Getter;
 import lombok.NonNull;
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -224,8 +227,8 @@ public class SearchParam {
          * Sets the target vectors.
          *
          * @param vectors list of target vectors:
-         *                if vector type is FloatVector, vectors is List of List Float;
-         *                if vector type is BinaryVector, vectors is List of ByteBuffer;
+         *                if vector type is FloatVector, vectors is List of List Float, List of float[] or List of FloatBuffer;
+         *                if vector type is BinaryVector, vectors is List of ByteBuffer or List of BinaryVector;
          * @return <code>Builder</code>
          */
         public Builder withVectors(@NonNull List<?> vectors) {
@@ -233,6 +236,29 @@ public class SearchParam {
             return this;
         }
 
+        /**
+         * Sets the target float vectors by primitive arrays, the arrays are not copied.
+         *
+         * @param vectors float vectors, each row is a vector
+         * @return <code>Builder</code>
+         */
+        public Builder withVectors(@NonNull float[][] vectors) {
+            this.vectors = Arrays.asList(vectors);
+            return this;
+        }
+
+        /**
+         * Sets the target float vectors by a flat float buffer, the buffer is split by dimension without copying.
+         *
+         * @param vectors flat float vectors between position and limit of the buffer
+         * @param dim dimension of each vector
+         * @return <code>Builder</code>
+         */
+        public Builder withVectors(@NonNull FloatBuffer vectors, int dim) {
+            this.vectors = ParamUtils.splitFloatVectors(vectors, dim);
+            return this;
+        }
+
         /**
          * Specifies the decimal place of the returned results.
          *
@@ -333,17 +359,50 @@ public class SearchParam {
                     }
                 }
 
+                // check metric type
+                if (!ParamUtils.IsFloatMetric(metricType)) {
+                    throw new ParamException("Target vector is float but metric type is incorrect");
+                }
+            } else if (vectors.get(0) instanceof float[] || vectors.get(0) instanceof FloatBuffer) {
+                // float vectors in primitive form
+                int dim = primitiveVectorDim(vectors.get(0));
+                for (int i = 1; i < vectors.size(); ++i) {
+                    if (dim != primitiveVectorDim(vectors.get(i))) {
+                        throw new ParamException("Target vector dimension must be equal");
+                    }
+                }
+
                 // check metric type
                 if (!ParamUtils.IsFloatMetric(metricType)) {
                     throw new ParamException("Target vector is float but metric type is incorrect");
                 }
             } else if (vectors.get(0) instanceof ByteBuffer) {
                 // binary vectors
-                ByteBuffer first = (ByteBuffer) vectors.get(0);
-                int dim = first.position();
+                ByteBuffer first = ParamUtils.binaryVectorView((ByteBuffer) vectors.get(0));
+                int dim = first.remaining();
+                for (int i = 1; i < vectors.size(); ++i) {
+                    if (!(vectors.get(i) instanceof ByteBuffer)) {
+                        throw new ParamException("Target vectors must be in the same type");
+                    }
+                    ByteBuffer temp = ParamUtils.binaryVectorView((ByteBuffer) vectors.get(i));
+                    if (dim != temp.remaining()) {
+                        throw new ParamException("Target vector dimension must be equal");
+                    }
+                }
+
+                // check metric type
+                if (!ParamUtils.IsBinaryMetric(metricType)) {
+                    throw new ParamException("Target vector is binary but metric type is incorrect");
+                }
+            } else if (vectors.get(0) instanceof BinaryVector) {
+                // binary vectors packed into words
+                int dim = ((BinaryVector) vectors.get(0)).getDim();
                 for (int i = 1; i < vectors.size(); ++i) {
-                    ByteBuffer temp = (ByteBuffer) vectors.get(i);
-                    if (dim != temp.position()) {
+                    Object temp = vectors.get(i);
+                    if (!(temp instanceof BinaryVector)) {
+                        throw new ParamException("Target vectors must be in the same type");
+                    }
+                    if (dim != ((BinaryVector) temp).getDim()) {
                         throw new ParamException("Target vector dimension must be equal");
                     }
                 }
@@ -353,11 +412,20 @@ public class SearchParam {
                     throw new ParamException("Target vector is binary but metric type is incorrect");
                 }
             } else {
-                throw new ParamException("Target vector type must be Lst<Float> or ByteBuffer");
+                throw new ParamException("Target vector type must be Lst<Float>, float[], FloatBuffer, ByteBuffer or BinaryVector");
             }
 
             return new SearchParam(this);
         }
+
+        private static int primitiveVectorDim(Object vector) {
+            if (vector instanceof float[]) {
+                return ((float[]) vector).length;
+            } else if (vector instanceof FloatBuffer) {
+                return ((FloatBuffer) vector).remaining();
+            }
+            throw new ParamException("Target vectors must be in the same type");
+        }
     }
 
     /**
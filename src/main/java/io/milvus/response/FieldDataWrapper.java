@@ -1,14 +1,15 @@
 package io.milvus.response;
 
 import com.google.protobuf.ProtocolStringList;
-import io.milvus.grpc.DataType;
-import io.milvus.grpc.FieldData;
+import io.milvus.grpc.*;
 import io.milvus.exception.IllegalResponseException;
 
 import lombok.NonNull;
 
 import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.google.protobuf.ByteString;
@@ -19,6 +20,8 @@ import com.google.protobuf.ByteString;
 public class FieldDataWrapper {
     private final FieldData fieldData;
 
+    private volatile float[] floatVectors;
+
     public FieldDataWrapper(@NonNull FieldData fieldData) {
         this.fieldData = fieldData;
     }
@@ -156,4 +159,147 @@ public class FieldDataWrapper {
                 throw new IllegalResponseException("Unsupported data type returned by FieldData");
         }
     }
+
+    /**
+     * Gets all the vectors of a float vector field as one flat array, the i-th vector is located
+     * between <code>i * getDim()</code> and <code>(i + 1) * getDim()</code>.
+     * The returned array is a copy, use {@link #getFloatVector(int)} to read a vector without copying.
+     * Throws {@link IllegalResponseException} if the field is not a float vector field.
+     *
+     * @return <code>float[]</code>
+     */
+    public float[] getFloatVectors() throws IllegalResponseException {
+        return floatVectorData().clone();
+    }
+
+    /**
+     * Gets a read-only view of the i-th vector of a float vector field, the data is not copied.
+     * Throws {@link IllegalResponseException} if the field is not a float vector field.
+     *
+     * @param index index of the vector
+     * @return <code>FloatBuffer</code>
+     */
+    public FloatBuffer getFloatVector(int index) throws IllegalResponseException {
+        float[] vectors = floatVectorData();
+        int dim = getDim();
+        if (index < 0 || dim <= 0 || (long) (index + 1) * dim > vectors.length) {
+            throw new IllegalResponseException("Vector index out of range");
+        }
+        return FloatBuffer.wrap(vectors, index * dim, dim).slice().asReadOnlyBuffer();
+    }
+
+    // the array is created at the first call and shared by the later calls, it is never exposed
+    private float[] floatVectorData() throws IllegalResponseException {
+        checkType(DataType.FloatVector);
+        float[] result = floatVectors;
+        if (result == null) {
+            int dim = getDim();
+            FloatArray data = fieldData.getVectors().getFloatVector();
+            if (dim <= 0) {
+                // an empty result may have no dimension
+                if (data.getDataCount() != 0) {
+                    throw new IllegalResponseException("Returned float vector field has no dimension");
+                }
+            } else if (data.getDataCount() % dim != 0) {
+                throw new IllegalResponseException("Returned float vector field data array size doesn't match dimension");
+            }
+
+            result = new float[data.getDataCount()];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = data.getData(i);
+            }
+            floatVectors = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of an int64 field as a primitive array.
+     * Throws {@link IllegalResponseException} if the field is not an int64 field.
+     *
+     * @return <code>long[]</code>
+     */
+    public long[] getLongData() throws IllegalResponseException {
+        checkType(DataType.Int64);
+        LongArray data = fieldData.getScalars().getLongData();
+        long[] result = new long[data.getDataCount()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = data.getData(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of an int32/int16/int8 field as a primitive array.
+     * Throws {@link IllegalResponseException} if the field is not an integer field.
+     *
+     * @return <code>int[]</code>
+     */
+    public int[] getIntData() throws IllegalResponseException {
+        checkType(DataType.Int32, DataType.Int16, DataType.Int8);
+        IntArray data = fieldData.getScalars().getIntData();
+        int[] result = new int[data.getDataCount()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = data.getData(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of a bool field as a primitive array.
+     * Throws {@link IllegalResponseException} if the field is not a bool field.
+     *
+     * @return <code>boolean[]</code>
+     */
+    public boolean[] getBoolData() throws IllegalResponseException {
+        checkType(DataType.Bool);
+        BoolArray data = fieldData.getScalars().getBoolData();
+        boolean[] result = new boolean[data.getDataCount()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = data.getData(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of a float field as a primitive array.
+     * Throws {@link IllegalResponseException} if the field is not a float field.
+     *
+     * @return <code>float[]</code>
+     */
+    public float[] getFloatData() throws IllegalResponseException {
+        checkType(DataType.Float);
+        FloatArray data = fieldData.getScalars().getFloatData();
+        float[] result = new float[data.getDataCount()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = data.getData(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the data of a double field as a primitive array.
+     * Throws {@link IllegalResponseException} if the field is not a double field.
+     *
+     * @return <code>double[]</code>
+     */
+    public double[] getDoubleData() throws IllegalResponseException {
+        checkType(DataType.Double);
+        DoubleArray data = fieldData.getScalars().getDoubleData();
+        double[] result = new double[data.getDataCount()];
+        for (int i = 0; i < result.length; ++i) {
+            result[i] = data.getData(i);
+        }
+        return result;
+    }
+
+    private void checkType(DataType... types) throws IllegalResponseException {
+        for (DataType type : types) {
+            if (fieldData.getType() == type) {
+                return;
+            }
+        }
+        throw new IllegalResponseException("Field '" + fieldData.getFieldName() + "' is " + fieldData.getType()
+                + ", not " + Arrays.toString(types));
+    }
 }
@@ -34,4 +34,17 @@ public class QueryResultsWrapper {
 
         throw new ParamException("The field name doesn't exist");
     }
+
+    /**
+     * Gets the row count of the results, all the output fields have the same row count.
+     *
+     * @return <code>long</code> row count, 0 if there is no output field
+     */
+    public long getRowCount() {
+        List<FieldData> fields = results.getFieldsDataList();
+        if (fields.isEmpty()) {
+            return 0;
+        }
+        return new FieldDataWrapper(fields.get(0)).getRowCount();
+    }
 }
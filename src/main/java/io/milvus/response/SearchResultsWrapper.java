@@ -7,14 +7,24 @@ import lombok.Getter;
 import lombok.NonNull;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class to wrap response of <code>search</code> interface.
+ * The offsets of each target's results and the output fields are indexed at the first access,
+ * so iterating all the targets is linear to the result size.
  */
 public class SearchResultsWrapper {
     private final SearchResultData results;
 
+    // offsets[i] is the position of the first result of the i-th target, offsets[nq] is the total count
+    private volatile long[] offsets;
+    private volatile Map<String, FieldDataWrapper> fieldWrappers;
+    private final Map<String, List<?>> fieldDataCache = new ConcurrentHashMap<>();
+
     public SearchResultsWrapper(@NonNull SearchResultData results) {
         this.results = results;
     }
@@ -29,14 +39,7 @@ public class SearchResultsWrapper {
      * @return {@link FieldDataWrapper}
      */
     public List<?> getFieldData(@NonNull String fieldName, int indexOfTarget) {
-        FieldDataWrapper wrapper = null;
-        for (int i = 0; i < results.getFieldsDataCount(); ++i) {
-            FieldData data = results.getFieldsData(i);
-            if (fieldName.compareTo(data.getFieldName()) == 0) {
-                wrapper = new FieldDataWrapper(data);
-            }
-        }
-
+        FieldDataWrapper wrapper = getFieldWrappers().get(fieldName);
         if (wrapper == null) {
             throw new ParamException("Illegal field name: " + fieldName);
         }
@@ -45,7 +48,7 @@ public class SearchResultsWrapper {
         long offset = position.getOffset();
         long k = position.getK();
 
-        List<?> allData = wrapper.getFieldData();
+        List<?> allData = fieldDataCache.computeIfAbsent(fieldName, name -> wrapper.getFieldData());
         if (offset + k > allData.size()) {
             throw new IllegalResponseException("Field data row count is wrong");
         }
@@ -53,6 +56,22 @@ public class SearchResultsWrapper {
         return allData.subList((int)offset, (int)offset + (int)k);
     }
 
+    /**
+     * Gets the wrapper of an output field which is specified by search request,
+     * the data of all targets are in the same wrapper, use {@link #getOffset(int)} to locate them.
+     * Throws {@link ParamException} if the field doesn't exist.
+     *
+     * @param fieldName field name to get output data
+     * @return {@link FieldDataWrapper}
+     */
+    public FieldDataWrapper getFieldWrapper(@NonNull String fieldName) {
+        FieldDataWrapper wrapper = getFieldWrappers().get(fieldName);
+        if (wrapper == null) {
+            throw new ParamException("Illegal field name: " + fieldName);
+        }
+        return wrapper;
+    }
+
     /**
      * Gets ID-score pairs returned by search interface.
      * Throws {@link ParamException} if the indexOfTarget is illegal.
@@ -70,7 +89,7 @@ public class SearchResultsWrapper {
             throw new IllegalResponseException("Result scores count is wrong");
         }
 
-        List<IDScore> idScore = new ArrayList<>();
+        List<IDScore> idScore = new ArrayList<>((int)k);
 
         IDs ids = results.getIds();
         if (ids.hasIntId()) {
@@ -98,6 +117,101 @@ public class SearchResultsWrapper {
         return idScore;
     }
 
+    /**
+     * Gets the count of target vectors.
+     *
+     * @return <code>int</code> count of target vectors
+     */
+    public int getNumQueries() {
+        return getOffsets().length - 1;
+    }
+
+    /**
+     * Gets the count of results returned for a target vector.
+     * Throws {@link ParamException} if the indexOfTarget is illegal.
+     *
+     * @param indexOfTarget which target vector the result belongs to
+     * @return <code>int</code> count of results
+     */
+    public int getTopK(int indexOfTarget) throws ParamException {
+        long[] all = getOffsets();
+        checkIndexOfTarget(all, indexOfTarget);
+        return (int) (all[indexOfTarget + 1] - all[indexOfTarget]);
+    }
+
+    /**
+     * Gets the position of the first result of a target vector in the flat result arrays,
+     * the field data of this target starts at the same position of {@link #getFieldWrapper(String)}.
+     * Throws {@link ParamException} if the indexOfTarget is illegal.
+     *
+     * @param indexOfTarget which target vector the result belongs to
+     * @return <code>int</code> position of the first result
+     */
+    public int getOffset(int indexOfTarget) throws ParamException {
+        long[] all = getOffsets();
+        checkIndexOfTarget(all, indexOfTarget);
+        return (int) all[indexOfTarget];
+    }
+
+    /**
+     * Gets the int64 ID of the n-th result of a target vector, no object is created.
+     * Throws {@link ParamException} if the indexOfTarget or n is illegal.
+     * Throws {@link IllegalResponseException} if the ids are not int64 or the returned results is illegal.
+     *
+     * @param indexOfTarget which target vector the result belongs to
+     * @param n index of the result, from 0 to <code>getTopK(indexOfTarget) - 1</code>
+     * @return <code>long</code> ID
+     */
+    public long getLongID(int indexOfTarget, int n) throws ParamException, IllegalResponseException {
+        int position = getResultPosition(indexOfTarget, n);
+        IDs ids = results.getIds();
+        if (!ids.hasIntId()) {
+            throw new IllegalResponseException("Result ids are not int64");
+        }
+        if (position >= ids.getIntId().getDataCount()) {
+            throw new IllegalResponseException("Result ids count is wrong");
+        }
+        return ids.getIntId().getData(position);
+    }
+
+    /**
+     * Gets the string ID of the n-th result of a target vector.
+     * Throws {@link ParamException} if the indexOfTarget or n is illegal.
+     * Throws {@link IllegalResponseException} if the ids are not string or the returned results is illegal.
+     *
+     * @param indexOfTarget which target vector the result belongs to
+     * @param n index of the result, from 0 to <code>getTopK(indexOfTarget) - 1</code>
+     * @return <code>String</code> ID
+     */
+    public String getStrID(int indexOfTarget, int n) throws ParamException, IllegalResponseException {
+        int position = getResultPosition(indexOfTarget, n);
+        IDs ids = results.getIds();
+        if (!ids.hasStrId()) {
+            throw new IllegalResponseException("Result ids are not string");
+        }
+        if (position >= ids.getStrId().getDataCount()) {
+            throw new IllegalResponseException("Result ids count is wrong");
+        }
+        return ids.getStrId().getData(position);
+    }
+
+    /**
+     * Gets the score of the n-th result of a target vector, no object is created.
+     * Throws {@link ParamException} if the indexOfTarget or n is illegal.
+     * Throws {@link IllegalResponseException} if the returned results is illegal.
+     *
+     * @param indexOfTarget which target vector the result belongs to
+     * @param n index of the result, from 0 to <code>getTopK(indexOfTarget) - 1</code>
+     * @return <code>float</code> score
+     */
+    public float getScore(int indexOfTarget, int n) throws ParamException, IllegalResponseException {
+        int position = getResultPosition(indexOfTarget, n);
+        if (position >= results.getScoresCount()) {
+            throw new IllegalResponseException("Result scores count is wrong");
+        }
+        return results.getScores(position);
+    }
+
     @Getter
     private static final class Position {
         private final long offset;
@@ -108,28 +222,54 @@ public class SearchResultsWrapper {
             this.k = k;
         }
     }
+
     private Position getOffsetByIndex(int indexOfTarget) {
-        List<Long> kList = results.getTopksList();
+        long[] all = getOffsets();
+        checkIndexOfTarget(all, indexOfTarget);
+        return new Position(all[indexOfTarget], all[indexOfTarget + 1] - all[indexOfTarget]);
+    }
 
-        // if the server didn't return separate topK, use same topK value
-        if (kList.isEmpty()) {
-            kList = new ArrayList<>();
-            for (long i = 0; i < results.getNumQueries(); ++i) {
-                kList.add(results.getTopK());
-            }
+    private int getResultPosition(int indexOfTarget, int n) {
+        long[] all = getOffsets();
+        checkIndexOfTarget(all, indexOfTarget);
+        if (n < 0 || n >= all[indexOfTarget + 1] - all[indexOfTarget]) {
+            throw new ParamException("Illegal index of result: " + n);
         }
+        return (int) (all[indexOfTarget] + n);
+    }
 
-        if (indexOfTarget < 0 || indexOfTarget >= kList.size()) {
+    private static void checkIndexOfTarget(long[] all, int indexOfTarget) {
+        if (indexOfTarget < 0 || indexOfTarget >= all.length - 1) {
             throw new ParamException("Illegal index of target: " + indexOfTarget);
         }
+    }
 
-        long offset = 0;
-        for (int i = 0; i < indexOfTarget; ++i) {
-            offset += kList.get(i);
+    private long[] getOffsets() {
+        long[] all = offsets;
+        if (all == null) {
+            // if the server didn't return separate topK, use same topK value
+            int topksCount = results.getTopksCount();
+            int nq = topksCount > 0 ? topksCount : (int) results.getNumQueries();
+            all = new long[nq + 1];
+            for (int i = 0; i < nq; ++i) {
+                long k = topksCount > 0 ? results.getTopks(i) : results.getTopK();
+                all[i + 1] = all[i] + k;
+            }
+            offsets = all;
         }
+        return all;
+    }
 
-        long k = kList.get(indexOfTarget);
-        return new Position(offset, k);
+    private Map<String, FieldDataWrapper> getFieldWrappers() {
+        Map<String, FieldDataWrapper> wrappers = fieldWrappers;
+        if (wrappers == null) {
+            wrappers = new HashMap<>();
+            for (FieldData data : results.getFieldsDataList()) {
+                wrappers.put(data.getFieldName(), new FieldDataWrapper(data));
+            }
+            fieldWrappers = wrappers;
+        }
+        return wrappers;
     }
 
     /**
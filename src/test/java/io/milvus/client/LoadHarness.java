@@ -0,0 +1,470 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.milvus.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.milvus.grpc.*;
+import io.milvus.param.ConnectParam;
+import io.milvus.param.MetricType;
+import io.milvus.param.ParamUtils;
+import io.milvus.param.R;
+import io.milvus.param.collection.FieldType;
+import io.milvus.param.dml.InsertParam;
+import io.milvus.param.dml.QueryParam;
+import io.milvus.param.dml.SearchParam;
+import io.milvus.server.MockMilvusServerImpl;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import javax.annotation.Nonnull;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Drives a {@link MilvusServiceClient} against {@link MockMilvusServerImpl} to measure the client overhead
+ * without a real Milvus, over the in-process transport or loopback netty.
+ * Sync operations run on <code>concurrency</code> threads in a closed loop, async operations keep
+ * <code>concurrency</code> requests in flight from one thread. The per-call logging of the mock server is
+ * turned off while the harness is open, otherwise the console appender dominates the measured latency.
+ *
+ * Run all the operations on both transports:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.milvus.client.LoadHarness \
+ *     -Dexec.args="--concurrency 16 --duration 10 --dim 768"
+ * </pre>
+ */
+final class LoadHarness implements AutoCloseable {
+    enum Transport {
+        IN_PROCESS,
+        NETTY,
+    }
+
+    enum Operation {
+        INSERT(false),
+        INSERT_ASYNC(true),
+        SEARCH(false),
+        SEARCH_ASYNC(true),
+        QUERY(false),
+        QUERY_ASYNC(true),
+        ;
+
+        private final boolean async;
+
+        Operation(boolean async) {
+            this.async = async;
+        }
+    }
+
+    static final class Config {
+        private int concurrency = 8;
+        private long warmupMs = 1000;
+        private long durationMs = 5000;
+        private int rows = 100;
+        private int dim = 128;
+        private int nq = 1;
+        private int topK = 10;
+
+        Config withConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        Config withWarmup(long warmup, TimeUnit timeUnit) {
+            this.warmupMs = timeUnit.toMillis(warmup);
+            return this;
+        }
+
+        Config withDuration(long duration, TimeUnit timeUnit) {
+            this.durationMs = timeUnit.toMillis(duration);
+            return this;
+        }
+
+        Config withRows(int rows) {
+            this.rows = rows;
+            return this;
+        }
+
+        Config withDim(int dim) {
+            this.dim = dim;
+            return this;
+        }
+
+        Config withNq(int nq) {
+            this.nq = nq;
+            return this;
+        }
+
+        Config withTopK(int topK) {
+            this.topK = topK;
+            return this;
+        }
+    }
+
+    static final class Result {
+        private final Transport transport;
+        private final Operation operation;
+        private final long requests;
+        private final long errors;
+        private final long elapsedNanos;
+        private final Histogram latencies;
+
+        Result(Transport transport, Operation operation, long requests, long errors, long elapsedNanos,
+               Histogram latencies) {
+            this.transport = transport;
+            this.operation = operation;
+            this.requests = requests;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+            this.latencies = latencies;
+        }
+
+        long getRequests() {
+            return requests;
+        }
+
+        long getErrors() {
+            return errors;
+        }
+
+        double getThroughput() {
+            return requests * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        long getPercentileMicros(double percentile) {
+            return TimeUnit.NANOSECONDS.toMicros(latencies.getValueAtPercentile(percentile));
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-10s %-12s %10.0f req/s  p50=%6d us  p90=%6d us  p99=%6d us  p99.9=%6d us" +
+                            "  max=%6d us  errors=%d",
+                    transport, operation, getThroughput(), getPercentileMicros(50), getPercentileMicros(90),
+                    getPercentileMicros(99), getPercentileMicros(99.9),
+                    TimeUnit.NANOSECONDS.toMicros(latencies.getMaxValue()), errors);
+        }
+    }
+
+    private static final String COLLECTION_NAME = "load_test";
+    private static final String ID_FIELD = "id";
+    private static final String VECTOR_FIELD = "vector";
+
+    private final Transport transport;
+    private final Server server;
+    private final MilvusServiceClient client;
+    private final MockMilvusServerImpl serviceImpl = new MockMilvusServerImpl();
+    private final Level mockLogLevel;
+
+    LoadHarness(Transport transport) throws Exception {
+        this.transport = transport;
+        ConnectParam.Builder connectParam = ConnectParam.newBuilder().withHost("localhost");
+        if (transport == Transport.IN_PROCESS) {
+            String name = InProcessServerBuilder.generateName();
+            server = InProcessServerBuilder.forName(name)
+                    .directExecutor()
+                    .addService(serviceImpl)
+                    .build()
+                    .start();
+            Supplier<ManagedChannelBuilder<?>> channelBuilder = () -> InProcessChannelBuilder.forName(name);
+            client = new MilvusServiceClient(connectParam.build(), channelBuilder);
+        } else {
+            server = NettyServerBuilder.forAddress(new InetSocketAddress("localhost", 0))
+                    .addService(serviceImpl)
+                    .build()
+                    .start();
+            client = new MilvusServiceClient(connectParam.withPort(server.getPort()).build());
+        }
+
+        String mockLogger = MockMilvusServerImpl.class.getName();
+        mockLogLevel = LogManager.getLogger(mockLogger).getLevel();
+        Configurator.setLevel(mockLogger, Level.WARN);
+    }
+
+    Result run(Operation operation, Config config) throws Exception {
+        prepareResponses(config);
+        Supplier<ListenableFuture<R<?>>> asyncCall = asyncCall(operation, config);
+        Supplier<R<?>> syncCall = syncCall(operation, config);
+
+        // the warmup is measured the same way and thrown away
+        drive(operation, config, config.warmupMs, syncCall, asyncCall);
+        return drive(operation, config, config.durationMs, syncCall, asyncCall);
+    }
+
+    private Result drive(Operation operation, Config config, long durationMs, Supplier<R<?>> syncCall,
+                         Supplier<ListenableFuture<R<?>>> asyncCall) throws Exception {
+        Histogram latencies = new ConcurrentHistogram(3);
+        AtomicLong requests = new AtomicLong(0);
+        AtomicLong errors = new AtomicLong(0);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+
+        if (operation.async) {
+            Semaphore inFlight = new Semaphore(config.concurrency);
+            while (System.nanoTime() < deadline) {
+                inFlight.acquire();
+                long requestStart = System.nanoTime();
+                Futures.addCallback(asyncCall.get(), new FutureCallback<R<?>>() {
+                    @Override
+                    public void onSuccess(R<?> response) {
+                        record(latencies, requests, errors, requestStart, isSuccess(response));
+                        inFlight.release();
+                    }
+
+                    @Override
+                    public void onFailure(@Nonnull Throwable t) {
+                        record(latencies, requests, errors, requestStart, false);
+                        inFlight.release();
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+            inFlight.acquire(config.concurrency);
+        } else {
+            ExecutorService workers = Executors.newFixedThreadPool(config.concurrency);
+            try {
+                for (int i = 0; i < config.concurrency; ++i) {
+                    workers.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            long requestStart = System.nanoTime();
+                            R<?> response = syncCall.get();
+                            record(latencies, requests, errors, requestStart, isSuccess(response));
+                        }
+                    });
+                }
+            } finally {
+                workers.shutdown();
+                workers.awaitTermination(durationMs + 60000, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return new Result(transport, operation, requests.get(), errors.get(), System.nanoTime() - start, latencies);
+    }
+
+    private static boolean isSuccess(R<?> response) {
+        return null != response && R.Status.Success.getCode() == response.getStatus();
+    }
+
+    private static void record(Histogram latencies, AtomicLong requests, AtomicLong errors, long requestStart,
+                               boolean success) {
+        latencies.recordValue(System.nanoTime() - requestStart);
+        requests.incrementAndGet();
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<ListenableFuture<R<?>>> asyncCall(Operation operation, Config config) {
+        switch (operation) {
+            case INSERT_ASYNC: {
+                InsertParam param = insertParam(config);
+                return () -> (ListenableFuture<R<?>>) (ListenableFuture<?>) client.insertAsync(param);
+            }
+            case SEARCH_ASYNC: {
+                SearchParam param = searchParam(config);
+                return () -> (ListenableFuture<R<?>>) (ListenableFuture<?>) client.searchAsync(param);
+            }
+            case QUERY_ASYNC: {
+                QueryParam param = queryParam();
+                return () -> (ListenableFuture<R<?>>) (ListenableFuture<?>) client.queryAsync(param);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private Supplier<R<?>> syncCall(Operation operation, Config config) {
+        switch (operation) {
+            case INSERT: {
+                InsertParam param = insertParam(config);
+                return () -> client.insert(param);
+            }
+            case SEARCH: {
+                SearchParam param = searchParam(config);
+                return () -> client.search(param);
+            }
+            case QUERY: {
+                QueryParam param = queryParam();
+                return () -> client.query(param);
+            }
+            default:
+                return null;
+        }
+    }
+
+    private void prepareResponses(Config config) {
+        serviceImpl.setDescribeCollectionResponse(DescribeCollectionResponse.newBuilder()
+                .setSchema(CollectionSchema.newBuilder()
+                        .setName(COLLECTION_NAME)
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName(ID_FIELD)
+                                .withDataType(DataType.Int64)
+                                .withPrimaryKey(true)
+                                .build()))
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName(VECTOR_FIELD)
+                                .withDataType(DataType.FloatVector)
+                                .withDimension(config.dim)
+                                .build())))
+                .build());
+
+        LongArray.Builder insertedIds = LongArray.newBuilder();
+        for (long i = 0; i < config.rows; ++i) {
+            insertedIds.addData(i);
+        }
+        serviceImpl.setInsertResponse(MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(insertedIds))
+                .setInsertCnt(config.rows)
+                .build());
+
+        // the responses have realistic sizes, so that the client pays for deserialization
+        int total = config.nq * config.topK;
+        LongArray.Builder resultIds = LongArray.newBuilder();
+        SearchResultData.Builder results = SearchResultData.newBuilder()
+                .setNumQueries(config.nq)
+                .setTopK(config.topK);
+        for (int i = 0; i < total; ++i) {
+            resultIds.addData(i);
+            results.addScores(i);
+        }
+        for (int i = 0; i < config.nq; ++i) {
+            results.addTopks(config.topK);
+        }
+        serviceImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(results.setIds(IDs.newBuilder().setIntId(resultIds)))
+                .build());
+
+        serviceImpl.setQueryResponse(QueryResults.newBuilder()
+                .addFieldsData(FieldData.newBuilder()
+                        .setFieldName(ID_FIELD)
+                        .setType(DataType.Int64)
+                        .setScalars(ScalarField.newBuilder().setLongData(resultIds)))
+                .build());
+    }
+
+    private static InsertParam insertParam(Config config) {
+        Random random = new Random(config.rows);
+        List<Long> ids = new ArrayList<>(config.rows);
+        for (long i = 0; i < config.rows; ++i) {
+            ids.add(i);
+        }
+        return InsertParam.newBuilder()
+                .withCollectionName(COLLECTION_NAME)
+                .withFields(Arrays.asList(
+                        new InsertParam.Field(ID_FIELD, ids),
+                        new InsertParam.Field(VECTOR_FIELD, vectors(random, config.rows, config.dim))))
+                .build();
+    }
+
+    private static SearchParam searchParam(Config config) {
+        return SearchParam.newBuilder()
+                .withCollectionName(COLLECTION_NAME)
+                .withVectorFieldName(VECTOR_FIELD)
+                .withMetricType(MetricType.L2)
+                .withTopK(config.topK)
+                .withVectors(vectors(new Random(config.nq), config.nq, config.dim))
+                .build();
+    }
+
+    private static QueryParam queryParam() {
+        return QueryParam.newBuilder()
+                .withCollectionName(COLLECTION_NAME)
+                .withExpr(ID_FIELD + " > 0")
+                .withOutFields(Arrays.asList(ID_FIELD))
+                .build();
+    }
+
+    private static List<List<Float>> vectors(Random random, int count, int dim) {
+        List<List<Float>> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            List<Float> vector = new ArrayList<>(dim);
+            for (int d = 0; d < dim; ++d) {
+                vector.add(random.nextFloat());
+            }
+            vectors.add(vector);
+        }
+        return vectors;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        client.close();
+        server.shutdownNow().awaitTermination(10, TimeUnit.SECONDS);
+        Configurator.setLevel(MockMilvusServerImpl.class.getName(), mockLogLevel);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Config config = new Config();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            int value = Integer.parseInt(args[i + 1]);
+            switch (args[i]) {
+                case "--concurrency":
+                    config.withConcurrency(value);
+                    break;
+                case "--warmup":
+                    config.withWarmup(value, TimeUnit.SECONDS);
+                    break;
+                case "--duration":
+                    config.withDuration(value, TimeUnit.SECONDS);
+                    break;
+                case "--rows":
+                    config.withRows(value);
+                    break;
+                case "--dim":
+                    config.withDim(value);
+                    break;
+                case "--nq":
+                    config.withNq(value);
+                    break;
+                case "--topk":
+                    config.withTopK(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        for (Transport transport : Transport.values()) {
+            try (LoadHarness harness = new LoadHarness(transport)) {
+                for (Operation operation : Operation.values()) {
+                    System.out.println(harness.run(operation, config));
+                }
+            }
+        }
+    }
+}
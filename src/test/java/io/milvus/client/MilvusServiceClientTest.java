@@ -19,11 +19,32 @@
 
 package io.milvus.client;
 
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 import com.google.protobuf.ByteString;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.milvus.common.clientenum.ConsistencyLevelEnum;
+import io.milvus.connection.ClusterFactory;
+import io.milvus.connection.EwmaLatencyPolicy;
+import io.milvus.connection.LeastOutstandingPolicy;
+import io.milvus.connection.Listener;
+import io.milvus.connection.RoundRobinPolicy;
+import io.milvus.connection.ServerMonitor;
+import io.milvus.connection.ServerSetting;
+import io.milvus.distance.DistanceCalculator;
+import io.milvus.exception.ClientNotConnectedException;
 import io.milvus.exception.IllegalResponseException;
 import io.milvus.exception.ParamException;
 import io.milvus.grpc.*;
+import io.milvus.metrics.ClientMetricsRegistry;
+import io.milvus.metrics.LatencyHistogram;
+import io.milvus.metrics.MetricsRecorder;
+import io.milvus.metrics.MicrometerMetricsRecorder;
+import io.milvus.metrics.RequestStage;
+import io.milvus.metrics.RequestTiming;
+import io.milvus.metrics.RpcCallMetrics;
 import io.milvus.param.*;
 import io.milvus.param.alias.AlterAliasParam;
 import io.milvus.param.alias.CreateAliasParam;
@@ -42,9 +63,13 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 import java.util.*;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -581,6 +606,80 @@ class MilvusServiceClientTest {
         assertEquals(R.Status.ClientNotConnected.getCode(), resp.getStatus());
     }
 
+    @Test
+    void loadCollectionAsync() throws Exception {
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = startClient();
+
+        // both waits are answered by the same ShowCollections response
+        mockServerImpl.setShowCollectionsResponse(ShowCollectionsResponse.newBuilder()
+                .addCollectionNames("collection1")
+                .addInMemoryPercentages(50)
+                .addCollectionNames("collection2")
+                .addInMemoryPercentages(100)
+                .build());
+
+        List<ListenableFuture<R<RpcStatus>>> responses = new ArrayList<>();
+        for (String collectionName : Arrays.asList("collection1", "collection2")) {
+            responses.add(client.loadCollectionAsync(LoadCollectionParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withSyncLoad(Boolean.TRUE)
+                    .withSyncLoadWaitingInterval(50L)
+                    .build()));
+        }
+
+        assertEquals(R.Status.Success.getCode(), responses.get(1).get(5, TimeUnit.SECONDS).getStatus());
+        assertFalse(responses.get(0).isDone());
+
+        mockServerImpl.setShowCollectionsResponse(ShowCollectionsResponse.newBuilder()
+                .addCollectionNames("collection1")
+                .addInMemoryPercentages(100)
+                .build());
+        assertEquals(R.Status.Success.getCode(), responses.get(0).get(5, TimeUnit.SECONDS).getStatus());
+
+        // a rejected batch is polled collection by collection, only the wait of the bad collection fails
+        mockServerImpl.setShowCollectionsResponder(request -> {
+            if (request.getCollectionNamesList().contains("bad")) {
+                return ShowCollectionsResponse.newBuilder()
+                        .setStatus(Status.newBuilder()
+                                .setErrorCode(ErrorCode.UnexpectedError)
+                                .setReason("collection bad not found"))
+                        .build();
+            }
+            ShowCollectionsResponse.Builder builder = ShowCollectionsResponse.newBuilder();
+            request.getCollectionNamesList().forEach(name -> builder.addCollectionNames(name).addInMemoryPercentages(100));
+            return builder.build();
+        });
+        responses.clear();
+        for (String collectionName : Arrays.asList("collection1", "bad")) {
+            responses.add(client.loadCollectionAsync(LoadCollectionParam.newBuilder()
+                    .withCollectionName(collectionName)
+                    .withSyncLoad(Boolean.TRUE)
+                    .withSyncLoadWaitingInterval(50L)
+                    .build()));
+        }
+        assertEquals(R.Status.Success.getCode(), responses.get(0).get(5, TimeUnit.SECONDS).getStatus());
+        assertNotEquals(R.Status.Success.getCode(), responses.get(1).get(5, TimeUnit.SECONDS).getStatus());
+        mockServerImpl.setShowCollectionsResponder(null);
+
+        // the waits fail if the server is gone
+        server.stop();
+        ListenableFuture<R<FlushResponse>> flushResponse = client.flushAsync(FlushParam.newBuilder()
+                .addCollectionName("collection1")
+                .build());
+        assertNotEquals(R.Status.Success.getCode(), flushResponse.get(5, TimeUnit.SECONDS).getStatus());
+
+        client.close();
+        ListenableFuture<R<RpcStatus>> indexResponse = client.createIndexAsync(CreateIndexParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFieldName("vec")
+                .withIndexType(IndexType.IVF_FLAT)
+                .withMetricType(MetricType.L2)
+                .withExtraParam("{\"nlist\":64}")
+                .build());
+        assertEquals(R.Status.ClientNotConnected.getCode(), indexResponse.get().getStatus());
+    }
+
     @Test
     void releaseCollectionParam() {
         // test throw exception with illegal input
@@ -1692,6 +1791,818 @@ class MilvusServiceClientTest {
         }
     }
 
+    @Test
+    void insertInChunks() {
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = new MilvusServiceClient(ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withPort(testPort)
+                .withInsertChunkBytes(16)
+                .withMaxInsertChunksInFlight(2)
+                .build());
+
+        mockServerImpl.setDescribeCollectionResponse(vectorCollectionSchema(2));
+        // each chunk gets the same mocked response
+        mockServerImpl.setInsertResponse(MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(LongArray.newBuilder().addData(7L)))
+                .addSuccIndex(0)
+                .setInsertCnt(1)
+                .setTimestamp(100L)
+                .build());
+
+        // each row is estimated as 16 bytes, so each chunk holds one row
+        InsertParam param = InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(
+                        new InsertParam.Field("id", Arrays.asList(1L, 2L, 3L)),
+                        new InsertParam.Field("vec", new float[][]{{0.1F, 0.2F}, {0.3F, 0.4F}, {0.5F, 0.6F}})))
+                .build();
+        R<MutationResult> resp = client.insert(param);
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertEquals(3L, resp.getData().getInsertCnt());
+        assertEquals(Arrays.asList(7L, 7L, 7L), resp.getData().getIDs().getIntId().getDataList());
+        assertEquals(Arrays.asList(0, 1, 2), resp.getData().getSuccIndexList());
+        assertEquals(100L, resp.getData().getTimestamp());
+
+        // wrong data in the last chunk fails the request before any chunk is sent
+        AtomicInteger insertCalls = new AtomicInteger();
+        MutationResult chunkResult = MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(LongArray.newBuilder().addData(7L)))
+                .addSuccIndex(0)
+                .setInsertCnt(1)
+                .build();
+        mockServerImpl.setInsertResponder(request -> {
+            insertCalls.incrementAndGet();
+            return chunkResult;
+        });
+        InsertParam wrongParam = InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(
+                        new InsertParam.Field("id", Arrays.asList(1L, 2L, 3L)),
+                        new InsertParam.Field("vec", new float[][]{{0.1F, 0.2F}, {0.3F, 0.4F}, {0.5F}})))
+                .build();
+        resp = client.insert(wrongParam);
+        assertNotEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertEquals(0, insertCalls.get());
+
+        // a failed chunk reports the inserted row ranges
+        mockServerImpl.setInsertResponder(request -> {
+            long id = request.getFieldsData(0).getScalars().getLongData().getData(0);
+            if (id != 2L) {
+                return chunkResult;
+            }
+            return MutationResult.newBuilder()
+                    .setStatus(Status.newBuilder().setErrorCode(ErrorCode.UnexpectedError).setReason("chunk failed"))
+                    .build();
+        });
+        resp = client.insert(param);
+        assertNotEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertTrue(resp.getMessage().contains("chunk failed"));
+        assertTrue(resp.getMessage().contains("[0, 1)"));
+        mockServerImpl.setInsertResponder(null);
+
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withMaxInsertChunksInFlight(0)
+                .build());
+
+        client.close();
+        server.stop();
+    }
+
+    private static DescribeCollectionResponse vectorCollectionSchema(int dim) {
+        return DescribeCollectionResponse.newBuilder()
+                .setSchema(CollectionSchema.newBuilder()
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName("id")
+                                .withDataType(DataType.Int64)
+                                .withPrimaryKey(true)
+                                .build()))
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName("vec")
+                                .withDataType(DataType.FloatVector)
+                                .withDimension(dim)
+                                .build())))
+                .build();
+    }
+
+    @Test
+    void insertAsyncSchemaLookup() throws Exception {
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = startClient();
+
+        mockServerImpl.setDescribeCollectionResponse(vectorCollectionSchema(2));
+        mockServerImpl.setInsertResponse(MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(LongArray.newBuilder().addData(1L)))
+                .addSuccIndex(0)
+                .setInsertCnt(1)
+                .build());
+
+        InsertParam param = InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(
+                        new InsertParam.Field("id", Collections.singletonList(1L)),
+                        new InsertParam.Field("vec", Collections.singletonList(Arrays.asList(0.1F, 0.2F)))))
+                .build();
+
+        // the schema is not cached, it is fetched by the future stub and the caller doesn't wait for it
+        mockServerImpl.setDescribeCollectionDelay(500);
+        long start = System.nanoTime();
+        ListenableFuture<R<MutationResult>> respFuture = client.insertAsync(param);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMs < 250, "insertAsync() blocked for " + elapsedMs + " ms");
+        assertFalse(respFuture.isDone());
+        R<MutationResult> resp = respFuture.get();
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertEquals(1, mockServerImpl.getDescribeCollectionCalls());
+        mockServerImpl.setDescribeCollectionDelay(0);
+
+        // the cached schema is used
+        resp = client.insertAsync(param).get();
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertEquals(1, mockServerImpl.getDescribeCollectionCalls());
+
+        // the data doesn't match the cached schema, the schema is fetched again
+        mockServerImpl.setDescribeCollectionResponse(vectorCollectionSchema(3));
+        InsertParam newDimParam = InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(
+                        new InsertParam.Field("id", Collections.singletonList(1L)),
+                        new InsertParam.Field("vec", Collections.singletonList(Arrays.asList(0.1F, 0.2F, 0.3F)))))
+                .build();
+        resp = client.insertAsync(newDimParam).get();
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        assertEquals(2, mockServerImpl.getDescribeCollectionCalls());
+
+        // the data doesn't match the refreshed schema either
+        resp = client.insertAsync(param).get();
+        assertEquals(R.Status.ParamError.getCode(), resp.getStatus());
+        assertEquals(3, mockServerImpl.getDescribeCollectionCalls());
+
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void batchingInserter() throws Exception {
+        assertThrows(ParamException.class, () -> BatchingInserter.newBuilder().build());
+
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = startClient();
+
+        CollectionSchema schema = CollectionSchema.newBuilder()
+                .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                        .withName("id")
+                        .withDataType(DataType.Int64)
+                        .withPrimaryKey(true)
+                        .build()))
+                .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                        .withName("vec")
+                        .withDataType(DataType.FloatVector)
+                        .withDimension(2)
+                        .build()))
+                .build();
+        mockServerImpl.setDescribeCollectionResponse(DescribeCollectionResponse.newBuilder()
+                .setSchema(schema)
+                .build());
+        mockServerImpl.setInsertResponse(MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(LongArray.newBuilder().addAllData(Arrays.asList(100L, 101L))))
+                .setInsertCnt(2)
+                .build());
+
+        assertThrows(ParamException.class, () -> BatchingInserter.newBuilder()
+                .withClient(client)
+                .withMaxBatchRows(0)
+                .build());
+
+        BatchingInserter inserter = BatchingInserter.newBuilder()
+                .withClient(client)
+                .withMaxBatchRows(2)
+                .withLinger(1, TimeUnit.MINUTES)
+                .build();
+
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", 1L);
+        row.put("vec", new float[]{0.1F, 0.2F});
+        ListenableFuture<Long> first = inserter.add("collection1", row);
+        assertFalse(first.isDone());
+        ListenableFuture<Long> second = inserter.add("collection1", row);
+
+        // the batch is sent by row count
+        assertEquals(100L, first.get(5, TimeUnit.SECONDS));
+        assertEquals(101L, second.get(5, TimeUnit.SECONDS));
+
+        inserter.close();
+        assertThrows(ClientNotConnectedException.class, () -> inserter.add("collection1", row));
+
+        // batches sent by the linger time are queued while the batch in flight is not done
+        mockServerImpl.setInsertResponse(MutationResult.newBuilder()
+                .setIDs(IDs.newBuilder().setIntId(LongArray.newBuilder().addData(102L)))
+                .setInsertCnt(1)
+                .build());
+        mockServerImpl.setMutationDelay(500);
+        BatchingInserter lingering = BatchingInserter.newBuilder()
+                .withClient(client)
+                .withLinger(10, TimeUnit.MILLISECONDS)
+                .withMaxInFlightBatches(1)
+                .build();
+        List<ListenableFuture<Long>> lingered = new ArrayList<>();
+        for (int i = 1; i <= 2; ++i) {
+            lingered.add(lingering.add("collection" + i, row));
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        // the first batch is in flight and the second one is waiting, the producer is blocked
+        long start = System.nanoTime();
+        lingered.add(lingering.add("collection3", row));
+        assertTrue(System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(200));
+        for (ListenableFuture<Long> future : lingered) {
+            assertEquals(102L, future.get(5, TimeUnit.SECONDS));
+        }
+        lingering.close();
+        mockServerImpl.setMutationDelay(0);
+
+        client.close();
+        server.stop();
+    }
+
+    private ServerSetting buildServerSetting(int port) {
+        return ServerSetting.newBuilder()
+                .withHost(ServerAddress.newBuilder().withHost("localhost").withPort(port).build())
+                .withMilvusClient(new MilvusServiceClient(ConnectParam.newBuilder()
+                        .withHost("localhost")
+                        .withPort(port)
+                        .build()))
+                .build();
+    }
+
+    @Test
+    void loadBalancePolicies() throws InterruptedException {
+        ServerSetting server1 = buildServerSetting(testPort);
+        ServerSetting server2 = buildServerSetting(testPort + 1);
+        List<ServerSetting> servers = Arrays.asList(server1, server2);
+
+        RoundRobinPolicy roundRobin = new RoundRobinPolicy();
+        assertSame(server1, roundRobin.select(servers));
+        assertSame(server2, roundRobin.select(servers));
+        assertSame(server1, roundRobin.select(servers));
+
+        // the busy server is avoided
+        LeastOutstandingPolicy leastOutstanding = new LeastOutstandingPolicy();
+        leastOutstanding.onRequestStart(server1);
+        assertSame(server2, leastOutstanding.select(servers));
+        assertSame(server2, leastOutstanding.select(servers));
+        leastOutstanding.onRequestComplete(server1, 0, true);
+        assertEquals(0, leastOutstanding.getOutstanding(server1));
+
+        // concurrent requests at start are spread before any sample
+        EwmaLatencyPolicy coldEwma = new EwmaLatencyPolicy();
+        ServerSetting first = coldEwma.select(servers);
+        coldEwma.onRequestStart(first);
+        assertNotSame(first, coldEwma.select(servers));
+
+        // the slow server is avoided, the failed server is penalized
+        EwmaLatencyPolicy ewma = new EwmaLatencyPolicy(0.5, 1, TimeUnit.SECONDS);
+        ewma.onRequestStart(server1);
+        ewma.onRequestComplete(server1, TimeUnit.MILLISECONDS.toNanos(100), true);
+        assertSame(server2, ewma.select(servers));
+        ewma.onRequestStart(server2);
+        ewma.onRequestComplete(server2, TimeUnit.MILLISECONDS.toNanos(10), true);
+        assertSame(server2, ewma.select(servers));
+        ewma.onRequestStart(server2);
+        ewma.onRequestComplete(server2, TimeUnit.MILLISECONDS.toNanos(10), false);
+        assertTrue(ewma.getAverageLatencyNanos(server2) > TimeUnit.MILLISECONDS.toNanos(100));
+        assertSame(server1, ewma.select(servers));
+
+        // a cancelled hedge loser is not a fast sample, its elapsed time only raises the average
+        ewma.onRequestStart(server1);
+        ewma.onRequestCancelled(server1, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), ewma.getAverageLatencyNanos(server1), 1);
+        ewma.onRequestStart(server1);
+        ewma.onRequestCancelled(server1, TimeUnit.MILLISECONDS.toNanos(300));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), ewma.getAverageLatencyNanos(server1), 1);
+        leastOutstanding.onRequestStart(server1);
+        leastOutstanding.onRequestCancelled(server1, 0);
+        assertEquals(0, leastOutstanding.getOutstanding(server1));
+
+        assertThrows(ParamException.class, () -> new EwmaLatencyPolicy(0, 1, TimeUnit.SECONDS));
+        assertThrows(ParamException.class, () -> new EwmaLatencyPolicy(0.5, 1, 0, TimeUnit.SECONDS));
+
+        // a server which failed once gets requests again after its average decays
+        EwmaLatencyPolicy decaying = new EwmaLatencyPolicy(0.5, 1000, 50, TimeUnit.MILLISECONDS);
+        decaying.onRequestStart(server1);
+        decaying.onRequestComplete(server1, 0, false);
+        boolean recovered = false;
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!recovered && System.currentTimeMillis() < deadline) {
+            ServerSetting selected = decaying.select(servers);
+            if (selected == server1) {
+                recovered = true;
+            } else {
+                decaying.onRequestStart(server2);
+                decaying.onRequestComplete(server2, TimeUnit.MILLISECONDS.toNanos(10), true);
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+        assertTrue(recovered);
+
+        server1.getClient().close();
+        server2.getClient().close();
+    }
+
+    @Test
+    void hedgedReads() throws Exception {
+        ReadHedger hedger = new ReadHedger(50, 0);
+        R<String> primaryResult = R.success("primary");
+        R<String> hedgeResult = R.success("hedge");
+        R<String> failedResult = R.failed(R.Status.UnexpectedError, "failed");
+
+        // the fast primary request wins, no hedge request
+        SettableFuture<R<String>> primary = SettableFuture.create();
+        List<SettableFuture<R<String>>> hedges = new ArrayList<>();
+        ListenableFuture<R<String>> result = hedger.execute(() -> primary, () -> {
+            SettableFuture<R<String>> hedge = SettableFuture.create();
+            hedges.add(hedge);
+            return hedge;
+        });
+        primary.set(primaryResult);
+        assertSame(primaryResult, result.get(5, TimeUnit.SECONDS));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertTrue(hedges.isEmpty());
+
+        // the slow primary request is hedged and cancelled
+        SettableFuture<R<String>> slowPrimary = SettableFuture.create();
+        SettableFuture<R<String>> hedge = SettableFuture.create();
+        result = hedger.execute(() -> slowPrimary, () -> {
+            hedge.set(hedgeResult);
+            return hedge;
+        });
+        assertSame(hedgeResult, result.get(5, TimeUnit.SECONDS));
+        assertTrue(slowPrimary.isCancelled());
+
+        // the failed primary request is retried at once
+        SettableFuture<R<String>> failedPrimary = SettableFuture.create();
+        failedPrimary.set(failedResult);
+        result = hedger.execute(() -> failedPrimary, () -> Futures.immediateFuture(hedgeResult));
+        assertTrue(result.isDone());
+        assertSame(hedgeResult, result.get());
+
+        // no other server, the failure is returned
+        result = hedger.execute(() -> Futures.immediateFuture(failedResult), () -> null);
+        assertSame(failedResult, result.get(5, TimeUnit.SECONDS));
+
+        hedger.close();
+
+        // the percentile delay is used after enough latencies
+        ReadHedger adaptive = new ReadHedger(1000, 95);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000), adaptive.hedgeDelayNanos());
+        for (int i = 1; i <= 96; ++i) {
+            adaptive.recordLatency(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(92), adaptive.hedgeDelayNanos());
+        adaptive.close();
+
+        assertThrows(ParamException.class, () -> MultiConnectParam.newBuilder()
+                .withHosts(Collections.singletonList(ServerAddress.newBuilder().withHost("localhost").build()))
+                .withHedgePercentile(95)
+                .build());
+        assertThrows(ParamException.class, () -> MultiConnectParam.newBuilder()
+                .withHosts(Collections.singletonList(ServerAddress.newBuilder().withHost("localhost").build()))
+                .withHedgedReads(-1, TimeUnit.MILLISECONDS)
+                .build());
+    }
+
+    @Test
+    void writeQuorum() {
+        assertEquals(1, WriteQuorum.ONE.requiredCount(3));
+        assertEquals(2, WriteQuorum.MAJORITY.requiredCount(3));
+        assertEquals(3, WriteQuorum.MAJORITY.requiredCount(4));
+        assertEquals(3, WriteQuorum.ALL.requiredCount(3));
+        assertEquals(1, WriteQuorum.MAJORITY.requiredCount(1));
+
+        MultiConnectParam connectParam = MultiConnectParam.newBuilder()
+                .withHosts(Collections.singletonList(ServerAddress.newBuilder().withHost("localhost").build()))
+                .build();
+        assertEquals(WriteQuorum.ALL, connectParam.getWriteQuorum());
+    }
+
+    @Test
+    void writeQuorumSlowCluster() throws Exception {
+        MockMilvusServer fastServer = startServer();
+        mockServerImpl.setDeleteResponse(MutationResult.newBuilder().build());
+        MockMilvusServerImpl slowImpl = new MockMilvusServerImpl();
+        slowImpl.setDeleteResponse(MutationResult.newBuilder().build());
+        slowImpl.setMutationDelay(1500);
+        MockMilvusServer slowServer = new MockMilvusServer(testPort + 1, slowImpl);
+        slowServer.start();
+
+        MilvusMultiServiceClient client = new MilvusMultiServiceClient(MultiConnectParam.newBuilder()
+                .withHosts(Arrays.asList(
+                        ServerAddress.newBuilder().withHost("localhost").withPort(testPort).build(),
+                        ServerAddress.newBuilder().withHost("localhost").withPort(testPort + 1).build()))
+                .withWriteQuorum(WriteQuorum.ONE)
+                .build());
+        DeleteParam param = DeleteParam.newBuilder()
+                .withCollectionName("collection1")
+                .withExpr("id in [1]")
+                .build();
+
+        // the pending writes of the slow cluster hold no thread and don't hold back the following writes
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; ++i) {
+            assertEquals(R.Status.Success.getCode(), client.delete(param).getStatus());
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+        assertEquals(R.Status.Success.getCode(), client.deleteAsync(param).get(1, TimeUnit.SECONDS).getStatus());
+
+        client.close();
+        fastServer.stop();
+        slowServer.stop();
+    }
+
+    @Test
+    void serverMonitor() throws InterruptedException {
+        ServerSetting server1 = buildServerSetting(testPort);
+        ServerSetting server2 = buildServerSetting(testPort + 1);
+        ClusterFactory clusterFactory = ClusterFactory.newBuilder()
+                .withServerSetting(Arrays.asList(server1, server2))
+                .build();
+
+        AtomicBoolean server1Hangs = new AtomicBoolean(true);
+        Listener listener = serverSetting -> {
+            if (serverSetting == server1 && server1Hangs.get()) {
+                try {
+                    TimeUnit.SECONDS.sleep(10);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+            return true;
+        };
+        ServerMonitor monitor = new ServerMonitor(clusterFactory, Collections.singletonList(listener),
+                20, 100, 2, 2);
+        monitor.start();
+
+        // the hanging server is marked unavailable after the probe deadline, the master is re-elected
+        long deadline = System.currentTimeMillis() + 5000;
+        while (clusterFactory.getAvailableServerSettings().size() != 1 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(Collections.singletonList(server2), clusterFactory.getAvailableServerSettings());
+        deadline = System.currentTimeMillis() + 5000;
+        while (clusterFactory.getMaster() != server2 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertSame(server2, clusterFactory.getMaster());
+
+        server1Hangs.set(false);
+        deadline = System.currentTimeMillis() + 5000;
+        while (clusterFactory.getAvailableServerSettings().size() != 2 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(2, clusterFactory.getAvailableServerSettings().size());
+
+        monitor.close();
+        server1.getClient().close();
+        server2.getClient().close();
+    }
+
+    @Test
+    void channelPool() {
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = new MilvusServiceClient(ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withPort(testPort)
+                .withChannelPoolSize(3)
+                .withChannelSelectPolicy(ChannelSelectPolicy.LEAST_BUSY)
+                .build());
+
+        // requests are spread over the channels
+        for (int i = 0; i < 6; ++i) {
+            R<Boolean> resp = client.hasCollection(HasCollectionParam.newBuilder()
+                    .withCollectionName("collection1")
+                    .build());
+            assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        }
+
+        ChannelPool pool = new ChannelPool(3, () -> ManagedChannelBuilder.forAddress("localhost", testPort)
+                .usePlaintext(), ChannelSelectPolicy.ROUND_ROBIN);
+        Set<Object> stubs = new HashSet<>();
+        for (int i = 0; i < 3; ++i) {
+            stubs.add(pool.blockingStub());
+        }
+        assertEquals(3, stubs.size());
+        assertTrue(stubs.contains(pool.blockingStub()));
+        assertEquals(0, pool.callsInFlight(0));
+        pool.shutdownNow();
+        assertTrue(pool.isShutdown());
+
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withChannelPoolSize(0)
+                .build());
+
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void sharedTransport() {
+        MockMilvusServer server = startServer();
+        SharedTransport transport = SharedTransport.newBuilder()
+                .withIoThreads(2)
+                .build();
+
+        List<MilvusServiceClient> clients = new ArrayList<>();
+        for (int i = 0; i < 2; ++i) {
+            clients.add(new MilvusServiceClient(ConnectParam.newBuilder()
+                    .withHost("localhost")
+                    .withPort(testPort)
+                    .withTransport(transport)
+                    .build()));
+        }
+        for (MilvusServiceClient client : clients) {
+            R<Boolean> resp = client.hasCollection(HasCollectionParam.newBuilder()
+                    .withCollectionName("collection1")
+                    .build());
+            assertEquals(R.Status.Success.getCode(), resp.getStatus());
+            client.close();
+        }
+
+        assertFalse(transport.isClosed());
+        transport.close();
+        assertTrue(transport.isClosed());
+
+        assertThrows(ParamException.class, () -> SharedTransport.newBuilder().withIoThreads(-1).build());
+        server.stop();
+    }
+
+    @Test
+    void rpcMetrics() {
+        MockMilvusServer server = startServer();
+        ClientMetricsRegistry registry = new ClientMetricsRegistry();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MicrometerMetricsRecorder micrometerRecorder = new MicrometerMetricsRecorder(meterRegistry, true);
+        SimpleMeterRegistry untaggedRegistry = new SimpleMeterRegistry();
+        MicrometerMetricsRecorder untaggedRecorder = new MicrometerMetricsRecorder(untaggedRegistry);
+        MetricsRecorder recorder = new MetricsRecorder() {
+            @Override
+            public void onCallStarted(String method) {
+                registry.onCallStarted(method);
+                micrometerRecorder.onCallStarted(method);
+                untaggedRecorder.onCallStarted(method);
+            }
+
+            @Override
+            public void onCallCompleted(RpcCallMetrics metrics) {
+                registry.onCallCompleted(metrics);
+                micrometerRecorder.onCallCompleted(metrics);
+                untaggedRecorder.onCallCompleted(metrics);
+            }
+        };
+
+        MilvusServiceClient client = new MilvusServiceClient(ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withPort(testPort)
+                .withMetricsRecorder(recorder)
+                .build());
+        for (int i = 0; i < 2; ++i) {
+            R<Boolean> resp = client.hasCollection(HasCollectionParam.newBuilder()
+                    .withCollectionName("collection1")
+                    .build());
+            assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        }
+
+        assertEquals(2, registry.getLatency("HasCollection").getCount());
+        assertEquals(2, registry.getLatency("HasCollection", "collection1").getCount());
+        assertEquals(0, registry.getLatency("HasCollection", "collection2").getCount());
+        assertEquals(0, registry.getCallsInFlight("HasCollection"));
+        assertTrue(registry.getRequestBytes("HasCollection") > 0);
+        assertEquals(0, registry.getErrorCount("HasCollection", "UNAVAILABLE"));
+        assertEquals(2, meterRegistry.get("milvus.client.requests")
+                .tags("method", "HasCollection", "collection", "collection1", "status", "OK")
+                .timer().count());
+        assertEquals(0, meterRegistry.get("milvus.client.requests.in_flight").gauge().value());
+
+        // the collection tag is disabled by default
+        assertEquals(2, untaggedRegistry.get("milvus.client.requests")
+                .tags("method", "HasCollection", "status", "OK")
+                .timer().count());
+        assertTrue(untaggedRegistry.find("milvus.client.requests").tagKeys("collection").timers().isEmpty());
+
+        client.close();
+        server.stop();
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; ++i) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getMaxNanos());
+        // the bucket upper bound is within 20% of the exact percentile
+        long p99 = histogram.getPercentileNanos(99);
+        assertTrue(p99 >= TimeUnit.MILLISECONDS.toNanos(99) && p99 <= TimeUnit.MILLISECONDS.toNanos(100));
+        long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= TimeUnit.MILLISECONDS.toNanos(50) && p50 <= TimeUnit.MILLISECONDS.toNanos(60));
+    }
+
+    @Test
+    void loadHarness() throws Exception {
+        LoadHarness.Config config = new LoadHarness.Config()
+                .withConcurrency(2)
+                .withWarmup(50, TimeUnit.MILLISECONDS)
+                .withDuration(200, TimeUnit.MILLISECONDS)
+                .withRows(10)
+                .withDim(8);
+        for (LoadHarness.Transport transport : LoadHarness.Transport.values()) {
+            try (LoadHarness harness = new LoadHarness(transport)) {
+                for (LoadHarness.Operation operation : LoadHarness.Operation.values()) {
+                    LoadHarness.Result result = harness.run(operation, config);
+                    assertTrue(result.getRequests() > 0, result.toString());
+                    assertEquals(0, result.getErrors(), result.toString());
+                    assertTrue(result.getPercentileMicros(99) >= result.getPercentileMicros(50));
+                }
+            }
+        }
+    }
+
+    @Test
+    void collectionSchemaCache() {
+        List<FieldType> fields = Collections.singletonList(FieldType.newBuilder()
+                .withName("id")
+                .withDataType(DataType.Int64)
+                .withPrimaryKey(true)
+                .build());
+
+        CollectionSchemaCache cache = new CollectionSchemaCache(2, 60000);
+        assertTrue(cache.isEnabled());
+        assertNull(cache.get("coll1"));
+
+        cache.put("coll1", fields);
+        assertEquals(fields, cache.get("coll1"));
+        assertThrows(UnsupportedOperationException.class, () -> cache.get("coll1").clear());
+
+        cache.invalidate("coll1");
+        assertNull(cache.get("coll1"));
+
+        cache.put("coll1", fields);
+        cache.put("coll2", fields);
+        cache.invalidateAll();
+        assertNull(cache.get("coll2"));
+
+        // zero size means the cache is disabled
+        CollectionSchemaCache disabled = new CollectionSchemaCache(0, 60000);
+        assertFalse(disabled.isEnabled());
+        disabled.put("coll1", fields);
+        assertNull(disabled.get("coll1"));
+
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withSchemaCacheSize(-1)
+                .build());
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withSchemaCacheTtl(0, TimeUnit.SECONDS)
+                .build());
+    }
+
+    @Test
+    void primitiveFloatVectors() {
+        List<FieldType> fieldTypes = Arrays.asList(
+                FieldType.newBuilder()
+                        .withName("id")
+                        .withDataType(DataType.Int64)
+                        .withPrimaryKey(true)
+                        .build(),
+                FieldType.newBuilder()
+                        .withName("vec")
+                        .withDataType(DataType.FloatVector)
+                        .withDimension(2)
+                        .build());
+
+        float[][] rows = {{1.0F, 2.0F}, {3.0F, 4.0F}};
+        FloatBuffer flat = FloatBuffer.wrap(new float[]{1.0F, 2.0F, 3.0F, 4.0F});
+        List<List<Float>> boxed = Arrays.asList(Arrays.asList(1.0F, 2.0F), Arrays.asList(3.0F, 4.0F));
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        InsertRequest expected = ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids), new InsertParam.Field("vec", boxed)))
+                .build(), fieldTypes);
+        InsertRequest fromArray = ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids), new InsertParam.Field("vec", rows)))
+                .build(), fieldTypes);
+        InsertRequest fromBuffer = ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids), new InsertParam.Field("vec", flat, 2)))
+                .build(), fieldTypes);
+        assertEquals(expected, fromArray);
+        assertEquals(expected, fromBuffer);
+        assertEquals(0, flat.position());
+
+        // dimension mismatch
+        assertThrows(ParamException.class, () -> ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids),
+                        new InsertParam.Field("vec", new float[][]{{1.0F}, {2.0F}})))
+                .build(), fieldTypes));
+        assertThrows(ParamException.class, () -> new InsertParam.Field("vec", flat, 3));
+
+        SearchRequest expectedSearch = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(boxed)
+                .build());
+        SearchRequest arraySearch = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(rows)
+                .build());
+        SearchRequest bufferSearch = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(flat, 2)
+                .build());
+        assertEquals(expectedSearch.getPlaceholderGroup(), arraySearch.getPlaceholderGroup());
+        assertEquals(expectedSearch.getPlaceholderGroup(), bufferSearch.getPlaceholderGroup());
+
+        // the hand-written encoding must be identical to the protobuf serialization
+        PlaceholderGroup group = PlaceholderGroup.newBuilder()
+                .addPlaceholders(PlaceholderValue.newBuilder()
+                        .setTag(Constant.VECTOR_TAG)
+                        .setType(PlaceholderType.FloatVector)
+                        .addValues(ByteString.copyFrom(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                                .putFloat(1.0F).putFloat(2.0F).array()))
+                        .addValues(ByteString.copyFrom(ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+                                .putFloat(3.0F).putFloat(4.0F).array()))
+                        .build())
+                .build();
+        assertEquals(group.toByteString(), expectedSearch.getPlaceholderGroup());
+
+        // binary metric is not allowed for float vectors
+        assertThrows(ParamException.class, () -> SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.HAMMING)
+                .withTopK(5)
+                .withVectors(rows)
+                .build());
+    }
+
+    @Test
+    void binaryVectorEncoding() throws Exception {
+        // a buffer filled by put() without flip(), and a flipped buffer
+        ByteBuffer filled = ByteBuffer.allocate(2);
+        filled.put((byte) 1).put((byte) 2);
+        ByteBuffer flipped = ByteBuffer.allocate(4);
+        flipped.put((byte) 3).put((byte) 4);
+        flipped.flip();
+
+        assertEquals(2, ParamUtils.binaryVectorView(filled).remaining());
+        assertEquals(2, ParamUtils.binaryVectorView(flipped).remaining());
+        assertEquals(2, filled.position());
+        assertEquals(0, flipped.position());
+
+        // a partly read or partly written buffer is ambiguous, a part of a buffer is passed by slice()
+        ByteBuffer partlyRead = ByteBuffer.wrap(new byte[]{5, 6, 7});
+        partlyRead.get();
+        assertThrows(ParamException.class, () -> ParamUtils.binaryVectorView(partlyRead));
+        assertThrows(ParamException.class, () -> BinaryVector.fromByteBuffer(partlyRead));
+        ByteBuffer partlyWritten = ByteBuffer.allocate(4);
+        partlyWritten.put((byte) 5);
+        assertThrows(ParamException.class, () -> ParamUtils.binaryVectorView(partlyWritten));
+        assertThrows(ParamException.class, () -> SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.HAMMING)
+                .withTopK(5)
+                .withVectors(Collections.singletonList(partlyWritten))
+                .build());
+
+        ByteBuffer view = ParamUtils.binaryVectorView(partlyRead.slice());
+        assertEquals(2, view.remaining());
+        assertEquals(6, view.get());
+        assertEquals(1, partlyRead.position());
+        assertEquals(BinaryVector.fromBytes(new byte[]{6, 7}), BinaryVector.fromByteBuffer(partlyRead.slice()));
+
+        SearchRequest request = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.HAMMING)
+                .withTopK(5)
+                .withVectors(Arrays.asList(filled, flipped))
+                .build());
+        PlaceholderGroup group = PlaceholderGroup.parseFrom(request.getPlaceholderGroup());
+        PlaceholderValue value = group.getPlaceholders(0);
+        assertEquals(PlaceholderType.BinaryVector, value.getType());
+        assertEquals(ByteString.copyFrom(new byte[]{1, 2}), value.getValues(0));
+        assertEquals(ByteString.copyFrom(new byte[]{3, 4}), value.getValues(1));
+    }
+
     @Test
     void deleteParam() {
         // test throw exception with illegal input
@@ -2033,6 +2944,348 @@ class MilvusServiceClientTest {
         testAsyncFuncByName("searchAsync", param);
     }
 
+    @Test
+    void searchStageTiming() throws Exception {
+        MockMilvusServer server = startServer();
+        List<RequestTiming> timings = Collections.synchronizedList(new ArrayList<>());
+        MilvusServiceClient client = new MilvusServiceClient(ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withPort(testPort)
+                .withRequestTimingListener(timings::add)
+                .build());
+
+        SearchParam param = SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("field1")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(Collections.singletonList(Arrays.asList(0.1f, 0.2f)))
+                .build();
+        R<SearchResults> resp = client.search(param);
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+        resp = client.searchAsync(param).get();
+        assertEquals(R.Status.Success.getCode(), resp.getStatus());
+
+        assertEquals(2, timings.size());
+        assertEquals("search", timings.get(0).getMethod());
+        assertEquals("searchAsync", timings.get(1).getMethod());
+        for (RequestTiming timing : timings) {
+            assertEquals("collection1", timing.getCollectionName());
+            assertTrue(timing.isSuccess());
+            assertTrue(timing.getStageNanos(RequestStage.RPC) > 0);
+            assertTrue(timing.getStageNanos(RequestStage.SERIALIZE) > 0);
+            assertEquals(0, timing.getStageNanos(RequestStage.SCHEMA_LOOKUP));
+            long stagesNanos = timing.getStageNanos().values().stream().mapToLong(Long::longValue).sum();
+            assertTrue(stagesNanos <= timing.getTotalNanos());
+        }
+
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void requestSummary() {
+        List<Long> ids = new ArrayList<>();
+        List<List<Float>> vectors = new ArrayList<>();
+        for (long i = 0; i < 1000; ++i) {
+            ids.add(i);
+            vectors.add(Arrays.asList(0.1f, 0.2f, 0.3f, 0.4f));
+        }
+        InsertParam insertParam = InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids),
+                        new InsertParam.Field("vector", vectors)))
+                .build();
+        String summary = RequestSummary.of(insertParam).toString();
+        assertTrue(summary.contains("rowCount=1000"));
+        // 8 bytes id and 16 bytes vector per row
+        assertTrue(summary.contains("estimatedBytes=24000"));
+
+        StringBuilder expr = new StringBuilder("id in [0");
+        for (int i = 1; i < 10000; ++i) {
+            expr.append(",").append(i);
+        }
+        expr.append("]");
+        DeleteParam deleteParam = DeleteParam.newBuilder()
+                .withCollectionName("collection1")
+                .withExpr(expr.toString())
+                .build();
+        summary = RequestSummary.of(deleteParam).toString();
+        assertTrue(summary.length() < 512);
+        assertTrue(summary.contains("exprLength=" + expr.length()));
+
+        CalcDistanceParam calcParam = CalcDistanceParam.newBuilder()
+                .withVectorsLeft(vectors)
+                .withVectorsRight(vectors.subList(0, 10))
+                .withMetricType(MetricType.L2)
+                .build();
+        summary = RequestSummary.of(calcParam).toString();
+        assertTrue(summary.length() < 512);
+        assertTrue(summary.contains("leftCount=1000"));
+        assertTrue(summary.contains("rightCount=10"));
+        assertTrue(summary.contains("dim=4"));
+
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withPayloadLogSampleRate(1.5)
+                .build());
+    }
+
+    @Test
+    void queryIterator() throws InterruptedException {
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = startClient();
+
+        assertThrows(ParamException.class, () -> QueryIterator.newBuilder()
+                .withClient(client)
+                .withCollectionName("collection1")
+                .withBatchSize(0)
+                .build());
+
+        mockServerImpl.setDescribeCollectionResponse(DescribeCollectionResponse.newBuilder()
+                .setSchema(CollectionSchema.newBuilder()
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName("name")
+                                .withDataType(DataType.VarChar)
+                                .withMaxLength(16)
+                                .withPrimaryKey(true)
+                                .build())))
+                .build());
+        assertThrows(ParamException.class, () -> QueryIterator.newBuilder()
+                .withClient(client)
+                .withCollectionName("collection1")
+                .withPrimaryKeyRange(0, 100)
+                .build());
+
+        mockServerImpl.setDescribeCollectionResponse(DescribeCollectionResponse.newBuilder()
+                .setSchema(CollectionSchema.newBuilder()
+                        .addFields(ParamUtils.ConvertField(FieldType.newBuilder()
+                                .withName("id")
+                                .withDataType(DataType.Int64)
+                                .withPrimaryKey(true)
+                                .build())))
+                .build());
+        assertThrows(ParamException.class, () -> QueryIterator.newBuilder()
+                .withClient(client)
+                .withCollectionName("collection1")
+                .build());
+
+        // the mock answers the primary key range of each query from the keys 1..99
+        java.util.regex.Pattern rangePattern = java.util.regex.Pattern.compile("id >= (-?\\d+) and id (<=?) (-?\\d+)");
+        List<String> scans = Collections.synchronizedList(new ArrayList<>());
+        mockServerImpl.setQueryResponder(request -> {
+            java.util.regex.Matcher matcher = rangePattern.matcher(request.getExpr());
+            assertTrue(matcher.find());
+            long lower = Long.parseLong(matcher.group(1));
+            long upper = Long.parseLong(matcher.group(3));
+            boolean inclusive = "<=".equals(matcher.group(2));
+            if (!inclusive) {
+                scans.add(request.getExpr());
+            }
+            List<Long> keys = new ArrayList<>();
+            for (long key = 1; key < 100; ++key) {
+                if (key >= lower && (inclusive ? key <= upper : key < upper)) {
+                    keys.add(key);
+                }
+            }
+            return QueryResults.newBuilder()
+                    .addFieldsData(FieldData.newBuilder()
+                            .setFieldName("id")
+                            .setType(DataType.Int64)
+                            .setScalars(ScalarField.newBuilder()
+                                    .setLongData(LongArray.newBuilder().addAllData(keys))))
+                    .build();
+        });
+
+        // the first window holds 96 keys, more than 4 times the target of 20 keys, it is split
+        List<Long> ids = new ArrayList<>();
+        try (QueryIterator iterator = QueryIterator.newBuilder()
+                .withClient(client)
+                .withCollectionName("collection1")
+                .withOutFields(Collections.singletonList("id"))
+                .withExpr("id > 0")
+                .withBatchSize(2)
+                .withPrimaryKeyRange(0, 100000)
+                .withPrefetch(true)
+                .build()) {
+            while (iterator.hasNext()) {
+                QueryResultsWrapper batch = iterator.next();
+                assertTrue(batch.getRowCount() <= 2);
+                for (long id : batch.getFieldWrapper("id").getLongData()) {
+                    ids.add(id);
+                }
+            }
+            assertThrows(NoSuchElementException.class, iterator::next);
+
+            // the prefetch thread exits once the iteration ends, without close()
+            long deadline = System.currentTimeMillis() + 2000;
+            while (prefetchThreadAlive() && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            assertFalse(prefetchThreadAlive());
+        }
+        List<Long> expected = new ArrayList<>();
+        for (long key = 1; key < 100; ++key) {
+            expected.add(key);
+        }
+        assertEquals(expected, ids);
+        assertFalse(scans.isEmpty());
+        // no window is wider than 1/1024 of the range
+        assertTrue(scans.get(0).endsWith("id < 97"));
+
+        client.close();
+        server.stop();
+    }
+
+    private static boolean prefetchThreadAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> "milvus-query-iterator".equals(thread.getName()) && thread.isAlive());
+    }
+
+    @Test
+    void searchCache() throws Exception {
+        assertThrows(ParamException.class, () -> ConnectParam.newBuilder()
+                .withSearchCacheSize(-1)
+                .build());
+
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = new MilvusServiceClient(ConnectParam.newBuilder()
+                .withHost("localhost")
+                .withPort(testPort)
+                .withSearchCacheSize(16)
+                .withSearchCacheTtl(1, TimeUnit.MINUTES)
+                .build());
+
+        SearchParam.Builder builder = SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("field1")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(Collections.singletonList(Arrays.asList(0.1f, 0.2f)));
+        SearchParam bounded = builder.withConsistencyLevel(ConsistencyLevelEnum.BOUNDED).build();
+        SearchParam strong = builder.withConsistencyLevel(ConsistencyLevelEnum.STRONG).build();
+
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(1))
+                .build());
+        assertEquals(1, client.search(bounded).getData().getResults().getTopK());
+
+        // the same search is served by the cache, strong consistency always calls the server
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(2))
+                .build());
+        assertEquals(1, client.search(bounded).getData().getResults().getTopK());
+        assertEquals(1, client.searchAsync(bounded).get().getData().getResults().getTopK());
+        assertEquals(2, client.search(strong).getData().getResults().getTopK());
+
+        // a write of this client drops the cached results of the collection
+        mockServerImpl.setDeleteResponse(MutationResult.newBuilder().build());
+        client.delete(DeleteParam.newBuilder()
+                .withCollectionName("collection1")
+                .withExpr("id in [1]")
+                .build());
+        assertEquals(2, client.search(bounded).getData().getResults().getTopK());
+
+        // an explicit guarantee timestamp always calls the server
+        SearchParam explicit = builder.withConsistencyLevel(null).withGuaranteeTimestamp(100L).build();
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(3))
+                .build());
+        assertEquals(3, client.search(explicit).getData().getResults().getTopK());
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(4))
+                .build());
+        assertEquals(4, client.search(explicit).getData().getResults().getTopK());
+        assertEquals(2, client.search(bounded).getData().getResults().getTopK());
+
+        // a write by a name which is not resolved can be a write by an alias, all the results are dropped
+        DeleteParam aliasDelete = DeleteParam.newBuilder()
+                .withCollectionName("alias1")
+                .withExpr("id in [1]")
+                .build();
+        client.delete(aliasDelete);
+        assertEquals(4, client.search(bounded).getData().getResults().getTopK());
+
+        // an alias resolved by describeCollection drops the results of its collection
+        mockServerImpl.setDescribeCollectionResponse(DescribeCollectionResponse.newBuilder()
+                .setSchema(CollectionSchema.newBuilder().setName("collection1"))
+                .build());
+        client.describeCollection(DescribeCollectionParam.newBuilder().withCollectionName("alias1").build());
+        client.describeCollection(DescribeCollectionParam.newBuilder().withCollectionName("collection1").build());
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(5))
+                .build());
+        assertEquals(5, client.search(bounded).getData().getResults().getTopK());
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder().setTopK(6))
+                .build());
+        assertEquals(5, client.search(bounded).getData().getResults().getTopK());
+        client.delete(aliasDelete);
+        assertEquals(6, client.search(bounded).getData().getResults().getTopK());
+
+        client.close();
+        server.stop();
+    }
+
+    @Test
+    void searchCoalescer() throws Exception {
+        assertThrows(ParamException.class, () -> SearchCoalescer.newBuilder().build());
+
+        MockMilvusServer server = startServer();
+        MilvusServiceClient client = startClient();
+
+        // the server returns the merged results of two target vectors
+        mockServerImpl.setSearchResponse(SearchResults.newBuilder()
+                .setResults(SearchResultData.newBuilder()
+                        .setNumQueries(2)
+                        .setTopK(2)
+                        .addAllTopks(Arrays.asList(1L, 2L))
+                        .addAllScores(Arrays.asList(0.1F, 0.2F, 0.3F))
+                        .setIds(IDs.newBuilder().setIntId(LongArray.newBuilder()
+                                .addAllData(Arrays.asList(10L, 20L, 30L))))
+                        .addFieldsData(FieldData.newBuilder()
+                                .setFieldName("age")
+                                .setType(DataType.Int32)
+                                .setScalars(ScalarField.newBuilder().setIntData(IntArray.newBuilder()
+                                        .addAllData(Arrays.asList(1, 2, 3))))))
+                .build());
+
+        SearchCoalescer coalescer = SearchCoalescer.newBuilder()
+                .withClient(client)
+                .withMaxBatchVectors(2)
+                .withLinger(1, TimeUnit.MINUTES)
+                .build();
+        SearchParam.Builder builder = SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("field1")
+                .withMetricType(MetricType.L2)
+                .withTopK(2)
+                .addOutField("age");
+        ListenableFuture<R<SearchResults>> first = coalescer.search(
+                builder.withVectors(Collections.singletonList(Arrays.asList(0.1f, 0.2f))).build());
+        assertFalse(first.isDone());
+        ListenableFuture<R<SearchResults>> second = coalescer.search(
+                builder.withVectors(Collections.singletonList(Arrays.asList(0.3f, 0.4f))).build());
+
+        // the batch is sent by vector count and split by topks
+        SearchResultsWrapper firstResults = new SearchResultsWrapper(first.get(5, TimeUnit.SECONDS).getData().getResults());
+        assertEquals(1, firstResults.getNumQueries());
+        assertEquals(1, firstResults.getIDScore(0).size());
+        assertEquals(10L, firstResults.getIDScore(0).get(0).getLongID());
+
+        SearchResultsWrapper secondResults = new SearchResultsWrapper(second.get(5, TimeUnit.SECONDS).getData().getResults());
+        assertEquals(2, secondResults.getIDScore(0).size());
+        assertEquals(30L, secondResults.getIDScore(0).get(1).getLongID());
+        assertEquals(0.3F, secondResults.getIDScore(0).get(1).getScore());
+        assertEquals(Arrays.asList(2, 3), secondResults.getFieldData("age", 0));
+
+        coalescer.close();
+        assertThrows(ClientNotConnectedException.class, () -> coalescer.search(
+                builder.withVectors(Collections.singletonList(Arrays.asList(0.1f, 0.2f))).build()));
+
+        client.close();
+        server.stop();
+    }
+
     @Test
     void queryParam() {
         // test throw exception with illegal input
@@ -2150,6 +3403,168 @@ class MilvusServiceClientTest {
         );
     }
 
+    @Test
+    void localCalcDistance() {
+        CalcDistanceParam param = CalcDistanceParam.newBuilder()
+                .withVectorsLeft(Collections.singletonList(Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f)))
+                .withVectorsRight(Arrays.asList(Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f),
+                        Arrays.asList(0.0f, 0.0f, 0.0f, 0.0f, 1.0f)))
+                .withMetricType(MetricType.L2)
+                .build();
+        float[][] distances = DistanceCalculator.calcDistance(param);
+        assertEquals(0.0f, distances[0][0]);
+        assertEquals(46.0f, distances[0][1]);
+
+        float[][] left = {{1.0f, 2.0f, 3.0f, 4.0f, 5.0f}};
+        float[][] right = {{1.0f, 1.0f, 1.0f, 1.0f, 1.0f}};
+        assertEquals(15.0f, DistanceCalculator.calcFloatDistance(left, right, MetricType.IP)[0][0]);
+        assertThrows(ParamException.class,
+                () -> DistanceCalculator.calcFloatDistance(left, new float[][]{{1.0f}}, MetricType.L2));
+        assertThrows(ParamException.class,
+                () -> DistanceCalculator.calcFloatDistance(left, right, MetricType.HAMMING));
+
+        // 9 bytes, the last word is padded
+        ByteBuffer a = ByteBuffer.wrap(new byte[]{(byte) 0xFF, 0, 0, 0, 0, 0, 0, 0, 0x01});
+        ByteBuffer b = ByteBuffer.wrap(new byte[]{0x0F, 0, 0, 0, 0, 0, 0, 0, 0x01});
+        List<ByteBuffer> binaryLeft = Collections.singletonList(a);
+        List<ByteBuffer> binaryRight = Collections.singletonList(b);
+        assertEquals(4.0f, DistanceCalculator.calcBinaryDistance(binaryLeft, binaryRight, MetricType.HAMMING)[0][0]);
+        // 5 common bits of 9 bits
+        assertEquals(1.0f - 5.0f / 9.0f,
+                DistanceCalculator.calcBinaryDistance(binaryLeft, binaryRight, MetricType.JACCARD)[0][0], 1e-6);
+        assertEquals(-Math.log(5.0 / 9.0) / Math.log(2),
+                DistanceCalculator.calcBinaryDistance(binaryLeft, binaryRight, MetricType.TANIMOTO)[0][0], 1e-5);
+
+        // a large matrix is calculated in parallel with the same results
+        Random random = new Random(0);
+        float[][] bigLeft = new float[64][128];
+        float[][] bigRight = new float[256][128];
+        for (float[] vector : bigLeft) {
+            for (int i = 0; i < vector.length; ++i) {
+                vector[i] = random.nextFloat();
+            }
+        }
+        for (float[] vector : bigRight) {
+            for (int i = 0; i < vector.length; ++i) {
+                vector[i] = random.nextFloat();
+            }
+        }
+        float[][] bigDistances = DistanceCalculator.calcFloatDistance(bigLeft, bigRight, MetricType.IP);
+        float[][] single = DistanceCalculator.calcFloatDistance(new float[][]{bigLeft[63]},
+                new float[][]{bigRight[255]}, MetricType.IP);
+        assertEquals(single[0][0], bigDistances[63][255]);
+    }
+
+    @Test
+    void binaryVector() {
+        // 72 bits, the last word is partially used
+        byte[] bytesA = {(byte) 0xFF, 0, 0, 0, 0, 0, 0, 0x02, 0x01};
+        byte[] bytesB = {0x0F, 0, 0, 0, 0, 0, 0, 0x02, 0x01};
+        BitSet bits = new BitSet();
+        bits.set(0, 8);
+        bits.set(57);
+        bits.set(64);
+        BinaryVector a = BinaryVector.fromBitSet(bits, 72);
+        BinaryVector b = BinaryVector.fromBytes(bytesB);
+        assertEquals(a, BinaryVector.fromBytes(bytesA));
+        assertEquals(a, BinaryVector.fromByteBuffer(ByteBuffer.allocate(9).put(bytesA)));
+        assertEquals(a, BinaryVector.fromWords(bits.toLongArray(), 72));
+        assertArrayEquals(bytesA, a.toByteArray());
+        assertEquals(72, a.getDim());
+        assertEquals(9, a.getByteSize());
+        assertTrue(a.get(57));
+        assertFalse(a.get(58));
+
+        assertEquals(4, a.hamming(b));
+        // 6 common bits of 10 bits
+        assertEquals(1.0f - 6.0f / 10.0f, a.jaccard(b), 1e-6);
+        assertEquals(-Math.log(6.0 / 10.0) / Math.log(2), a.tanimoto(b), 1e-5);
+        assertEquals(0, a.hamming(a));
+        assertEquals(DistanceCalculator.calcBinaryDistance(Collections.singletonList(ByteBuffer.wrap(bytesA)),
+                Collections.singletonList(ByteBuffer.wrap(bytesB)), MetricType.JACCARD)[0][0],
+                DistanceCalculator.calcBinaryDistance(Collections.singletonList(a),
+                        Collections.singletonList(b), MetricType.JACCARD)[0][0]);
+
+        assertThrows(ParamException.class, () -> BinaryVector.fromBitSet(bits, 60));
+        assertThrows(ParamException.class, () -> BinaryVector.fromBitSet(bits, 64));
+        assertThrows(ParamException.class, () -> BinaryVector.fromWords(new long[]{0L, 0x100L}, 72));
+        assertThrows(ParamException.class, () -> a.hamming(BinaryVector.fromBytes(new byte[8])));
+
+        // the encoding is the same as ByteBuffer vectors
+        List<FieldType> fieldTypes = Arrays.asList(
+                FieldType.newBuilder()
+                        .withName("id")
+                        .withDataType(DataType.Int64)
+                        .withPrimaryKey(true)
+                        .build(),
+                FieldType.newBuilder()
+                        .withName("vec")
+                        .withDataType(DataType.BinaryVector)
+                        .withDimension(72)
+                        .build());
+        List<Long> ids = Arrays.asList(1L, 2L);
+        InsertRequest expected = ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids), new InsertParam.Field("vec",
+                        Arrays.asList(ByteBuffer.wrap(bytesA), ByteBuffer.wrap(bytesB)))))
+                .build(), fieldTypes);
+        InsertRequest packed = ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids),
+                        new InsertParam.Field("vec", Arrays.asList(a, b))))
+                .build(), fieldTypes);
+        assertEquals(expected, packed);
+        assertThrows(ParamException.class, () -> ParamUtils.convertInsertParam(InsertParam.newBuilder()
+                .withCollectionName("collection1")
+                .withFields(Arrays.asList(new InsertParam.Field("id", ids), new InsertParam.Field("vec",
+                        Arrays.asList(a, BinaryVector.fromBytes(new byte[8])))))
+                .build(), fieldTypes));
+
+        SearchRequest expectedSearch = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.HAMMING)
+                .withTopK(5)
+                .withVectors(Arrays.asList(ByteBuffer.wrap(bytesA), ByteBuffer.wrap(bytesB)))
+                .build());
+        SearchRequest packedSearch = ParamUtils.convertSearchParam(SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.HAMMING)
+                .withTopK(5)
+                .withVectors(Arrays.asList(a, b))
+                .build());
+        assertEquals(expectedSearch.getPlaceholderGroup(), packedSearch.getPlaceholderGroup());
+
+        // float metric is not allowed for binary vectors
+        assertThrows(ParamException.class, () -> SearchParam.newBuilder()
+                .withCollectionName("collection1")
+                .withVectorFieldName("vec")
+                .withMetricType(MetricType.L2)
+                .withTopK(5)
+                .withVectors(Arrays.asList(a, b))
+                .build());
+
+        // ByteBuffer and BinaryVector cannot be mixed
+        List<List<?>> mixedLists = Arrays.asList(Arrays.asList(ByteBuffer.wrap(bytesA), b),
+                Arrays.asList(a, ByteBuffer.wrap(bytesB)));
+        for (List<?> mixed : mixedLists) {
+            assertThrows(ParamException.class, () -> SearchParam.newBuilder()
+                    .withCollectionName("collection1")
+                    .withVectorFieldName("vec")
+                    .withMetricType(MetricType.HAMMING)
+                    .withTopK(5)
+                    .withVectors(mixed)
+                    .build());
+            assertThrows(ParamException.class, () -> QueryNodeSingleSearch.newBuilder()
+                    .withCollectionName("collection1")
+                    .withVectorFieldName("vec")
+                    .withMetricType(MetricType.HAMMING)
+                    .withVectors(mixed)
+                    .build());
+        }
+    }
+
     @Test
     void calcDistance() {
         List<List<Float>> vectorsLeft = new ArrayList<>();
@@ -2426,6 +3841,41 @@ class MilvusServiceClientTest {
         assertEquals(rowCount, data.size());
 
         assertThrows(IllegalResponseException.class, wrapper::getDim);
+        assertThrows(IllegalResponseException.class, wrapper::getFloatVectors);
+
+        // primitive accessors return the same values as the boxed list
+        switch (type) {
+            case Int64:
+                assertArrayEquals(data.stream().mapToLong(v -> (Long) v).toArray(), wrapper.getLongData());
+                assertThrows(IllegalResponseException.class, wrapper::getIntData);
+                break;
+            case Int32:
+            case Int16:
+            case Int8:
+                assertArrayEquals(data.stream().mapToInt(v -> (Integer) v).toArray(), wrapper.getIntData());
+                assertThrows(IllegalResponseException.class, wrapper::getLongData);
+                break;
+            case Bool:
+                boolean[] bools = wrapper.getBoolData();
+                assertEquals(rowCount, bools.length);
+                for (int i = 0; i < bools.length; ++i) {
+                    assertEquals(data.get(i), bools[i]);
+                }
+                break;
+            case Float:
+                float[] floats = wrapper.getFloatData();
+                assertEquals(rowCount, floats.length);
+                for (int i = 0; i < floats.length; ++i) {
+                    assertEquals(data.get(i), floats[i]);
+                }
+                break;
+            case Double:
+                assertArrayEquals(data.stream().mapToDouble(v -> (Double) v).toArray(), wrapper.getDoubleData());
+                break;
+            default:
+                assertThrows(IllegalResponseException.class, wrapper::getDoubleData);
+                break;
+        }
     }
 
     @Test
@@ -2560,6 +4010,28 @@ class MilvusServiceClientTest {
             assertEquals(dim, vec.size());
         }
 
+        float[] flatVectors = wrapper.getFloatVectors();
+        assertEquals(floatVectors.size(), flatVectors.length);
+        // the flat array is a copy, modifying it doesn't change the vectors
+        flatVectors[3] = 0F;
+        assertEquals(4F, wrapper.getFloatVectors()[3]);
+        FloatBuffer secondRow = wrapper.getFloatVector(1);
+        assertEquals(dim, secondRow.remaining());
+        assertEquals(4F, secondRow.get(0));
+        assertEquals(6F, secondRow.get(2));
+        FieldDataWrapper floatWrapper = wrapper;
+        assertThrows(IllegalResponseException.class, () -> floatWrapper.getFloatVector(2));
+        assertThrows(IllegalResponseException.class, wrapper::getLongData);
+
+        // an empty result has no dimension
+        FieldDataWrapper emptyWrapper = new FieldDataWrapper(FieldData.newBuilder()
+                .setFieldName("vec")
+                .setType(DataType.FloatVector)
+                .setVectors(VectorField.newBuilder().setFloatVector(FloatArray.newBuilder()))
+                .build());
+        assertEquals(0, emptyWrapper.getFloatVectors().length);
+        assertThrows(IllegalResponseException.class, () -> emptyWrapper.getFloatVector(0));
+
         // for binary vector
         dim = 16;
         byte[] binary = new byte[(int) dim * 2];
@@ -2635,6 +4107,47 @@ class MilvusServiceClientTest {
                 DataType.VarChar, dim);
     }
 
+    @Test
+    void testSearchResultsWrapperOffsets() {
+        // two targets, the first one gets 2 results, the second one gets 1 result
+        SearchResultData results = SearchResultData.newBuilder()
+                .setNumQueries(2)
+                .setTopK(2)
+                .addAllTopks(Arrays.asList(2L, 1L))
+                .setIds(IDs.newBuilder().setIntId(LongArray.newBuilder().addAllData(Arrays.asList(10L, 11L, 20L))))
+                .addAllScores(Arrays.asList(0.1F, 0.2F, 0.3F))
+                .addFieldsData(FieldData.newBuilder()
+                        .setFieldName("age")
+                        .setType(DataType.Int64)
+                        .setScalars(ScalarField.newBuilder()
+                                .setLongData(LongArray.newBuilder().addAllData(Arrays.asList(1L, 2L, 3L)))))
+                .build();
+
+        SearchResultsWrapper wrapper = new SearchResultsWrapper(results);
+        assertEquals(2, wrapper.getNumQueries());
+        assertEquals(2, wrapper.getTopK(0));
+        assertEquals(1, wrapper.getTopK(1));
+        assertEquals(2, wrapper.getOffset(1));
+
+        List<SearchResultsWrapper.IDScore> idScores = wrapper.getIDScore(1);
+        assertEquals(1, idScores.size());
+        assertEquals(20L, idScores.get(0).getLongID());
+        assertEquals(20L, wrapper.getLongID(1, 0));
+        assertEquals(0.2F, wrapper.getScore(0, 1));
+        assertThrows(ParamException.class, () -> wrapper.getScore(1, 1));
+        assertThrows(ParamException.class, () -> wrapper.getTopK(2));
+        assertThrows(IllegalResponseException.class, () -> wrapper.getStrID(0, 0));
+
+        assertEquals(Collections.singletonList(3L), wrapper.getFieldData("age", 1));
+        assertArrayEquals(new long[]{1L, 2L, 3L}, wrapper.getFieldWrapper("age").getLongData());
+        assertThrows(ParamException.class, () -> wrapper.getFieldData("dummy", 0));
+
+        // without separate topK, every target has the same topK
+        SearchResultsWrapper sameK = new SearchResultsWrapper(results.toBuilder().clearTopks().build());
+        assertEquals(2, sameK.getTopK(1));
+        assertThrows(IllegalResponseException.class, () -> sameK.getIDScore(1));
+    }
+
     @Test
     void testGetCollStatResponseWrapper() {
         GetCollectionStatisticsResponse response = GetCollectionStatisticsResponse.newBuilder()
@@ -24,6 +24,10 @@ import io.milvus.grpc.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBase {
     private static final Logger logger = LoggerFactory.getLogger(MockMilvusServerImpl.class);
     private io.milvus.grpc.Status respCreateCollection;
@@ -74,6 +78,13 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
     private io.milvus.grpc.Status respDeleteCredential;
     private io.milvus.grpc.ListCredUsersResponse respListCredUsers;
 
+    private volatile long mutationDelayMs = 0;
+    private volatile long describeCollectionDelayMs = 0;
+    private final AtomicInteger describeCollectionCalls = new AtomicInteger(0);
+    private volatile Function<QueryRequest, QueryResults> queryResponder;
+    private volatile Function<InsertRequest, MutationResult> insertResponder;
+    private volatile Function<ShowCollectionsRequest, ShowCollectionsResponse> showCollectionsResponder;
+
     public MockMilvusServerImpl() {
     }
 
@@ -94,6 +105,8 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
     public void describeCollection(io.milvus.grpc.DescribeCollectionRequest request,
                                    io.grpc.stub.StreamObserver<io.milvus.grpc.DescribeCollectionResponse> responseObserver) {
         logger.info("MockServer receive describeCollection() call");
+        describeCollectionCalls.incrementAndGet();
+        sleep(describeCollectionDelayMs);
 
         responseObserver.onNext(respDescribeCollection);
         responseObserver.onCompleted();
@@ -103,6 +116,14 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
         respDescribeCollection = resp;
     }
 
+    public void setDescribeCollectionDelay(long delayMs) {
+        describeCollectionDelayMs = delayMs;
+    }
+
+    public int getDescribeCollectionCalls() {
+        return describeCollectionCalls.get();
+    }
+
     @Override
     public void dropCollection(io.milvus.grpc.DropCollectionRequest request,
                                io.grpc.stub.StreamObserver<io.milvus.grpc.Status> responseObserver) {
@@ -173,7 +194,8 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
                                 io.grpc.stub.StreamObserver<io.milvus.grpc.ShowCollectionsResponse> responseObserver) {
         logger.info("MockServer receive showCollections() call");
 
-        responseObserver.onNext(respShowCollections);
+        Function<ShowCollectionsRequest, ShowCollectionsResponse> responder = showCollectionsResponder;
+        responseObserver.onNext(responder != null ? responder.apply(request) : respShowCollections);
         responseObserver.onCompleted();
     }
 
@@ -181,6 +203,10 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
         respShowCollections = resp;
     }
 
+    public void setShowCollectionsResponder(Function<ShowCollectionsRequest, ShowCollectionsResponse> responder) {
+        showCollectionsResponder = responder;
+    }
+
     @Override
     public void createPartition(io.milvus.grpc.CreatePartitionRequest request,
                                 io.grpc.stub.StreamObserver<io.milvus.grpc.Status> responseObserver) {
@@ -380,8 +406,10 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
     public void insert(io.milvus.grpc.InsertRequest request,
                        io.grpc.stub.StreamObserver<io.milvus.grpc.MutationResult> responseObserver) {
         logger.info("MockServer receive insert() call");
+        delayMutation();
 
-        responseObserver.onNext(respInsert);
+        Function<InsertRequest, MutationResult> responder = insertResponder;
+        responseObserver.onNext(responder != null ? responder.apply(request) : respInsert);
         responseObserver.onCompleted();
     }
 
@@ -389,10 +417,15 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
         respInsert = resp;
     }
 
+    public void setInsertResponder(Function<InsertRequest, MutationResult> responder) {
+        insertResponder = responder;
+    }
+
     @Override
     public void delete(io.milvus.grpc.DeleteRequest request,
                        io.grpc.stub.StreamObserver<io.milvus.grpc.MutationResult> responseObserver) {
         logger.info("MockServer receive delete() call");
+        delayMutation();
 
         responseObserver.onNext(respDelete);
         responseObserver.onCompleted();
@@ -429,6 +462,24 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
         respDelete = resp;
     }
 
+    public void setMutationDelay(long delayMs) {
+        mutationDelayMs = delayMs;
+    }
+
+    private void delayMutation() {
+        sleep(mutationDelayMs);
+    }
+
+    private static void sleep(long delayMs) {
+        if (delayMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public void search(io.milvus.grpc.SearchRequest request,
                        io.grpc.stub.StreamObserver<io.milvus.grpc.SearchResults> responseObserver) {
@@ -460,7 +511,8 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
                       io.grpc.stub.StreamObserver<io.milvus.grpc.QueryResults> responseObserver) {
         logger.info("MockServer receive query() call");
 
-        responseObserver.onNext(respQuery);
+        Function<QueryRequest, QueryResults> responder = queryResponder;
+        responseObserver.onNext(responder != null ? responder.apply(request) : respQuery);
         responseObserver.onCompleted();
     }
 
@@ -468,6 +520,10 @@ public class MockMilvusServerImpl extends MilvusServiceGrpc.MilvusServiceImplBas
         respQuery = resp;
     }
 
+    public void setQueryResponder(Function<QueryRequest, QueryResults> responder) {
+        queryResponder = responder;
+    }
+
 //    @Override
 //    public void calcDistance(io.milvus.grpc.CalcDistanceRequest request,
 //                             io.grpc.stub.StreamObserver<io.milvus.grpc.CalcDistanceResults> responseObserver) {